@@ -0,0 +1,77 @@
+package com.paladin.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paladin.common.utils.AIResponseParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of model output: clean JSON, JSON wrapped in a markdown fence with a preamble,
+ * and output cut off in the last section (the salvage path).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AIResponseParserBenchmark {
+
+    private static final String RESPONSE = """
+            {
+              "jobDetails": {
+                "company": "Acme Cloud",
+                "position": "Senior Backend Engineer",
+                "email": "jobs@acme.example",
+                "requirements": ["5+ years of Java or Kotlin", "Spring Boot", "PostgreSQL", "Kafka", "Kubernetes"],
+                "keySkills": ["Java", "Kotlin", "Spring Boot", "PostgreSQL", "Kafka", "Kubernetes", "AWS"],
+                "experienceLevel": "5+ years"
+              },
+              "coverLetter": "Dear Hiring Manager,\\n\\nI am excited to apply for the Senior Backend Engineer role at Acme Cloud. Over eight years I have built and operated distributed payment systems in Java and Kotlin.\\n\\nAt Acme Payments I designed an event-driven settlement service on Kafka processing 12M transactions a day, and led our migration to Kubernetes, cutting p99 latency by 40%. At Globex I replaced nightly batch jobs with change data capture from PostgreSQL.\\n\\nI would welcome the chance to bring this experience to your Platform team. My CV is attached.\\n\\nBest regards,\\nJane Doe",
+              "matchAnalysis": {
+                "overallMatchPercentage": 86,
+                "matchingSkills": ["Java", "Kotlin", "Spring Boot", "PostgreSQL", "Kafka", "Kubernetes", "AWS"],
+                "missingSkills": ["Prometheus"],
+                "strengths": ["Payments domain experience", "Kubernetes migration", "Event-driven design"],
+                "weaknesses": ["No explicit observability tooling"],
+                "recommendation": "Strong match. Apply and highlight the settlement service and the Kubernetes migration.",
+                "confidenceLevel": "High"
+              }
+            }
+            """;
+
+    @Param({"valid", "fenced", "truncated"})
+    private String shape;
+
+    private AIResponseParser parser;
+    private String output;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Like the Spring Boot mapper: the DTOs are deserialized through their constructors
+        parser = new AIResponseParser(new ObjectMapper().findAndRegisterModules());
+        output = switch (shape) {
+            case "valid" -> RESPONSE;
+            case "fenced" -> "Here is the analysis you asked for:\n\n```json\n" + RESPONSE + "```\n";
+            case "truncated" -> RESPONSE.substring(0, RESPONSE.indexOf("\"strengths\""));
+            default -> throw new IllegalArgumentException(shape);
+        };
+    }
+
+    @Benchmark
+    public AIResponseParser.Result parse() {
+        return parser.parse(output);
+    }
+}
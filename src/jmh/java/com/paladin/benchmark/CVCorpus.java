@@ -0,0 +1,150 @@
+package com.paladin.benchmark;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Generates realistic CVs and job descriptions of a given size, so benchmarks need no
+ * checked-in binaries. Content is deterministic: runs with the same parameters compare.
+ */
+final class CVCorpus {
+
+    private static final int LINES_PER_PAGE = 45;
+
+    private static final String[] HEADER = {
+            "Jane Doe",
+            "Senior Software Engineer | London, UK | jane.doe@example.com | +44 20 7946 0000",
+            "",
+            "PROFESSIONAL SUMMARY",
+            "Backend engineer with 8 years of experience designing and operating distributed systems in Java",
+            "and Kotlin. Led the migration of a payments platform to Kubernetes, cutting p99 latency by 40%.",
+            "",
+            "SKILLS",
+            "Java, Kotlin, Spring Boot, PostgreSQL, Kafka, Redis, Docker, Kubernetes, Terraform, AWS, GCP",
+            "",
+            "EXPERIENCE",
+    };
+
+    private static final String[] ROLE = {
+            "Senior Software Engineer, Acme Payments Ltd (2019 - present)",
+            "- Designed an event-driven settlement service on Kafka processing 12M transactions a day.",
+            "- Introduced contract testing across 14 services; production incidents fell by a third.",
+            "- Mentored four engineers and ran the backend guild's architecture review.",
+            "- Reduced cloud spend by 25% by right-sizing Kubernetes workloads and adopting spot instances.",
+            "- Built a fraud scoring pipeline with Flink, feature stores and a gradient boosted model.",
+            "Software Engineer, Globex Corporation (2016 - 2019)",
+            "- Maintained the order management system in Java 8 and Spring, 99.95% availability.",
+            "- Replaced nightly batch jobs with incremental change data capture from PostgreSQL.",
+            "- Wrote the team's on-call runbooks and led incident reviews.",
+            "",
+    };
+
+    private static final String[] FOOTER = {
+            "EDUCATION",
+            "BSc Computer Science, University of Manchester (2012 - 2016), First Class Honours",
+            "",
+            "CERTIFICATIONS",
+            "AWS Certified Solutions Architect - Associate; Certified Kubernetes Application Developer",
+    };
+
+    private CVCorpus() {
+    }
+
+    /**
+     * @return The lines of a CV filling roughly the given number of pages.
+     */
+    static List<String> lines(int pages) {
+        List<String> lines = new ArrayList<>(List.of(HEADER));
+        int target = pages * LINES_PER_PAGE - FOOTER.length;
+        for (int i = 0; lines.size() < target; i++) {
+            lines.add(ROLE[i % ROLE.length]);
+        }
+        lines.addAll(List.of(FOOTER));
+        return lines;
+    }
+
+    static String text(int pages) {
+        return String.join("\n", lines(pages));
+    }
+
+    static byte[] pdf(int pages) {
+        List<String> lines = lines(pages);
+        try (PDDocument document = new PDDocument();
+             ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (int start = 0; start < lines.size(); start += LINES_PER_PAGE) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 9);
+                    content.setLeading(14);
+                    content.newLineAtOffset(50, 740);
+                    for (String line : lines.subList(start, Math.min(lines.size(), start + LINES_PER_PAGE))) {
+                        content.showText(line);
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static byte[] docx(int pages) {
+        StringBuilder xml = new StringBuilder("""
+                <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                <w:document xmlns:w="http://schemas.openxmlformats.org/wordprocessingml/2006/main"><w:body>""");
+        for (String line : lines(pages)) {
+            xml.append("<w:p><w:pPr><w:spacing w:after=\"0\"/></w:pPr><w:r><w:rPr><w:sz w:val=\"18\"/></w:rPr><w:t xml:space=\"preserve\">")
+                    .append(line.replace("&", "&amp;").replace("<", "&lt;"))
+                    .append("</w:t></w:r></w:p>");
+        }
+        xml.append("</w:body></w:document>");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("[Content_Types].xml"));
+            zip.write("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\"/>"
+                    .getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("word/document.xml"));
+            zip.write(xml.toString().getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @return A job description of roughly the given length.
+     */
+    static String jobDescription(int chars) {
+        String paragraph = """
+                Acme Cloud is hiring a Senior Backend Engineer to join our Platform team in London (hybrid).
+                You will design and run the services behind our payments API, handling millions of requests a day.
+                Requirements: 5+ years of Java or Kotlin, Spring Boot, PostgreSQL, Kafka, Kubernetes and AWS.
+                Nice to have: Terraform, observability with Prometheus and Grafana, experience in fintech.
+                We offer a competitive salary, 30 days holiday and a learning budget. Apply at jobs@acme.example.
+                """;
+        StringBuilder text = new StringBuilder(chars + paragraph.length());
+        while (text.length() < chars) {
+            text.append(paragraph).append('\n');
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,48 @@
+package com.paladin.benchmark;
+
+import com.paladin.common.utils.DocxTextExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DOCX extraction of CVs the same sizes as {@link PDFTextExtractorBenchmark}, for a per-format comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DocxTextExtractorBenchmark {
+
+    @Param({"1", "3", "12"})
+    private int pages;
+
+    private DocxTextExtractor extractor;
+    private byte[] docx;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        extractor = new DocxTextExtractor(200_000, DataSize.ofMegabytes(32));
+        docx = CVCorpus.docx(pages);
+    }
+
+    @Benchmark
+    public String getText() {
+        return extractor.getText(new ByteArrayInputStream(docx));
+    }
+}
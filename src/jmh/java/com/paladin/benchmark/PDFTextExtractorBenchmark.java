@@ -0,0 +1,57 @@
+package com.paladin.benchmark;
+
+import com.paladin.common.utils.PDFTextExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PDF extraction of CVs from one page to a long academic CV, serial and page-parallel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PDFTextExtractorBenchmark {
+
+    @Param({"1", "3", "12"})
+    private int pages;
+
+    @Param({"1", "4"})
+    private int parallelism;
+
+    private PDFTextExtractor extractor;
+    private byte[] pdf;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        extractor = new PDFTextExtractor(parallelism, 4, DataSize.ofMegabytes(8));
+        pdf = CVCorpus.pdf(pages);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        extractor.shutdown();
+    }
+
+    @Benchmark
+    public String getText() {
+        return extractor.getText(new ByteArrayInputStream(pdf));
+    }
+}
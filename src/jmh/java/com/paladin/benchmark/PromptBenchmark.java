@@ -0,0 +1,61 @@
+package com.paladin.benchmark;
+
+import com.paladin.common.utils.BuildComprehensivePrompt;
+import com.paladin.common.utils.CacheablePrompt;
+import com.paladin.common.utils.CVTextNormalizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prompt assembly with large inputs: the raw template, and the analysis path that
+ * compacts the CV and job description first.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PromptBenchmark {
+
+    @Param({"2", "12"})
+    private int cvPages;
+
+    @Param({"3000", "30000"})
+    private int jobDescriptionChars;
+
+    private CVTextNormalizer normalizer;
+    private String cvText;
+    private String jobDescription;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // The defaults from application.yml
+        normalizer = new CVTextNormalizer(250, 1500, 400, 300, 600, 400, 2500);
+        cvText = CVCorpus.text(cvPages);
+        jobDescription = CVCorpus.jobDescription(jobDescriptionChars);
+    }
+
+    @Benchmark
+    public CacheablePrompt prompt() {
+        return BuildComprehensivePrompt.prompt("Senior Software Engineer", cvText, jobDescription);
+    }
+
+    @Benchmark
+    public CacheablePrompt compactedPrompt() {
+        return BuildComprehensivePrompt.prompt("Senior Software Engineer",
+                normalizer.normalize(cvText), normalizer.limitJobDescription(jobDescription));
+    }
+}
@@ -6,6 +6,7 @@ public class EntityTypes {
     public static final String PROFILE = "PROFILE";
     public static final String SYSTEM = "SYSTEM";
     public static final String CV = "CV";
+    public static final String DEFERRED_ANALYSIS = "DEFERRED ANALYSIS";
 
 
     private EntityTypes() {
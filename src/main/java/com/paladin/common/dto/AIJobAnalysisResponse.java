@@ -6,9 +6,15 @@ import lombok.Data;
 @Data
 @Builder
 public class AIJobAnalysisResponse {
+    // Values of coverLetterVersion: an instant template answer is replaced by the full analysis
+    public static final int TEMPLATE_VERSION = 0;
+    public static final int ANALYSED_VERSION = 1;
+
     private JobDetailsDTO jobDetails;
 
     private String coverLetter;
 
     private JobMatchAnalysisDTO matchAnalysis;
+
+    private Integer coverLetterVersion;  // set where a template answer may come first; the higher version wins
 }
\ No newline at end of file
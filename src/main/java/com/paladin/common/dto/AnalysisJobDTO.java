@@ -0,0 +1,23 @@
+package com.paladin.common.dto;
+
+import com.paladin.common.enums.AnalysisJobStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Builder
+public class AnalysisJobDTO {
+    private UUID id;
+    private UUID profileId;
+    private AnalysisJobStatus status;
+    private int attempts;
+    private Long queuePosition;            // jobs ahead of this one while PENDING
+    private AIJobAnalysisResponse result;  // set once COMPLETED, and a template answer before that
+    private String errorMessage;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant completedAt;
+}
@@ -0,0 +1,28 @@
+package com.paladin.common.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class BatchAnalysisRequest {
+
+    @NotNull(message = "Profile is required")
+    private UUID profileId;
+
+    @NotEmpty(message = "At least one job description is required")
+    @Size(max = 50, message = "A batch can contain at most 50 job descriptions")
+    private List<@NotBlank(message = "Job descriptions cannot be empty") String> jobDescriptions;
+
+    // Postings whose local pre-score is below this are not sent to the model
+    @Min(value = 0, message = "Minimum pre-score must be between 0 and 100")
+    @Max(value = 100, message = "Minimum pre-score must be between 0 and 100")
+    private Integer minPreScore;
+}
@@ -0,0 +1,14 @@
+package com.paladin.common.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BatchAnalysisResultDTO {
+    private int index;                       // position of the job description in the request
+    private JobMatchAnalysisDTO preScore;    // local score, always present
+    private AIJobAnalysisResponse analysis;  // null when this item failed or was skipped
+    private boolean skipped;                 // pre-score was below the requested minimum
+    private String error;
+}
@@ -13,4 +13,5 @@ public class CVDTO {
     private String contentType;
     private long size;
     private LocalDateTime uploadedAt;
+    private String contentHash;
 }
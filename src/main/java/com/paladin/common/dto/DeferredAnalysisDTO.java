@@ -0,0 +1,20 @@
+package com.paladin.common.dto;
+
+import com.paladin.common.enums.DeferredAnalysisStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Builder
+public class DeferredAnalysisDTO {
+    private UUID id;
+    private UUID profileId;
+    private DeferredAnalysisStatus status;
+    private int attempts;
+    private AIJobAnalysisResponse result;  // set once COMPLETED
+    private Instant createdAt;
+    private Instant completedAt;
+}
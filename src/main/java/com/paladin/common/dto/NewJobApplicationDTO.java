@@ -13,5 +13,6 @@ public class NewJobApplicationDTO {
     public String jobTitle;
     public String subject;
     public String bodyText;
+    public String jobDescription;  // optional, makes the application searchable by its posting
     public UUID profileId;
 }
@@ -0,0 +1,16 @@
+package com.paladin.common.dto;
+
+import com.paladin.common.enums.SearchDocumentType;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+@Builder
+public class SearchResultDTO {
+    private SearchDocumentType type;
+    private UUID id;  // profile, job application or analysed job description ID
+    private String title;
+    private double score;
+}
@@ -0,0 +1,8 @@
+package com.paladin.common.enums;
+
+public enum AnalysisJobStatus {
+    PENDING,    // Waiting in the queue for a worker
+    RUNNING,    // Claimed by a worker
+    COMPLETED,
+    FAILED      // Gave up after the maximum number of attempts
+}
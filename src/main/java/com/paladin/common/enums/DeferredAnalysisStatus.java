@@ -0,0 +1,7 @@
+package com.paladin.common.enums;
+
+public enum DeferredAnalysisStatus {
+    PENDING,    // Waiting for the AI service to recover
+    COMPLETED,  // Replayed successfully, result stored
+    ABANDONED   // Gave up after the maximum number of replays
+}
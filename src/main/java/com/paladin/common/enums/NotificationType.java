@@ -27,6 +27,11 @@ public enum NotificationType {
     SYSTEM_ANNOUNCEMENT(
             "System Announcement",
             "General notification sent to all users for system-wide messages or maintenance updates."
+    ),
+
+    ANALYSIS_READY(
+            "Analysis Ready",
+            "Sent when an analysis that failed during an AI service outage has been completed."
     );
 
     private final String displayName;
@@ -0,0 +1,7 @@
+package com.paladin.common.enums;
+
+public enum SearchDocumentType {
+    PROFILE,          // Profile title, summary and skills with its CV text
+    JOB_APPLICATION,  // A sent application and the posting it answered
+    JOB_DESCRIPTION   // A job description the user had analysed
+}
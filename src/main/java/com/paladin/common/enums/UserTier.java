@@ -0,0 +1,6 @@
+package com.paladin.common.enums;
+
+public enum UserTier {
+    FREE,     // Analyses go to the cheapest model that fits the prompt
+    PREMIUM   // Analyses start at the most capable model
+}
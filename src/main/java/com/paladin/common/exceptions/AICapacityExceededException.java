@@ -0,0 +1,11 @@
+package com.paladin.common.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class AICapacityExceededException extends RuntimeException {
+    public AICapacityExceededException(String message) {
+        super(message);
+    }
+}
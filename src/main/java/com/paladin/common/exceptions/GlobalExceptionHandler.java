@@ -2,6 +2,7 @@ package com.paladin.common.exceptions;
 
 import com.paladin.common.dto.ErrorResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -116,6 +117,18 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(AICapacityExceededException.class)
+    public ResponseEntity<ErrorResponse> handleAICapacityExceededException(
+            AICapacityExceededException ex, WebRequest request) {
+        log.warn("AI Capacity Exceeded: {} - {}", ex.getMessage(),
+                request.getDescription(false));
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(new ErrorResponse(ex.getMessage(),
+                        request.getDescription(false), status.value()));
+    }
+
     @ExceptionHandler(CannotSendMailException.class)
     public ResponseEntity<ErrorResponse> handleNotImplementedException(
             Exception ex, WebRequest request) {
@@ -4,11 +4,14 @@ import com.paladin.common.dto.CVDTO;
 import com.paladin.cv.CV;
 import com.paladin.common.dto.CVSummaryDTO;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface CVMapper {
     CVDTO toDTO(CV cv);
 
+    // Bookkeeping of the re-extraction job, never taken from a DTO
+    @Mapping(target = "extractionFailures", ignore = true)
     CV toEntity(CVDTO dto);
 
     CVSummaryDTO toSummaryDTO(CV cv);
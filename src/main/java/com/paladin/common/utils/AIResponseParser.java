@@ -0,0 +1,144 @@
+package com.paladin.common.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paladin.common.dto.AIJobAnalysisResponse;
+import com.paladin.common.dto.JobDetailsDTO;
+import com.paladin.common.dto.JobMatchAnalysisDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lenient parser for the analysis JSON returned by the model. Tolerates preambles,
+ * markdown fences and a truncated tail, and reports which top-level sections
+ * could not be recovered so that only those need to be asked for again.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AIResponseParser {
+
+    public static final String JOB_DETAILS = "jobDetails";
+    public static final String COVER_LETTER = "coverLetter";
+    public static final String MATCH_ANALYSIS = "matchAnalysis";
+
+    public static final List<String> SECTIONS = List.of(JOB_DETAILS, COVER_LETTER, MATCH_ANALYSIS);
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param response        Whatever sections could be recovered; the others are null.
+     * @param missingSections Sections that were absent or invalid, in prompt order.
+     */
+    public record Result(AIJobAnalysisResponse response, List<String> missingSections) {
+        public boolean isComplete() {
+            return missingSections.isEmpty();
+        }
+
+        public boolean isEmpty() {
+            return missingSections.size() == SECTIONS.size();
+        }
+    }
+
+    public Result parse(String aiResponse) {
+        AIJobAnalysisResponse response = AIJobAnalysisResponse.builder().build();
+        if (aiResponse == null || aiResponse.isBlank()) {
+            return new Result(response, SECTIONS);
+        }
+
+        AIJobAnalysisResponse whole = readWhole(aiResponse);
+        if (whole != null && missingSections(whole).isEmpty()) {
+            return new Result(whole, List.of());
+        }
+
+        // Salvage whatever complete sections there are
+        Map<String, String> sections = scanSections(aiResponse);
+        for (String section : SECTIONS) {
+            String raw = sections.get(section);
+            if (raw != null) {
+                applySection(response, section, raw);
+            }
+        }
+
+        List<String> missing = missingSections(response);
+        log.warn("AI response was incomplete or malformed, missing sections: {}", missing);
+        return new Result(response, missing);
+    }
+
+    /**
+     * Fills one section of a partial response from the model's answer to a
+     * single-section prompt.
+     *
+     * @return true if the section was recovered.
+     */
+    public boolean mergeSection(AIJobAnalysisResponse target, String section, String aiResponse) {
+        if (aiResponse == null) {
+            return false;
+        }
+        String raw = scanSections(aiResponse).get(section);
+        return raw != null && applySection(target, section, raw);
+    }
+
+    private AIJobAnalysisResponse readWhole(String aiResponse) {
+        int start = aiResponse.indexOf('{');
+        int end = aiResponse.lastIndexOf('}');
+        if (start < 0 || end <= start) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(aiResponse.substring(start, end + 1), AIJobAnalysisResponse.class);
+        } catch (Exception e) {
+            log.debug("AI response is not valid JSON as a whole: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private Map<String, String> scanSections(String aiResponse) {
+        Map<String, String> sections = new HashMap<>();
+        JsonSectionScanner scanner = new JsonSectionScanner(new JsonSectionScanner.Listener() {
+            @Override
+            public void onSection(String key, String rawJson) {
+                sections.put(key, rawJson);
+            }
+        });
+        scanner.feed(aiResponse);
+        return sections;
+    }
+
+    private boolean applySection(AIJobAnalysisResponse target, String section, String rawJson) {
+        try {
+            switch (section) {
+                case JOB_DETAILS -> target.setJobDetails(objectMapper.readValue(rawJson, JobDetailsDTO.class));
+                case COVER_LETTER -> target.setCoverLetter(objectMapper.readValue(rawJson, String.class));
+                case MATCH_ANALYSIS ->
+                        target.setMatchAnalysis(objectMapper.readValue(rawJson, JobMatchAnalysisDTO.class));
+                default -> {
+                    return false;
+                }
+            }
+            return true;
+        } catch (Exception e) {
+            log.debug("Could not parse {} section: {}", section, e.getMessage());
+            return false;
+        }
+    }
+
+    private List<String> missingSections(AIJobAnalysisResponse response) {
+        List<String> missing = new ArrayList<>();
+        if (response.getJobDetails() == null) {
+            missing.add(JOB_DETAILS);
+        }
+        if (response.getCoverLetter() == null || response.getCoverLetter().isBlank()) {
+            missing.add(COVER_LETTER);
+        }
+        if (response.getMatchAnalysis() == null) {
+            missing.add(MATCH_ANALYSIS);
+        }
+        return missing;
+    }
+}
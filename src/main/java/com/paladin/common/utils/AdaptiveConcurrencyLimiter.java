@@ -0,0 +1,234 @@
+package com.paladin.common.utils;
+
+import com.paladin.common.exceptions.AICapacityExceededException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * AIMD concurrency limiter. The number of calls allowed in flight grows by one per
+ * limit's worth of healthy calls, and is cut multiplicatively when a call is throttled
+ * or its latency grows well past the long-term baseline. Callers over the limit wait
+ * in FIFO order up to a deadline; when the queue is full they are rejected at once.
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    // Fraction of the limit kept on a decrease
+    private static final double BACKOFF_RATIO = 0.7;
+    // Latency above baseline * tolerance counts as overload
+    private static final double LATENCY_TOLERANCE = 2.0;
+    // Weight of a new sample in the latency baseline
+    private static final double BASELINE_SMOOTHING = 0.05;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueue;
+    private final long queueTimeoutNanos;
+    private final long cooldownNanos;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition available = lock.newCondition();
+    private final LongAdder rejected = new LongAdder();
+
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private double baselineLatency = Double.NaN;
+    private long lastDecreaseNanos;
+
+    /**
+     * @param cooldown Minimum time between two decreases, so a burst of throttled calls
+     *                 that were all in flight together only cuts the limit once.
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int maxQueue,
+                                      Duration queueTimeout, Duration cooldown) {
+        this(initialLimit, minLimit, maxLimit, maxQueue, queueTimeout, cooldown, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int maxQueue,
+                               Duration queueTimeout, Duration cooldown, LongSupplier nanoClock) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueue = maxQueue;
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        this.cooldownNanos = cooldown.toNanos();
+        this.nanoClock = nanoClock;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+        this.lastDecreaseNanos = nanoClock.getAsLong() - cooldownNanos;
+    }
+
+    /**
+     * Waits for a slot, at most the queue timeout.
+     *
+     * @return A permit that must be released exactly once with the call's outcome.
+     * @throws AICapacityExceededException If the queue is full or the wait timed out.
+     */
+    public Permit acquire() {
+        lock.lock();
+        try {
+            // Newcomers do not overtake callers already waiting
+            if (waiting == 0 && inFlight < currentLimit()) {
+                inFlight++;
+                return new Permit();
+            }
+            if (waiting >= maxQueue) {
+                rejected.increment();
+                throw new AICapacityExceededException("AI service is at capacity, please try again shortly");
+            }
+
+            waiting++;
+            try {
+                long remaining = queueTimeoutNanos;
+                while (inFlight >= currentLimit()) {
+                    if (remaining <= 0) {
+                        rejected.increment();
+                        throw new AICapacityExceededException("Timed out waiting for AI service capacity");
+                    }
+                    remaining = available.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AICapacityExceededException("Interrupted while waiting for AI service capacity");
+            } finally {
+                waiting--;
+            }
+            inFlight++;
+            return new Permit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return currentLimit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getWaiting() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private int currentLimit() {
+        return (int) limit;
+    }
+
+    private void release(Runnable feedback) {
+        lock.lock();
+        try {
+            feedback.run();
+            inFlight--;
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called with the lock held and the finished call still counted in flight
+    private void onSuccess(double latency) {
+        if (!Double.isNaN(latency)) {
+            if (Double.isNaN(baselineLatency)) {
+                baselineLatency = latency;
+            }
+            boolean overloaded = latency > baselineLatency * LATENCY_TOLERANCE;
+            baselineLatency += BASELINE_SMOOTHING * (latency - baselineLatency);
+            if (overloaded) {
+                decrease("latency " + Math.round(latency) + " vs baseline " + Math.round(baselineLatency));
+                return;
+            }
+        }
+        // Only grow when the limit is actually being used
+        if (inFlight * 2 >= currentLimit()) {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    private void decrease(String reason) {
+        long now = nanoClock.getAsLong();
+        if (now - lastDecreaseNanos < cooldownNanos) {
+            return;
+        }
+        lastDecreaseNanos = now;
+        int previous = currentLimit();
+        limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+        log.warn("AI concurrency limit reduced from {} to {} ({})", previous, currentLimit(), reason);
+    }
+
+    /**
+     * A slot held by one call.
+     */
+    public final class Permit {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        /**
+         * The call succeeded; the latency is only compared with earlier samples, so any
+         * consistent unit works.
+         */
+        public void success(double latency) {
+            if (released.compareAndSet(false, true)) {
+                release(() -> onSuccess(latency));
+            }
+        }
+
+        /**
+         * The call succeeded but gave no usable latency sample.
+         */
+        public void success() {
+            success(Double.NaN);
+        }
+
+        /**
+         * The upstream rejected or dropped the call because it is overloaded.
+         */
+        public void throttled() {
+            if (released.compareAndSet(false, true)) {
+                release(() -> decrease("throttled"));
+            }
+        }
+
+        /**
+         * The call ended in a way that says nothing about upstream capacity.
+         */
+        public void ignore() {
+            if (released.compareAndSet(false, true)) {
+                release(() -> {
+                });
+            }
+        }
+    }
+}
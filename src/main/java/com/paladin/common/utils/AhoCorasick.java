@@ -0,0 +1,120 @@
+package com.paladin.common.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Aho-Corasick automaton that finds every dictionary term in a text in a single pass,
+ * case-insensitively and only on word boundaries (so "Java" does not match inside "JavaScript").
+ * Overlapping matches resolve to the longest, leftmost one ("Spring Boot" rather than "Spring").
+ * Immutable once built and safe to share between threads.
+ *
+ * @param <V> The value reported for a matched term, e.g. a canonical skill name.
+ */
+public class AhoCorasick<V> {
+
+    private static final class Node<V> {
+        final Map<Character, Node<V>> children = new HashMap<>();
+        Node<V> fail;
+        final List<Term<V>> outputs = new ArrayList<>();
+    }
+
+    private record Term<V>(int length, V value) {
+    }
+
+    private record Match<V>(int start, int end, V value) {
+    }
+
+    private final Node<V> root = new Node<>();
+
+    public AhoCorasick(Map<String, V> terms) {
+        terms.forEach((term, value) -> {
+            String key = term.toLowerCase(Locale.ROOT).trim();
+            if (key.isEmpty()) {
+                return;
+            }
+            Node<V> node = root;
+            for (char c : key.toCharArray()) {
+                node = node.children.computeIfAbsent(c, ignored -> new Node<>());
+            }
+            node.outputs.add(new Term<>(key.length(), value));
+        });
+        buildFailureLinks();
+    }
+
+    /**
+     * @return The distinct values of all terms found in the text, in order of first appearance.
+     */
+    public Set<V> findAll(String text) {
+        Set<V> found = new LinkedHashSet<>();
+        if (text == null) {
+            return found;
+        }
+
+        List<Match<V>> matches = new ArrayList<>();
+
+        String haystack = text.toLowerCase(Locale.ROOT);
+        Node<V> node = root;
+        for (int i = 0; i < haystack.length(); i++) {
+            char c = haystack.charAt(i);
+            while (node != root && !node.children.containsKey(c)) {
+                node = node.fail;
+            }
+            node = node.children.getOrDefault(c, root);
+
+            for (Node<V> match = node; match != root; match = match.fail) {
+                for (Term<V> term : match.outputs) {
+                    int start = i - term.length() + 1;
+                    if (isBoundary(haystack, start - 1) && isBoundary(haystack, i + 1)) {
+                        matches.add(new Match<>(start, i + 1, term.value()));
+                    }
+                }
+            }
+        }
+
+        matches.sort(Comparator.<Match<V>>comparingInt(Match::start)
+                .thenComparing(Comparator.<Match<V>>comparingInt(Match::end).reversed()));
+        int coveredUntil = 0;
+        for (Match<V> match : matches) {
+            if (match.start() >= coveredUntil) {
+                found.add(match.value());
+                coveredUntil = match.end();
+            }
+        }
+        return found;
+    }
+
+    private void buildFailureLinks() {
+        Queue<Node<V>> queue = new ArrayDeque<>();
+        root.fail = root;
+        for (Node<V> child : root.children.values()) {
+            child.fail = root;
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            Node<V> node = queue.poll();
+            node.children.forEach((c, child) -> {
+                Node<V> fail = node.fail;
+                while (fail != root && !fail.children.containsKey(c)) {
+                    fail = fail.fail;
+                }
+                Node<V> target = fail.children.get(c);
+                child.fail = target != null && target != child ? target : root;
+                queue.add(child);
+            });
+        }
+    }
+
+    private static boolean isBoundary(String text, int index) {
+        return index < 0 || index >= text.length() || !Character.isLetterOrDigit(text.charAt(index));
+    }
+}
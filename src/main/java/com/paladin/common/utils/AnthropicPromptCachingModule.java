@@ -0,0 +1,160 @@
+package com.paladin.common.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.springframework.ai.anthropic.api.AnthropicApi;
+
+import java.io.IOException;
+
+/**
+ * Adds Anthropic prompt caching to Spring AI's Anthropic client, which has no option for it:
+ * the system prompt of every request is sent as a text block with an ephemeral cache breakpoint,
+ * and the cache read and write token counts of every response are reported to a listener.
+ * <p>
+ * Requests are serialized with the application ObjectMapper. Responses are read with it for
+ * blocking calls, but with Spring AI's own mapper for streamed events, so the module has to be
+ * registered with both.
+ */
+public class AnthropicPromptCachingModule extends SimpleModule {
+
+    public interface CacheUsageListener {
+
+        /**
+         * @param model            The model that answered, or null if the response did not say
+         * @param cacheReadTokens  Input tokens served from the cache
+         * @param cacheWriteTokens Input tokens written to the cache
+         */
+        void onCacheUsage(String model, long cacheReadTokens, long cacheWriteTokens);
+    }
+
+    private final boolean cacheSystemPrompt;
+    private final CacheUsageListener listener;
+
+    /**
+     * @param cacheSystemPrompt Whether to mark system prompts as cacheable; usage is reported either way.
+     */
+    public AnthropicPromptCachingModule(boolean cacheSystemPrompt, CacheUsageListener listener) {
+        super("AnthropicPromptCaching");
+        this.cacheSystemPrompt = cacheSystemPrompt;
+        this.listener = listener;
+
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription description,
+                                                      JsonSerializer<?> serializer) {
+                return description.getBeanClass() == AnthropicApi.ChatCompletionRequest.class
+                        ? new CacheableSystemSerializer((JsonSerializer<Object>) serializer)
+                        : serializer;
+            }
+        });
+        setDeserializerModifier(new BeanDeserializerModifier() {
+            @Override
+            public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config, BeanDescription description,
+                                                          JsonDeserializer<?> deserializer) {
+                return description.getBeanClass() == AnthropicApi.ChatCompletionResponse.class
+                        ? new CacheUsageDeserializer(deserializer)
+                        : deserializer;
+            }
+        });
+    }
+
+    // The request record only has a string system prompt; rewrite it into the block form that takes cache_control
+    private final class CacheableSystemSerializer extends StdSerializer<Object>
+            implements ContextualSerializer, ResolvableSerializer {
+
+        private final JsonSerializer<Object> delegate;
+
+        CacheableSystemSerializer(JsonSerializer<Object> delegate) {
+            super(Object.class);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (!cacheSystemPrompt) {
+                delegate.serialize(value, gen, provider);
+                return;
+            }
+
+            TokenBuffer buffer = new TokenBuffer(gen.getCodec(), false);
+            delegate.serialize(value, buffer, provider);
+            ObjectNode request = buffer.asParser(gen.getCodec()).readValueAsTree();
+
+            JsonNode system = request.get("system");
+            if (system != null && system.isTextual() && !system.asText().isBlank()) {
+                ObjectNode block = request.objectNode()
+                        .put("type", "text")
+                        .put("text", system.asText());
+                block.putObject("cache_control").put("type", "ephemeral");
+                request.putArray("system").add(block);
+            }
+            request.serialize(gen, provider);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+                throws JsonMappingException {
+            return delegate instanceof ContextualSerializer contextual
+                    ? new CacheableSystemSerializer(
+                            (JsonSerializer<Object>) contextual.createContextual(provider, property))
+                    : this;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer resolvable) {
+                resolvable.resolve(provider);
+            }
+        }
+    }
+
+    // Usage is read off the raw JSON because the response record drops the cache token fields
+    private final class CacheUsageDeserializer extends DelegatingDeserializer {
+
+        CacheUsageDeserializer(JsonDeserializer<?> delegate) {
+            super(delegate);
+        }
+
+        @Override
+        protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> delegate) {
+            return new CacheUsageDeserializer(delegate);
+        }
+
+        @Override
+        public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonNode response = ctxt.readTree(p);
+
+            JsonNode usage = response.path("usage");
+            long cacheReadTokens = usage.path("cache_read_input_tokens").asLong(0);
+            long cacheWriteTokens = usage.path("cache_creation_input_tokens").asLong(0);
+            if (cacheReadTokens > 0 || cacheWriteTokens > 0) {
+                listener.onCacheUsage(response.path("model").asText(null), cacheReadTokens, cacheWriteTokens);
+            }
+
+            JsonParser replay = response.traverse(p.getCodec());
+            replay.nextToken();
+            return _delegatee.deserialize(replay, ctxt);
+        }
+    }
+}
@@ -0,0 +1,407 @@
+package com.paladin.common.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Small in-memory inverted index with BM25 ranking. Postings are primitive int arrays
+ * (document IDs ascending, with term frequencies alongside), so an index over a few
+ * hundred documents answers a query in well under a millisecond.
+ * Documents are added, replaced and removed by key; removals leave tombstones that are
+ * compacted away once they outnumber live documents or before serializing.
+ * Safe to share between threads.
+ */
+public class Bm25Index {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 32;
+
+    private static final Pattern TOKEN_SPLIT = Pattern.compile("[^\\p{L}\\p{N}+#]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "have", "in", "is",
+            "it", "its", "of", "on", "or", "our", "that", "the", "their", "this", "to", "we", "will",
+            "with", "you", "your", "i", "my", "me", "was", "were", "who", "which", "what");
+
+    /**
+     * @param key   The document key, as given to {@link #put}.
+     * @param title The document title, as given to {@link #put}.
+     * @param score The BM25 score; only comparable within one query.
+     */
+    public record Hit(String key, String title, double score) {
+    }
+
+    // Growable postings list of one term
+    private static final class Postings {
+        int[] docs = new int[4];
+        int[] freqs = new int[4];
+        int size;
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<String, Integer> docIds = new HashMap<>();
+    private final List<String> keys = new ArrayList<>();
+    private final List<String> titles = new ArrayList<>();
+    private int[] lengths = new int[16];
+    private final BitSet live = new BitSet();
+    private int liveCount;
+    private long totalLength;
+
+    /**
+     * Adds a document, replacing any document with the same key.
+     */
+    public void put(String key, String title, String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (String token : tokenize(text)) {
+            frequencies.merge(token, 1, Integer::sum);
+            length++;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (removeLocked(key)) {
+                compactIfNeededLocked();
+            }
+            int doc = keys.size();
+            keys.add(key);
+            titles.add(title);
+            if (doc == lengths.length) {
+                lengths = Arrays.copyOf(lengths, doc * 2);
+            }
+            lengths[doc] = length;
+            live.set(doc);
+            liveCount++;
+            totalLength += length;
+            docIds.put(key, doc);
+            // New documents get the highest ID, so postings stay sorted
+            frequencies.forEach((term, freq) -> postings.computeIfAbsent(term, ignored -> new Postings()).add(doc, freq));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return true if a document with the key was removed.
+     */
+    public boolean remove(String key) {
+        lock.writeLock().lock();
+        try {
+            boolean removed = removeLocked(key);
+            if (removed) {
+                compactIfNeededLocked();
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(String key) {
+        lock.readLock().lock();
+        try {
+            return docIds.containsKey(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Rough number of postings, for weighing the index in a cache.
+     */
+    public long weight() {
+        lock.readLock().lock();
+        try {
+            long weight = keys.size();
+            for (Postings list : postings.values()) {
+                weight += list.size;
+            }
+            return weight;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks documents by BM25 against the query terms.
+     *
+     * @param query     Free text; every distinct term counts once.
+     * @param keyPrefix Only documents whose key starts with this are returned, or null for all.
+     * @param limit     The maximum number of hits.
+     * @return Matching documents, best first.
+     */
+    public List<Hit> search(String query, String keyPrefix, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        lock.readLock().lock();
+        try {
+            if (terms.isEmpty() || liveCount == 0 || limit <= 0) {
+                return List.of();
+            }
+            double averageLength = Math.max(1.0, (double) totalLength / liveCount);
+            double[] scores = new double[keys.size()];
+            BitSet matched = new BitSet(keys.size());
+
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                int documentFrequency = 0;
+                for (int i = 0; i < list.size; i++) {
+                    if (live.get(list.docs[i])) {
+                        documentFrequency++;
+                    }
+                }
+                double idf = Math.log(1 + (liveCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int doc = list.docs[i];
+                    if (!live.get(doc)) {
+                        continue;
+                    }
+                    int freq = list.freqs[i];
+                    double norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                    scores[doc] += idf * freq * (K1 + 1) / (freq + norm);
+                    matched.set(doc);
+                }
+            }
+
+            PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, (a, b) -> Double.compare(a.score(), b.score()));
+            for (int doc = matched.nextSetBit(0); doc >= 0; doc = matched.nextSetBit(doc + 1)) {
+                if (keyPrefix != null && !keys.get(doc).startsWith(keyPrefix)) {
+                    continue;
+                }
+                best.add(new Hit(keys.get(doc), titles.get(doc), scores[doc]));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            List<Hit> hits = new ArrayList<>(best);
+            hits.sort((a, b) -> Double.compare(b.score(), a.score()));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Serializes the index, compacted and deflated. Document IDs are delta- and
+     * varint-encoded, so a typical user's index takes a few kilobytes.
+     */
+    public byte[] toBytes() {
+        lock.writeLock().lock();
+        try {
+            compactLocked();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+                out.writeInt(FORMAT_VERSION);
+                writeVarInt(out, keys.size());
+                for (int doc = 0; doc < keys.size(); doc++) {
+                    out.writeUTF(keys.get(doc));
+                    out.writeUTF(titles.get(doc) == null ? "" : titles.get(doc));
+                    writeVarInt(out, lengths[doc]);
+                }
+                writeVarInt(out, postings.size());
+                for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+                    Postings list = entry.getValue();
+                    out.writeUTF(entry.getKey());
+                    writeVarInt(out, list.size);
+                    int previous = 0;
+                    for (int i = 0; i < list.size; i++) {
+                        writeVarInt(out, list.docs[i] - previous);
+                        writeVarInt(out, list.freqs[i]);
+                        previous = list.docs[i];
+                    }
+                }
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException If the bytes are not a serialized index of this version.
+     */
+    public static Bm25Index fromBytes(byte[] data) {
+        Bm25Index index = new Bm25Index();
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(data)))) {
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported search index format " + version);
+            }
+            int documents = readVarInt(in);
+            index.lengths = new int[Math.max(16, documents)];
+            for (int doc = 0; doc < documents; doc++) {
+                String key = in.readUTF();
+                index.keys.add(key);
+                index.titles.add(in.readUTF());
+                index.lengths[doc] = readVarInt(in);
+                index.totalLength += index.lengths[doc];
+                index.docIds.put(key, doc);
+            }
+            index.live.set(0, documents);
+            index.liveCount = documents;
+
+            int terms = readVarInt(in);
+            for (int t = 0; t < terms; t++) {
+                String term = in.readUTF();
+                int size = readVarInt(in);
+                Postings list = new Postings();
+                list.docs = new int[Math.max(1, size)];
+                list.freqs = new int[Math.max(1, size)];
+                int doc = 0;
+                for (int i = 0; i < size; i++) {
+                    doc += readVarInt(in);
+                    list.docs[i] = doc;
+                    list.freqs[i] = readVarInt(in);
+                }
+                list.size = size;
+                index.postings.put(term, list);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Corrupt search index", e);
+        }
+        return index;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : TOKEN_SPLIT.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private boolean removeLocked(String key) {
+        Integer doc = docIds.remove(key);
+        if (doc == null) {
+            return false;
+        }
+        live.clear(doc);
+        liveCount--;
+        totalLength -= lengths[doc];
+        return true;
+    }
+
+    private void compactIfNeededLocked() {
+        if (keys.size() - liveCount >= Math.max(MIN_TOMBSTONES_TO_COMPACT, liveCount)) {
+            compactLocked();
+        }
+    }
+
+    // Renumbers live documents densely and drops tombstoned postings
+    private void compactLocked() {
+        if (liveCount == keys.size()) {
+            return;
+        }
+        int[] newIds = new int[keys.size()];
+        List<String> newKeys = new ArrayList<>(liveCount);
+        List<String> newTitles = new ArrayList<>(liveCount);
+        int[] newLengths = new int[Math.max(16, liveCount)];
+        for (int doc = 0; doc < keys.size(); doc++) {
+            if (live.get(doc)) {
+                newIds[doc] = newKeys.size();
+                newLengths[newKeys.size()] = lengths[doc];
+                newKeys.add(keys.get(doc));
+                newTitles.add(titles.get(doc));
+            } else {
+                newIds[doc] = -1;
+            }
+        }
+
+        postings.values().removeIf(list -> {
+            int kept = 0;
+            for (int i = 0; i < list.size; i++) {
+                int doc = newIds[list.docs[i]];
+                if (doc >= 0) {
+                    list.docs[kept] = doc;
+                    list.freqs[kept] = list.freqs[i];
+                    kept++;
+                }
+            }
+            list.size = kept;
+            return kept == 0;
+        });
+
+        keys.clear();
+        keys.addAll(newKeys);
+        titles.clear();
+        titles.addAll(newTitles);
+        lengths = newLengths;
+        docIds.clear();
+        for (int doc = 0; doc < keys.size(); doc++) {
+            docIds.put(keys.get(doc), doc);
+        }
+        live.clear();
+        live.set(0, liveCount);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
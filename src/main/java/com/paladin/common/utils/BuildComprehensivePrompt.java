@@ -3,46 +3,98 @@ package com.paladin.common.utils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 @Slf4j
 @RequiredArgsConstructor
 public class BuildComprehensivePrompt {
 
-    public static String prompt(String title, String cvText, String jobDescription) {
-        return """
-            Analyze this job application scenario and provide comprehensive analysis.
-            
-            CANDIDATE PROFILE:
-            Title: %s
-            
-            CV CONTENT:
-            ---
+    private static final Map<String, String> SECTION_FORMATS = Map.of(
+            "jobDetails", """
+                    "jobDetails": {
+                      "company": "extracted company name from job description",
+                      "position": "job title from JD",
+                      "email": "contact email if found in JD, otherwise null",
+                      "requirements": ["key requirement 1", "key requirement 2", "etc"],
+                      "keySkills": ["required skill 1", "required skill 2", "etc"],
+                      "experienceLevel": "exact experience requirement from JD (e.g., '3+ years', 'Entry level')",
+                      "location": "job location if mentioned, otherwise null"
+                    }""",
+            "coverLetter", """
+                    "coverLetter": "Write a powerful cover letter in exactly 3 paragraphs: (1) Opening with specific role interest and top qualification match, (2) 2-3 concrete examples of relevant experience from CV that address job requirements, (3) Strong closing with enthusiasm and call to action mentioning CV attachment. Maximum 180 words total. Address to 'Dear Hiring Manager' and sign with 'Best regards, [candidate full name from CV]'\"""",
+            "matchAnalysis", """
+                    "matchAnalysis": {
+                      "overallMatchPercentage": "Calculate actual percentage (0-100) as a whole number based on skills match, experience alignment, and requirements fulfillment",
+                      "matchingSkills": ["skills from CV that match JD requirements"],
+                      "missingSkills": ["skills required in JD but NOT found in candidate's CV"],
+                      "strengths": ["specific strengths from CV that align with job"],
+                      "weaknesses": ["areas where candidate might be lacking"],
+                      "recommendation": "brief recommendation about applying (100-150 words)",
+                      "confidenceLevel": "High/Medium/Low based on overall match"
+                    }""");
+
+    // Order of the sections in the full analysis
+    private static final List<String> SECTIONS = List.of("jobDetails", "coverLetter", "matchAnalysis");
+
+    /**
+     * Asks for the full analysis.
+     */
+    public static CacheablePrompt prompt(String title, String cvText, String jobDescription) {
+        return new CacheablePrompt(prefix(title, cvText), """
+            JOB DESCRIPTION:
             %s
-            ---
             
+            Provide the complete analysis for this job description, with all three sections,
+            in the exact JSON format given above.
+            """.formatted(jobDescription));
+    }
+
+    /**
+     * Asks for a single section of the analysis, used to repair a response
+     * where only that section was missing or malformed.
+     */
+    public static CacheablePrompt sectionPrompt(String section, String title, String cvText, String jobDescription) {
+        return sectionsPrompt(List.of(section), title, cvText, jobDescription);
+    }
+
+    /**
+     * Asks for a subset of the analysis sections, e.g. when job details are already
+     * known from a near-duplicate posting. Shares its prefix with {@link #prompt}, so
+     * it reads the same cached CV block.
+     */
+    public static CacheablePrompt sectionsPrompt(List<String> sections, String title, String cvText,
+                                                 String jobDescription) {
+        String names = sections.stream()
+                .map(section -> "\"" + section + "\"")
+                .collect(Collectors.joining(", "));
+
+        return new CacheablePrompt(prefix(title, cvText), """
             JOB DESCRIPTION:
             %s
             
-            PROVIDE ANALYSIS IN THIS EXACT JSON FORMAT:
+            PROVIDE ONLY THE %s SECTION(S) of the JSON format given above, as a JSON object
+            with just those keys.
+            """.formatted(jobDescription, names));
+    }
+
+    /**
+     * Everything that stays the same across analyses of one profile. Nothing that depends
+     * on the job description may go in here, or the provider's prompt cache never hits.
+     */
+    private static String prefix(String title, String cvText) {
+        String format = SECTIONS.stream()
+                .map(SECTION_FORMATS::get)
+                .collect(Collectors.joining(",\n"));
+
+        return """
+            You analyze job application scenarios. Each request gives you a job description
+            for the candidate below.
+            
+            ANALYSIS JSON FORMAT:
             {
-              "jobDetails": {
-                "company": "extracted company name from job description",
-                "position": "job title from JD",
-                "email": "contact email if found in JD, otherwise null",
-                "requirements": ["key requirement 1", "key requirement 2", "etc"],
-                "keySkills": ["required skill 1", "required skill 2", "etc"],
-                "experienceLevel": "exact experience requirement from JD (e.g., '3+ years', 'Entry level')",
-                "location": "job location if mentioned, otherwise null"
-              },
-              "coverLetter": "Write a powerful cover letter in exactly 3 paragraphs: (1) Opening with specific role interest and top qualification match, (2) 2-3 concrete examples of relevant experience from CV that address job requirements, (3) Strong closing with enthusiasm and call to action mentioning CV attachment. Maximum 180 words total. Address to 'Dear Hiring Manager' and sign with 'Best regards, [candidate full name from CV]'",
-              "matchAnalysis": {
-                "overallMatchPercentage": "Calculate actual percentage (0-100) based on skills match, experience alignment, and requirements fulfillment",
-                "matchingSkills": ["skills from CV that match JD requirements"],
-                "missingSkills": ["skills required in JD but NOT found in candidate's CV"],
-                "strengths": ["specific strengths from CV that align with job"],
-                "weaknesses": ["areas where candidate might be lacking"],
-                "recommendation": "brief recommendation about applying (100-150 words)",
-                "confidenceLevel": "High/Medium/Low based on overall match"
-              }
+            %s
             }
             
             IMPORTANT INSTRUCTIONS:
@@ -56,10 +108,18 @@ public class BuildComprehensivePrompt {
             
             CRITICAL JSON FORMATTING:
             - Return valid JSON only
-            - Use \\n for line breaks in cover letter text
+            - Use \\n for line breaks in text
             - Properly escape quotes and special characters
             - Ensure all JSON syntax is correct
             - No markdown formatting around JSON
-            """.formatted(title, cvText, jobDescription);
+            
+            CANDIDATE PROFILE:
+            Title: %s
+            
+            CV CONTENT:
+            ---
+            %s
+            ---
+            """.formatted(format, title, cvText);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,255 @@
+package com.paladin.common.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Compacts extracted CV text before it goes into a prompt: strips page furniture
+ * (page numbers, headers and footers repeated on every page), collapses whitespace,
+ * groups the text into sections and trims each section to a token budget. Pages are
+ * told apart by the form feeds the extractors put between them.
+ */
+@Slf4j
+@Component
+public class CVTextNormalizer {
+
+    public enum Section {
+        SUMMARY, EXPERIENCE, SKILLS, EDUCATION, PROJECTS, OTHER
+    }
+
+    // Rough size of a token for English text; good enough for budgeting
+    static final int CHARS_PER_TOKEN = 4;
+
+    private static final String TRUNCATION_MARKER = "[...]";
+    // Lines at either end of a page that may be its header or footer
+    private static final int EDGE_LINES = 3;
+
+    private static final Pattern HORIZONTAL_WHITESPACE = Pattern.compile("[\\s\\u00A0&&[^\\n]]+");
+    private static final Pattern HYPHENATED_BREAK = Pattern.compile("(\\p{L})-\\n(\\p{Ll})");
+    private static final Pattern PAGE_NUMBER = Pattern.compile(
+            "(?i)^(page\\s*\\d{1,3}(\\s*(of|/)\\s*\\d{1,3})?|[-–]?\\s*\\d{1,3}\\s*[-–]?|\\d{1,3}\\s*(of|/)\\s*\\d{1,3})$");
+    private static final Pattern HEADING_PUNCTUATION = Pattern.compile("[^\\p{L} &]");
+
+    private static final Map<String, Section> HEADINGS = new HashMap<>();
+
+    static {
+        for (String h : List.of("summary", "profile", "professional summary", "about me", "about",
+                "objective", "career objective", "personal statement")) {
+            HEADINGS.put(h, Section.SUMMARY);
+        }
+        for (String h : List.of("experience", "work experience", "professional experience", "employment",
+                "employment history", "work history", "career history", "relevant experience")) {
+            HEADINGS.put(h, Section.EXPERIENCE);
+        }
+        for (String h : List.of("skills", "technical skills", "key skills", "core skills", "core competencies",
+                "competencies", "technologies", "tech stack", "tools & technologies", "skills & tools")) {
+            HEADINGS.put(h, Section.SKILLS);
+        }
+        for (String h : List.of("education", "academic background", "qualifications", "certifications",
+                "education & certifications", "courses")) {
+            HEADINGS.put(h, Section.EDUCATION);
+        }
+        for (String h : List.of("projects", "personal projects", "side projects", "key projects",
+                "selected projects", "open source")) {
+            HEADINGS.put(h, Section.PROJECTS);
+        }
+    }
+
+    private final Map<Section, Integer> tokenBudgets;
+    private final int jobDescriptionTokens;
+
+    public CVTextNormalizer(
+            @Value("${app.prompt.cv-budget.summary:250}") int summaryTokens,
+            @Value("${app.prompt.cv-budget.experience:1500}") int experienceTokens,
+            @Value("${app.prompt.cv-budget.skills:400}") int skillsTokens,
+            @Value("${app.prompt.cv-budget.education:300}") int educationTokens,
+            @Value("${app.prompt.cv-budget.projects:600}") int projectsTokens,
+            @Value("${app.prompt.cv-budget.other:400}") int otherTokens,
+            @Value("${app.prompt.job-description-tokens:2500}") int jobDescriptionTokens) {
+        this.tokenBudgets = Map.of(
+                Section.SUMMARY, summaryTokens,
+                Section.EXPERIENCE, experienceTokens,
+                Section.SKILLS, skillsTokens,
+                Section.EDUCATION, educationTokens,
+                Section.PROJECTS, projectsTokens,
+                Section.OTHER, otherTokens);
+        this.jobDescriptionTokens = jobDescriptionTokens;
+    }
+
+    /**
+     * Compacts raw CV text for use in a prompt.
+     *
+     * @param rawText The text as extracted from the CV.
+     * @return The cleaned text, grouped into labelled sections within budget.
+     */
+    public String normalize(String rawText) {
+        if (rawText == null || rawText.isBlank()) {
+            return "";
+        }
+
+        List<List<String>> pages = new ArrayList<>();
+        for (String page : rawText.split("\f", -1)) {
+            pages.add(cleanLines(page));
+        }
+        Map<Section, List<String>> sections = segment(removePageFurniture(pages));
+
+        StringBuilder out = new StringBuilder();
+        sections.forEach((section, body) -> {
+            String text = truncate(String.join("\n", body), tokenBudgets.get(section) * CHARS_PER_TOKEN);
+            if (text.isEmpty()) {
+                return;
+            }
+            if (!out.isEmpty()) {
+                out.append("\n\n");
+            }
+            out.append(section.name()).append(":\n").append(text);
+        });
+
+        log.debug("Compacted CV text from {} to {} characters", rawText.length(), out.length());
+        return out.toString();
+    }
+
+    /**
+     * Collapses whitespace in a job description and trims it to its token budget.
+     */
+    public String limitJobDescription(String jobDescription) {
+        if (jobDescription == null) {
+            return "";
+        }
+        String cleaned = String.join("\n", collapseBlankLines(cleanLines(jobDescription)));
+        return truncate(cleaned, jobDescriptionTokens * CHARS_PER_TOKEN);
+    }
+
+    private List<String> cleanLines(String text) {
+        String unified = text.replace("\r\n", "\n")
+                .replace('\r', '\n')
+                .replace('\f', '\n');
+        unified = HYPHENATED_BREAK.matcher(unified).replaceAll("$1$2");
+
+        List<String> lines = new ArrayList<>();
+        for (String line : unified.split("\n", -1)) {
+            lines.add(HORIZONTAL_WHITESPACE.matcher(line).replaceAll(" ").trim());
+        }
+        return lines;
+    }
+
+    /**
+     * Drops page numbers and header and footer lines repeated on several pages, such as a
+     * name and contact line printed at the top of every page. The first copy is kept. A line
+     * counts as a header (or footer) only if it sits at the same position from the top (or
+     * bottom) of another page, with every line between it and that edge repeated too; lines
+     * that only repeat in the body, like a job title held twice or a second "Present", stay.
+     */
+    private List<String> removePageFurniture(List<List<String>> pages) {
+        // Blank lines are mostly left over from page breaks
+        List<List<String>> content = new ArrayList<>();
+        for (List<String> page : pages) {
+            content.add(page.stream()
+                    .filter(line -> !line.isEmpty() && !PAGE_NUMBER.matcher(line).matches())
+                    .toList());
+        }
+
+        // Number of pages each line appears on at each position from the top and the bottom
+        Map<String, Integer> edgeCounts = new HashMap<>();
+        for (List<String> page : content) {
+            for (int offset = 0; offset < Math.min(EDGE_LINES, page.size()); offset++) {
+                edgeCounts.merge(edgeKey(true, offset, page.get(offset)), 1, Integer::sum);
+                edgeCounts.merge(edgeKey(false, offset, page.get(page.size() - 1 - offset)), 1, Integer::sum);
+            }
+        }
+
+        Set<String> seenFurniture = new HashSet<>();
+        List<String> kept = new ArrayList<>();
+        for (List<String> page : content) {
+            int headerLines = furnitureLines(page, true, edgeCounts);
+            int footerLines = Math.min(furnitureLines(page, false, edgeCounts), page.size() - headerLines);
+            for (int i = 0; i < page.size(); i++) {
+                String line = page.get(i);
+                boolean furniture = i < headerLines || i >= page.size() - footerLines;
+                if (furniture && !seenFurniture.add(line)) {
+                    continue;
+                }
+                kept.add(line);
+            }
+        }
+        return kept;
+    }
+
+    // Counts the lines from one edge of a page that repeat at the same position on other pages
+    private int furnitureLines(List<String> page, boolean top, Map<String, Integer> edgeCounts) {
+        int count = 0;
+        while (count < Math.min(EDGE_LINES, page.size())) {
+            String line = page.get(top ? count : page.size() - 1 - count);
+            if (line.length() > 80 || sectionOf(line) != null
+                    || edgeCounts.getOrDefault(edgeKey(top, count, line), 0) < 2) {
+                break;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private static String edgeKey(boolean top, int offset, String line) {
+        return (top ? "top:" : "bottom:") + offset + ":" + line;
+    }
+
+    private Map<Section, List<String>> segment(List<String> lines) {
+        Map<Section, List<String>> sections = new LinkedHashMap<>();
+        Section current = Section.OTHER;
+        for (String line : lines) {
+            Section heading = sectionOf(line);
+            if (heading != null) {
+                current = heading;
+                sections.computeIfAbsent(current, s -> new ArrayList<>());
+                continue;
+            }
+            sections.computeIfAbsent(current, s -> new ArrayList<>()).add(line);
+        }
+        return sections;
+    }
+
+    private Section sectionOf(String line) {
+        if (line.isEmpty() || line.length() > 40) {
+            return null;
+        }
+        String key = HEADING_PUNCTUATION.matcher(line.toLowerCase(Locale.ROOT))
+                .replaceAll("")
+                .replace(" and ", " & ")
+                .trim();
+        return HEADINGS.get(key);
+    }
+
+    private List<String> collapseBlankLines(List<String> lines) {
+        List<String> collapsed = new ArrayList<>();
+        for (String line : lines) {
+            if (line.isEmpty() && (collapsed.isEmpty() || collapsed.get(collapsed.size() - 1).isEmpty())) {
+                continue;
+            }
+            collapsed.add(line);
+        }
+        return collapsed;
+    }
+
+    // Cuts at the last line break that fits, so bullets are not split mid-sentence
+    private String truncate(String text, int maxChars) {
+        if (text.length() <= maxChars) {
+            return text.trim();
+        }
+        int cut = text.lastIndexOf('\n', maxChars);
+        if (cut < maxChars / 2) {
+            cut = maxChars;
+        }
+        return text.substring(0, cut).trim() + "\n" + TRUNCATION_MARKER;
+    }
+}
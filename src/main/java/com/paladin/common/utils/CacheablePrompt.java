@@ -0,0 +1,19 @@
+package com.paladin.common.utils;
+
+/**
+ * A prompt split for provider-side prompt caching. The prefix only depends on the profile and
+ * its CV, so it is byte-identical across every analysis of that profile and is sent as the
+ * cacheable system prompt; the suffix carries what changes from call to call.
+ *
+ * @param prefix Instructions, output format and CV content.
+ * @param suffix The job description and what to return for it.
+ */
+public record CacheablePrompt(String prefix, String suffix) {
+
+    /**
+     * @return The whole prompt as one text, prefix first.
+     */
+    public String text() {
+        return prefix + "\n" + suffix;
+    }
+}
@@ -0,0 +1,111 @@
+package com.paladin.common.utils;
+
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+
+import java.net.SocketTimeoutException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Holds a slot of an {@link AdaptiveConcurrencyLimiter} for the duration of every call
+ * to the wrapped model and reports back how the call went. Retries are made by the
+ * caller, so every attempt takes its own slot.
+ */
+public class ConcurrencyLimitedChatModel implements ChatModel {
+
+    private final ChatModel delegate;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitedChatModel(ChatModel delegate, AdaptiveConcurrencyLimiter limiter) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire();
+        long start = System.nanoTime();
+        try {
+            ChatResponse response = delegate.call(prompt);
+            permit.success(latencySample(System.nanoTime() - start, response));
+            return response;
+        } catch (RuntimeException e) {
+            release(permit, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        // Latency of a stream mostly measures how long the answer is, so only outcomes count
+        return Flux.defer(() -> {
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire();
+            return delegate.stream(prompt)
+                    .doOnComplete(permit::success)
+                    .doOnError(e -> release(permit, e))
+                    .doOnCancel(permit::ignore);
+        });
+    }
+
+    @Override
+    public ChatOptions getDefaultOptions() {
+        return delegate.getDefaultOptions();
+    }
+
+    private void release(AdaptiveConcurrencyLimiter.Permit permit, Throwable error) {
+        if (isOverload(error)) {
+            permit.throttled();
+        } else {
+            permit.ignore();
+        }
+    }
+
+    // Generation time grows with output length, so compare time per output token
+    private static double latencySample(long nanos, ChatResponse response) {
+        Integer outputTokens = response == null || response.getMetadata() == null
+                || response.getMetadata().getUsage() == null
+                ? null
+                : response.getMetadata().getUsage().getCompletionTokens();
+        if (outputTokens == null || outputTokens <= 0) {
+            return Double.NaN;
+        }
+        return nanos / 1_000_000.0 / outputTokens;
+    }
+
+    /**
+     * True for rate limiting (429), overload (529, 503) and timeouts. Spring AI reports HTTP
+     * errors from the blocking client as exceptions whose message starts with the status code.
+     */
+    static boolean isOverload(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RestClientResponseException e && isOverloadStatus(e.getStatusCode().value())) {
+                return true;
+            }
+            if (cause instanceof WebClientResponseException e && isOverloadStatus(e.getStatusCode().value())) {
+                return true;
+            }
+            if (cause instanceof SocketTimeoutException || cause instanceof TimeoutException) {
+                return true;
+            }
+            String message = cause.getMessage();
+            if (message != null && (message.startsWith("429") || message.startsWith("529")
+                    || message.startsWith("503") || message.contains("rate_limit_error")
+                    || message.contains("overloaded_error"))) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isOverloadStatus(int status) {
+        return status == 429 || status == 503 || status == 529;
+    }
+}
@@ -0,0 +1,379 @@
+package com.paladin.common.utils;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Text extractor for legacy Word 97-2003 (.doc) files. The file is spooled to disk and
+ * read through a minimal OLE2 compound file reader; only the FIB, the piece table and
+ * the text pieces themselves are loaded, up to the character limit, so memory stays
+ * bounded by the text rather than the file. Field codes are dropped, field results kept.
+ */
+@Service
+public class DocTextExtractor implements TextExtractor {
+
+    private static final byte[] SIGNATURE = {
+            (byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1};
+    private static final int WORD_IDENT = 0xA5EC;
+    private static final int FIB_ENCRYPTED = 0x0100;
+    private static final int FIB_WHICH_TABLE_STREAM = 0x0200;
+    // Index of fcClx/lcbClx in FibRgFcLcb97
+    private static final int CLX_INDEX = 33;
+    // A CV's piece table is a few hundred bytes; lcbClx is read from the file itself
+    private static final int MAX_CLX_BYTES = 1024 * 1024;
+    private static final Charset CP1252 = Charset.forName("windows-1252");
+
+    private final int maxChars;
+
+    public DocTextExtractor(@Value("${app.extraction.max-chars:200000}") int maxChars) {
+        this.maxChars = maxChars;
+    }
+
+    @Override
+    public String format() {
+        return "doc";
+    }
+
+    @Override
+    public boolean supports(String contentType) {
+        return "application/msword".equals(contentType);
+    }
+
+    @Override
+    public boolean matches(byte[] magic) {
+        if (magic.length < SIGNATURE.length) {
+            return false;
+        }
+        for (int i = 0; i < SIGNATURE.length; i++) {
+            if (magic[i] != SIGNATURE[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String getText(InputStream inputStream) {
+        Path spool = null;
+        try {
+            spool = Files.createTempFile("doc-extract-", ".doc");
+            Files.copy(inputStream, spool, StandardCopyOption.REPLACE_EXISTING);
+            try (RandomAccessFile file = new RandomAccessFile(spool.toFile(), "r")) {
+                return extract(new CompoundFile(file));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to extract text from Word document", e);
+        } finally {
+            if (spool != null) {
+                spool.toFile().delete();
+            }
+        }
+    }
+
+    private String extract(CompoundFile compoundFile) throws IOException {
+        CompoundFile.Entry wordDocument = compoundFile.entry("WordDocument");
+        ByteBuffer fib = littleEndian(compoundFile.read(wordDocument, 0, 1024));
+        if (fib.limit() < 34 || (fib.getShort(0) & 0xFFFF) != WORD_IDENT) {
+            throw new IllegalArgumentException("Not a Word 97-2003 document");
+        }
+        int flags = fib.getShort(0x0A) & 0xFFFF;
+        if ((flags & FIB_ENCRYPTED) != 0) {
+            throw new IllegalArgumentException("Encrypted Word documents are not supported");
+        }
+        CompoundFile.Entry table = compoundFile.entry((flags & FIB_WHICH_TABLE_STREAM) != 0 ? "1Table" : "0Table");
+
+        // FIB: fixed 32-byte base, then counted blocks of shorts, ints and fc/lcb pairs
+        int csw = fib.getShort(32) & 0xFFFF;
+        int cslwOffset = 34 + csw * 2;
+        int cslw = fib.getShort(cslwOffset) & 0xFFFF;
+        int rgLw = cslwOffset + 2;
+        int rgFcLcb = rgLw + cslw * 4 + 2;
+        if (rgFcLcb + (CLX_INDEX + 1) * 8 > fib.limit()) {
+            throw new IllegalArgumentException("Unsupported Word file information block");
+        }
+        int ccpText = fib.getInt(rgLw + 3 * 4);
+        int fcClx = fib.getInt(rgFcLcb + CLX_INDEX * 8);
+        int lcbClx = fib.getInt(rgFcLcb + CLX_INDEX * 8 + 4);
+        if (lcbClx < 0 || lcbClx > MAX_CLX_BYTES) {
+            throw new IllegalArgumentException("Word piece table is too large");
+        }
+
+        ByteBuffer clx = littleEndian(compoundFile.read(table, fcClx, lcbClx));
+        int pos = 0;
+        // Skip property modifiers (Prc) before the piece table (Pcdt)
+        while (pos < clx.limit() && clx.get(pos) == 0x01) {
+            pos += 3 + clx.getShort(pos + 1);
+        }
+        if (pos + 5 > clx.limit() || clx.get(pos) != 0x02) {
+            throw new IllegalArgumentException("Corrupt Word piece table");
+        }
+        int pieces = (clx.getInt(pos + 1) - 4) / 12;
+        int cps = pos + 5;
+        int pcds = cps + (pieces + 1) * 4;
+        if (pieces < 0 || pcds + (long) pieces * 8 > clx.limit()) {
+            throw new IllegalArgumentException("Corrupt Word piece table");
+        }
+
+        StringBuilder raw = new StringBuilder();
+        int remaining = Math.min(ccpText, maxChars);
+        for (int i = 0; i < pieces && remaining > 0; i++) {
+            int length = Math.min(clx.getInt(cps + (i + 1) * 4) - clx.getInt(cps + i * 4), remaining);
+            if (length <= 0) {
+                continue;
+            }
+            int fcCompressed = clx.getInt(pcds + i * 8 + 2);
+            boolean compressed = (fcCompressed & 0x40000000) != 0;
+            int fc = fcCompressed & 0x3FFFFFFF;
+            if (compressed) {
+                raw.append(new String(compoundFile.read(wordDocument, fc / 2, length), CP1252));
+            } else {
+                raw.append(new String(compoundFile.read(wordDocument, fc, length * 2L), StandardCharsets.UTF_16LE));
+            }
+            remaining -= length;
+        }
+        return clean(raw);
+    }
+
+    // Maps Word's control characters to plain text and keeps only the results of fields
+    static String clean(CharSequence raw) {
+        StringBuilder text = new StringBuilder(raw.length());
+        Deque<Boolean> fields = new ArrayDeque<>();  // true while in a field's code
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            switch (c) {
+                case 0x13 -> fields.push(true);
+                case 0x14 -> {
+                    if (!fields.isEmpty()) {
+                        fields.pop();
+                        fields.push(false);
+                    }
+                }
+                case 0x15 -> fields.poll();
+                default -> {
+                    if (fields.contains(Boolean.TRUE)) {
+                        continue;
+                    }
+                    switch (c) {
+                        case '\r', 0x0B, 0x0E -> text.append('\n');
+                        // Page and section breaks, kept as page boundaries
+                        case 0x0C -> text.append('\f');
+                        case 0x07 -> text.append('\t');
+                        case 0x1E -> text.append('-');
+                        case 0xA0 -> text.append(' ');
+                        default -> {
+                            if (c >= 0x20 || c == '\t' || c == '\n') {
+                                text.append(c);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    private static ByteBuffer littleEndian(byte[] bytes) {
+        return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Read-only view of an OLE2 compound file: sector allocation tables and the directory
+     * are loaded up front (a few KB for a CV), stream contents are read on demand.
+     */
+    private static final class CompoundFile {
+
+        private static final int HEADER_DIFAT_ENTRIES = 109;
+
+        record Entry(String name, int startSector, long size) {
+        }
+
+        private final RandomAccessFile file;
+        private final int sectorSize;
+        private final int miniSectorSize;
+        private final long miniStreamCutoff;
+        private final int[] fat;
+        private final int[] miniFat;
+        private final List<Integer> miniStreamSectors;
+        private final Map<String, Entry> entries = new HashMap<>();
+
+        CompoundFile(RandomAccessFile file) throws IOException {
+            this.file = file;
+            byte[] headerBytes = new byte[512];
+            file.seek(0);
+            file.readFully(headerBytes);
+            ByteBuffer header = littleEndian(headerBytes);
+            for (int i = 0; i < SIGNATURE.length; i++) {
+                if (headerBytes[i] != SIGNATURE[i]) {
+                    throw new IllegalArgumentException("Not an OLE2 compound file");
+                }
+            }
+
+            int sectorShift = header.getShort(0x1E);
+            if (sectorShift != 9 && sectorShift != 12) {
+                throw new IllegalArgumentException("Unsupported sector size");
+            }
+            sectorSize = 1 << sectorShift;
+            miniSectorSize = 1 << header.getShort(0x20);
+            int fatSectorCount = header.getInt(0x2C);
+            int firstDirectorySector = header.getInt(0x30);
+            miniStreamCutoff = header.getInt(0x38) & 0xFFFFFFFFL;
+            int firstMiniFatSector = header.getInt(0x3C);
+            int firstDifatSector = header.getInt(0x44);
+            int difatSectorCount = header.getInt(0x48);
+
+            // Sector numbers of the FAT itself: 109 in the header, the rest in chained DIFAT sectors.
+            // The count is declared by the file, so it is capped by how many sectors the file holds.
+            fatSectorCount = (int) Math.min(fatSectorCount, file.length() / sectorSize);
+            List<Integer> fatSectors = new ArrayList<>();
+            for (int i = 0; i < Math.min(fatSectorCount, HEADER_DIFAT_ENTRIES); i++) {
+                fatSectors.add(header.getInt(0x4C + i * 4));
+            }
+            int difatSector = firstDifatSector;
+            for (int n = 0; n < difatSectorCount && difatSector >= 0; n++) {
+                ByteBuffer difat = littleEndian(readSector(difatSector));
+                int perSector = sectorSize / 4 - 1;
+                for (int i = 0; i < perSector && fatSectors.size() < fatSectorCount; i++) {
+                    fatSectors.add(difat.getInt(i * 4));
+                }
+                difatSector = difat.getInt(perSector * 4);
+            }
+
+            fat = new int[fatSectors.size() * (sectorSize / 4)];
+            for (int s = 0; s < fatSectors.size(); s++) {
+                ByteBuffer sector = littleEndian(readSector(fatSectors.get(s)));
+                for (int i = 0; i < sectorSize / 4; i++) {
+                    fat[s * (sectorSize / 4) + i] = sector.getInt(i * 4);
+                }
+            }
+
+            Entry root = null;
+            for (int directorySector : chain(fat, firstDirectorySector)) {
+                ByteBuffer sector = littleEndian(readSector(directorySector));
+                for (int offset = 0; offset < sectorSize; offset += 128) {
+                    int nameLength = sector.getShort(offset + 64);
+                    int type = sector.get(offset + 66);
+                    if (type == 0 || nameLength < 2 || nameLength > 64) {
+                        continue;
+                    }
+                    byte[] name = new byte[nameLength - 2];
+                    sector.get(offset, name);
+                    Entry entry = new Entry(new String(name, StandardCharsets.UTF_16LE),
+                            sector.getInt(offset + 116), sector.getInt(offset + 120) & 0xFFFFFFFFL);
+                    if (type == 5) {
+                        root = entry;
+                    } else if (type == 2) {
+                        entries.putIfAbsent(entry.name(), entry);
+                    }
+                }
+            }
+            if (root == null) {
+                throw new IllegalArgumentException("Compound file has no root entry");
+            }
+
+            List<Integer> miniFatSectors = chain(fat, firstMiniFatSector);
+            miniFat = new int[miniFatSectors.size() * (sectorSize / 4)];
+            for (int s = 0; s < miniFatSectors.size(); s++) {
+                ByteBuffer sector = littleEndian(readSector(miniFatSectors.get(s)));
+                for (int i = 0; i < sectorSize / 4; i++) {
+                    miniFat[s * (sectorSize / 4) + i] = sector.getInt(i * 4);
+                }
+            }
+            miniStreamSectors = chain(fat, root.startSector());
+        }
+
+        Entry entry(String name) {
+            Entry entry = entries.get(name);
+            if (entry == null) {
+                throw new IllegalArgumentException("Word document has no " + name + " stream");
+            }
+            return entry;
+        }
+
+        /**
+         * Reads part of a stream; the result is shorter if the stream ends first. Declared
+         * sizes are not trusted: no more is read than the stream's sector chain and the
+         * file itself hold.
+         */
+        byte[] read(Entry entry, long offset, long length) throws IOException {
+            if (offset < 0) {
+                throw new IllegalArgumentException("Stream range out of bounds");
+            }
+            boolean mini = entry.size() < miniStreamCutoff;
+            int unit = mini ? miniSectorSize : sectorSize;
+            List<Integer> sectors = chain(mini ? miniFat : fat, entry.startSector());
+
+            long stored = Math.min(entry.size(), Math.min((long) sectors.size() * unit, file.length()));
+            long available = Math.max(0, Math.min(length, stored - offset));
+            if (available > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Stream range out of bounds");
+            }
+            byte[] bytes = new byte[(int) available];
+            int done = 0;
+            while (done < bytes.length) {
+                long position = offset + done;
+                int index = (int) (position / unit);
+                int within = (int) (position % unit);
+                if (index >= sectors.size()) {
+                    throw new IllegalArgumentException("Stream is shorter than its declared size");
+                }
+                int count = Math.min(unit - within, bytes.length - done);
+                file.seek(mini
+                        ? miniSectorOffset(sectors.get(index)) + within
+                        : sectorOffset(sectors.get(index)) + within);
+                file.readFully(bytes, done, count);
+                done += count;
+            }
+            return bytes;
+        }
+
+        private long miniSectorOffset(int miniSector) {
+            long position = (long) miniSector * miniSectorSize;
+            int index = (int) (position / sectorSize);
+            if (index >= miniStreamSectors.size()) {
+                throw new IllegalArgumentException("Mini stream sector out of bounds");
+            }
+            return sectorOffset(miniStreamSectors.get(index)) + position % sectorSize;
+        }
+
+        private long sectorOffset(int sector) {
+            // The header occupies the first sector-sized slot
+            return (long) (sector + 1) * sectorSize;
+        }
+
+        private byte[] readSector(int sector) throws IOException {
+            byte[] bytes = new byte[sectorSize];
+            file.seek(sectorOffset(sector));
+            file.readFully(bytes);
+            return bytes;
+        }
+
+        // Follows an allocation chain; stops at end-of-chain and refuses cycles
+        private static List<Integer> chain(int[] table, int start) {
+            List<Integer> sectors = new ArrayList<>();
+            for (int sector = start; sector >= 0; sector = table[sector]) {
+                if (sector >= table.length || sectors.size() > table.length) {
+                    throw new IllegalArgumentException("Corrupt sector chain");
+                }
+                sectors.add(sector);
+            }
+            return sectors;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.paladin.common.utils;
+
+import com.paladin.common.exceptions.InvalidFileException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Extracts the text of an uploaded document with the {@link TextExtractor} for its content
+ * type, falling back to the file signature when the recorded type is missing or unknown.
+ * Extraction time is recorded per format as {@code paladin.cv.extraction}.
+ */
+@Slf4j
+@Service
+public class DocumentTextExtractor {
+
+    private static final int MAGIC_LENGTH = 8;
+
+    private final List<TextExtractor> extractors;
+    private final MeterRegistry meterRegistry;
+
+    public DocumentTextExtractor(List<TextExtractor> extractors, MeterRegistry meterRegistry) {
+        this.extractors = extractors;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param contentType The MIME type recorded for the file, may be null.
+     * @param inputStream The document; it is not closed.
+     * @return The extracted text.
+     * @throws InvalidFileException If no extractor handles the document.
+     */
+    public String getText(String contentType, InputStream inputStream) {
+        return extract(contentType, inputStream).text();
+    }
+
+    /**
+     * Like {@link #getText(String, InputStream)}, with the page count where the format records one.
+     */
+    public ExtractedText extract(String contentType, InputStream inputStream) {
+        InputStream buffered = inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream);
+        TextExtractor extractor = extractors.stream()
+                .filter(candidate -> candidate.supports(contentType))
+                .findFirst()
+                .orElseGet(() -> bySignature(buffered));
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return extractor.extract(buffered);
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("paladin.cv.extraction")
+                    .description("Time to extract text from an uploaded CV")
+                    .tag("format", extractor.format())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Checks that a document starts with the signature of the format its content type
+     * claims, so a mislabelled or renamed file is turned away instead of trusting the client.
+     *
+     * @param contentType The MIME type declared for the file.
+     * @param inputStream The document; it must support mark/reset and is left at its start.
+     * @throws InvalidFileException If no extractor handles the type or the signature does not match it.
+     */
+    public void checkSignature(String contentType, InputStream inputStream) {
+        TextExtractor extractor = extractors.stream()
+                .filter(candidate -> candidate.supports(contentType))
+                .findFirst()
+                .orElseThrow(() -> new InvalidFileException("Unsupported document format"));
+        if (!extractor.matches(readMagic(inputStream))) {
+            throw new InvalidFileException("File content does not match its declared type");
+        }
+    }
+
+    private TextExtractor bySignature(InputStream inputStream) {
+        byte[] magic = readMagic(inputStream);
+        return extractors.stream()
+                .filter(candidate -> candidate.matches(magic))
+                .findFirst()
+                .orElseThrow(() -> new InvalidFileException("Unsupported document format"));
+    }
+
+    private byte[] readMagic(InputStream inputStream) {
+        try {
+            inputStream.mark(MAGIC_LENGTH);
+            byte[] magic = inputStream.readNBytes(MAGIC_LENGTH);
+            inputStream.reset();
+            return magic;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read document signature", e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.paladin.common.utils;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Streaming text extractor for Word 2007+ (.docx) files. Walks the zip entries until
+ * word/document.xml and reads it with StAX, so neither the archive nor the XML is ever
+ * held in memory. Output stops at the character limit, and every byte inflated on the way,
+ * skipped entries and markup included, counts against a size limit that cuts off zip bombs.
+ */
+@Service
+public class DocxTextExtractor implements TextExtractor {
+
+    private static final String CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+    private static final String DOCUMENT_PART = "word/document.xml";
+    private static final String WORDML_NS = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    private static final byte[] SIGNATURE = {'P', 'K', 3, 4};
+
+    private final XMLInputFactory xmlInputFactory;
+    private final int maxChars;
+    private final DataSize maxInflatedSize;
+
+    public DocxTextExtractor(
+            @Value("${app.extraction.max-chars:200000}") int maxChars,
+            @Value("${app.extraction.max-inflated-size:32MB}") DataSize maxInflatedSize) {
+        this.maxChars = maxChars;
+        this.maxInflatedSize = maxInflatedSize;
+        this.xmlInputFactory = XMLInputFactory.newFactory();
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    @Override
+    public String format() {
+        return "docx";
+    }
+
+    @Override
+    public boolean supports(String contentType) {
+        return CONTENT_TYPE.equals(contentType);
+    }
+
+    @Override
+    public boolean matches(byte[] magic) {
+        return magic.length >= SIGNATURE.length
+                && magic[0] == SIGNATURE[0] && magic[1] == SIGNATURE[1]
+                && magic[2] == SIGNATURE[2] && magic[3] == SIGNATURE[3];
+    }
+
+    @Override
+    public String getText(InputStream inputStream) {
+        try {
+            // Closing the zip stream must not close the caller's stream
+            ZipInputStream zip = new ZipInputStream(new FilterInputStream(inputStream) {
+                @Override
+                public void close() {
+                }
+            });
+            InputStream inflated = new SizeLimitedInputStream(zip, maxInflatedSize.toBytes(),
+                    "Word document is larger than " + maxInflatedSize + " once decompressed");
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (DOCUMENT_PART.equals(entry.getName())) {
+                    return readDocument(inflated);
+                }
+                // getNextEntry would inflate the rest of the entry unseen; drain it through the limit instead
+                inflated.transferTo(OutputStream.nullOutputStream());
+            }
+            throw new IllegalArgumentException("Not a Word document: " + DOCUMENT_PART + " is missing");
+        } catch (IOException | XMLStreamException e) {
+            throw new RuntimeException("Failed to extract text from Word document", e);
+        }
+    }
+
+    private String readDocument(InputStream documentXml) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(documentXml);
+        try {
+            boolean inText = false;
+            while (reader.hasNext() && text.length() < maxChars) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT && WORDML_NS.equals(reader.getNamespaceURI())) {
+                    switch (reader.getLocalName()) {
+                        case "t" -> inText = true;
+                        case "tab" -> text.append('\t');
+                        case "br", "cr" -> text.append('\n');
+                        default -> {
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && WORDML_NS.equals(reader.getNamespaceURI())) {
+                    switch (reader.getLocalName()) {
+                        case "t" -> inText = false;
+                        case "p" -> text.append('\n');
+                        case "tc" -> text.append('\t');
+                        default -> {
+                        }
+                    }
+                } else if (inText && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)) {
+                    text.append(reader.getText());
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        if (text.length() > maxChars) {
+            text.setLength(maxChars);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,8 @@
+package com.paladin.common.utils;
+
+/**
+ * @param text      The plain text of a document.
+ * @param pageCount The number of pages, or null if the format does not record it.
+ */
+public record ExtractedText(String text, Integer pageCount) {
+}
@@ -0,0 +1,54 @@
+package com.paladin.common.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public class HashUtils {
+
+    public static String sha256Hex(byte[] bytes) {
+        return HexFormat.of().formatHex(sha256().digest(bytes));
+    }
+
+    public static String sha256Hex(String text) {
+        return sha256Hex(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String sha256Hex(InputStream inputStream) {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[8192];
+        try (inputStream) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to hash input stream", e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Wraps a stream so its SHA-256 is computed while someone else reads it;
+     * read the hash with {@link #hex(DigestInputStream)} once the stream is consumed.
+     */
+    public static DigestInputStream sha256Stream(InputStream inputStream) {
+        return new DigestInputStream(inputStream, sha256());
+    }
+
+    public static String hex(DigestInputStream digestStream) {
+        return HexFormat.of().formatHex(digestStream.getMessageDigest().digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.paladin.common.utils;
+
+import com.paladin.common.dto.JobDetailsDTO;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class JobDescriptionUtils {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // A run of up to five capitalised words on one line, e.g. "Acme Payments" or "Senior Backend Engineer"
+    private static final String WORD = "[A-Z](?:[\\w&'+#/-]|\\.(?=\\w))*";
+    private static final String NAME = "(" + WORD + "(?:[ \\t]+(?:" + WORD + "|&|of)){0,4})";
+
+    private static final Pattern EMAIL = Pattern.compile("[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}");
+    private static final Pattern EXPERIENCE = Pattern.compile(
+            "\\d{1,2}\\s*(?:\\+|-\\s*\\d{1,2})?\\s*years?", Pattern.CASE_INSENSITIVE);
+    private static final Pattern LABELLED_POSITION = Pattern.compile(
+            "^[ \\t]*(?:job[ \\t]+title|position|role)[ \\t]*[:\\-][ \\t]*(.{2,80}?)[ \\t]*$",
+            Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+    private static final Pattern LABELLED_COMPANY = Pattern.compile(
+            "^[ \\t]*(?:company|employer|organi[sz]ation)[ \\t]*[:\\-][ \\t]*(.{2,80}?)[ \\t]*$",
+            Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+    private static final Pattern HIRING_POSITION = Pattern.compile(
+            "(?i:\\b(?:hiring|seeking|looking[ \\t]+for|recruiting))[ \\t]+(?i:an?[ \\t]+|our[ \\t]+next[ \\t]+)?" + NAME);
+    private static final Pattern HIRING_COMPANY = Pattern.compile(
+            NAME + "[ \\t]+(?i:is[ \\t]+(?:hiring|looking|seeking|recruiting))");
+    private static final Pattern JOIN_COMPANY = Pattern.compile(
+            "(?i:\\b(?:join|(?:role|position|job)[ \\t]+at))[ \\t]+" + NAME);
+    // "Senior Backend Engineer - Acme", "Data Analyst at Globex", "Designer | Initech"
+    private static final Pattern TITLE_LINE = Pattern.compile("^(.{2,60}?)(?:[ \\t]+(?:-|\u2013|\\||@|at)[ \\t]+(.{2,40}))?$");
+
+    private static final Set<String> NOT_A_NAME = Set.of(
+            "We", "Our", "Us", "You", "The", "This", "Team", "Company", "Role", "Position", "Job");
+
+    /**
+     * Lower-cases and collapses whitespace so that copies of the same posting
+     * that differ only in formatting compare equal.
+     */
+    public static String normalize(String jobDescription) {
+        if (jobDescription == null) {
+            return "";
+        }
+        return WHITESPACE.matcher(jobDescription.toLowerCase(Locale.ROOT))
+                .replaceAll(" ")
+                .trim();
+    }
+
+    public static String normalizedHash(String jobDescription) {
+        return HashUtils.sha256Hex(normalize(jobDescription));
+    }
+
+    /**
+     * Picks company, position, contact email and experience level out of a posting with a few
+     * patterns, in microseconds. Good enough to fill a template while the model works; anything
+     * not found is left null.
+     */
+    public static JobDetailsDTO extractJobDetails(String jobDescription) {
+        JobDetailsDTO details = JobDetailsDTO.builder().build();
+        if (jobDescription == null || jobDescription.isBlank()) {
+            return details;
+        }
+
+        String firstLine = jobDescription.strip().lines().findFirst().orElse("").strip();
+        Matcher title = TITLE_LINE.matcher(firstLine);
+        boolean titleLine = !firstLine.endsWith(".") && firstLine.split("\\s+").length <= 10
+                && title.matches() && isTitleCase(title.group(1));
+
+        details.setPosition(firstOf(
+                group(LABELLED_POSITION, jobDescription),
+                titleLine ? clean(title.group(1)) : null,
+                group(HIRING_POSITION, jobDescription)));
+        details.setCompany(firstOf(
+                group(LABELLED_COMPANY, jobDescription),
+                titleLine && title.group(2) != null ? clean(title.group(2)) : null,
+                group(HIRING_COMPANY, jobDescription),
+                group(JOIN_COMPANY, jobDescription)));
+
+        Matcher email = EMAIL.matcher(jobDescription);
+        details.setEmail(email.find() ? email.group() : null);
+        Matcher experience = EXPERIENCE.matcher(jobDescription);
+        details.setExperienceLevel(experience.find() ? experience.group() : null);
+        return details;
+    }
+
+    private static String group(Pattern pattern, String text) {
+        Matcher matcher = pattern.matcher(text);
+        while (matcher.find()) {
+            String value = clean(matcher.group(1));
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static String clean(String value) {
+        String trimmed = value.strip().replaceAll("[.,;:!]+$", "");
+        if (trimmed.startsWith("The ")) {
+            trimmed = trimmed.substring(4);
+        }
+        return trimmed.isEmpty() || NOT_A_NAME.contains(trimmed) ? null : trimmed;
+    }
+
+    // Headings such as "About the role" are not job titles
+    private static boolean isTitleCase(String text) {
+        for (String word : text.split("\\s+")) {
+            if (word.length() > 3 && !Character.isUpperCase(word.charAt(0))) {
+                return false;
+            }
+        }
+        return Character.isUpperCase(text.charAt(0));
+    }
+
+    private static String firstOf(String... values) {
+        for (String value : values) {
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
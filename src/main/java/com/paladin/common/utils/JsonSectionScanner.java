@@ -0,0 +1,206 @@
+package com.paladin.common.utils;
+
+/**
+ * Incremental scanner for a JSON object that arrives in chunks.
+ * Reports each top-level member as soon as its value is complete and
+ * streams the decoded characters of top-level string values as they arrive.
+ * Anything before the first '{' (preambles, markdown fences) is ignored.
+ */
+public class JsonSectionScanner {
+
+    public interface Listener {
+        /**
+         * Called once a top-level member value is complete.
+         *
+         * @param key     The member name.
+         * @param rawJson The raw JSON of the value.
+         */
+        default void onSection(String key, String rawJson) {
+        }
+
+        /**
+         * Called with newly decoded characters of a top-level string value.
+         */
+        default void onStringDelta(String key, String text) {
+        }
+    }
+
+    private final Listener listener;
+    private final StringBuilder buffer = new StringBuilder();
+    private int position;
+
+    private boolean started;
+    private boolean finished;
+    private int depth;
+    private boolean inString;
+    private boolean escaping;
+    private int unicodeDigitsLeft;
+    private final StringBuilder unicode = new StringBuilder(4);
+
+    // top-level member tracking
+    private boolean readingKey;
+    private final StringBuilder key = new StringBuilder();
+    private String currentKey;
+    private boolean awaitingValue;
+    private int valueStart = -1;
+    private boolean streamingString;
+    private boolean readingPrimitive;
+    private final StringBuilder delta = new StringBuilder();
+
+    public JsonSectionScanner(Listener listener) {
+        this.listener = listener;
+    }
+
+    public void feed(String chunk) {
+        if (chunk == null || finished) {
+            return;
+        }
+        buffer.append(chunk);
+
+        while (position < buffer.length() && !finished) {
+            scan(buffer.charAt(position));
+            position++;
+        }
+        flushDelta();
+    }
+
+    /**
+     * @return true once the root object has been closed.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    private void scan(char c) {
+        if (!started) {
+            if (c == '{') {
+                started = true;
+                depth = 1;
+            }
+            return;
+        }
+
+        if (inString) {
+            scanStringChar(c);
+            return;
+        }
+
+        if (readingPrimitive && depth == 1 && (c == ',' || c == '}' || Character.isWhitespace(c))) {
+            readingPrimitive = false;
+            completeValue(position);
+        }
+
+        switch (c) {
+            case '"' -> {
+                inString = true;
+                if (depth == 1 && awaitingValue) {
+                    startValue();
+                    streamingString = true;
+                } else if (depth == 1 && currentKey == null) {
+                    readingKey = true;
+                    key.setLength(0);
+                }
+            }
+            case '{', '[' -> {
+                if (depth == 1 && awaitingValue) {
+                    startValue();
+                }
+                depth++;
+            }
+            case '}', ']' -> {
+                depth--;
+                if (depth == 1 && valueStart >= 0) {
+                    completeValue(position + 1);
+                } else if (depth == 0) {
+                    finished = true;
+                }
+            }
+            case ':' -> {
+                if (depth == 1 && currentKey != null) {
+                    awaitingValue = true;
+                }
+            }
+            default -> {
+                if (depth == 1 && awaitingValue && !Character.isWhitespace(c) && c != ',') {
+                    startValue();
+                    readingPrimitive = true;
+                }
+            }
+        }
+    }
+
+    private void scanStringChar(char c) {
+        if (unicodeDigitsLeft > 0) {
+            unicode.append(c);
+            if (--unicodeDigitsLeft == 0) {
+                try {
+                    appendDecoded((char) Integer.parseInt(unicode.toString(), 16));
+                } catch (NumberFormatException ignored) {
+                    // malformed escape, drop it
+                }
+                unicode.setLength(0);
+            }
+            return;
+        }
+
+        if (escaping) {
+            escaping = false;
+            switch (c) {
+                case 'n' -> appendDecoded('\n');
+                case 'r' -> appendDecoded('\r');
+                case 't' -> appendDecoded('\t');
+                case 'b' -> appendDecoded('\b');
+                case 'f' -> appendDecoded('\f');
+                case 'u' -> unicodeDigitsLeft = 4;
+                default -> appendDecoded(c);
+            }
+            return;
+        }
+
+        if (c == '\\') {
+            escaping = true;
+        } else if (c == '"') {
+            inString = false;
+            if (readingKey) {
+                readingKey = false;
+                currentKey = key.toString();
+            } else if (streamingString) {
+                streamingString = false;
+                flushDelta();
+                completeValue(position + 1);
+            }
+        } else {
+            appendDecoded(c);
+        }
+    }
+
+    private void appendDecoded(char c) {
+        if (readingKey) {
+            key.append(c);
+        } else if (streamingString) {
+            delta.append(c);
+        }
+    }
+
+    private void flushDelta() {
+        if (!delta.isEmpty() && currentKey != null) {
+            listener.onStringDelta(currentKey, delta.toString());
+        }
+        delta.setLength(0);
+    }
+
+    private void startValue() {
+        awaitingValue = false;
+        valueStart = position;
+    }
+
+    private void completeValue(int end) {
+        String name = currentKey;
+        String raw = buffer.substring(valueStart, end).trim();
+        currentKey = null;
+        valueStart = -1;
+        if (name != null) {
+            listener.onSection(name, raw);
+        }
+    }
+}
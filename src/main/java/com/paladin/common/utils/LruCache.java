@@ -0,0 +1,82 @@
+package com.paladin.common.utils;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Thread-safe LRU cache bounded by the total weight of its values
+ * rather than the number of entries, with optional expiry after write.
+ */
+public class LruCache<K, V> {
+
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long currentWeight;
+
+    public LruCache(long maxWeight, ToLongFunction<V> weigher) {
+        this(maxWeight, weigher, null);
+    }
+
+    public LruCache(long maxWeight, ToLongFunction<V> weigher, Duration ttl) {
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.ttlNanos = ttl == null ? 0 : ttl.toNanos();
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired()) {
+            invalidate(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    public synchronized void put(K key, V value) {
+        invalidate(key);
+
+        long weight = weigher.applyAsLong(value);
+        if (weight > maxWeight) {
+            return;
+        }
+
+        long expiresAt = ttlNanos > 0 ? System.nanoTime() + ttlNanos : 0;
+        entries.put(key, new Entry<>(value, weight, expiresAt));
+        currentWeight += weight;
+
+        Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+        while (currentWeight > maxWeight && eldest.hasNext()) {
+            currentWeight -= eldest.next().getValue().weight();
+            eldest.remove();
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        Entry<V> removed = entries.remove(key);
+        if (removed != null) {
+            currentWeight -= removed.weight();
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long weight() {
+        return currentWeight;
+    }
+
+    private record Entry<V>(V value, long weight, long expiresAt) {
+        boolean isExpired() {
+            return expiresAt != 0 && System.nanoTime() - expiresAt > 0;
+        }
+    }
+}
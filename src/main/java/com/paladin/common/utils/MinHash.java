@@ -0,0 +1,129 @@
+package com.paladin.common.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * MinHash signatures over word shingles, with LSH banding.
+ * The fraction of equal signature slots estimates the Jaccard similarity of two texts,
+ * and texts that are near-duplicates almost always share at least one band.
+ */
+public class MinHash {
+
+    public static final int NUM_HASHES = 32;
+    public static final int ROWS_PER_BAND = 4;
+    public static final int NUM_BANDS = NUM_HASHES / ROWS_PER_BAND;
+
+    private static final int SHINGLE_SIZE = 2;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Fixed seeds so signatures stay comparable across restarts and instances
+    private static final long[] SEEDS = new long[NUM_HASHES];
+
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            seed = mix(seed + i);
+            SEEDS[i] = seed;
+        }
+    }
+
+    public static int[] signature(String text) {
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+
+        for (String shingle : shingles(text)) {
+            long base = fnv1a64(shingle);
+            for (int i = 0; i < NUM_HASHES; i++) {
+                int hash = (int) (mix(base ^ SEEDS[i]) >>> 33);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * @return The estimated Jaccard similarity of the texts behind two signatures.
+     */
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / NUM_HASHES;
+    }
+
+    /**
+     * Hashes each band of {@code ROWS_PER_BAND} slots into one key. With 8 bands of 4 rows,
+     * texts with a Jaccard similarity of 0.8 share a band about 99% of the time, at 0.3 about 6%.
+     */
+    public static long[] bands(int[] signature) {
+        long[] bands = new long[NUM_BANDS];
+        for (int band = 0; band < NUM_BANDS; band++) {
+            long hash = band;
+            for (int row = 0; row < ROWS_PER_BAND; row++) {
+                hash = mix(hash * 31 + signature[band * ROWS_PER_BAND + row]);
+            }
+            bands[band] = hash;
+        }
+        return bands;
+    }
+
+    public static byte[] toBytes(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(signature.length * Integer.BYTES);
+        for (int value : signature) {
+            buffer.putInt(value);
+        }
+        return buffer.array();
+    }
+
+    public static int[] fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int[] signature = new int[bytes.length / Integer.BYTES];
+        for (int i = 0; i < signature.length; i++) {
+            signature[i] = buffer.getInt();
+        }
+        return signature;
+    }
+
+    private static Set<String> shingles(String text) {
+        String[] words = NON_WORD.split(JobDescriptionUtils.normalize(text));
+        Set<String> shingles = new HashSet<>();
+        if (words.length < SHINGLE_SIZE) {
+            for (String word : words) {
+                if (!word.isEmpty()) {
+                    shingles.add(word);
+                }
+            }
+            return shingles;
+        }
+        for (int i = 0; i + SHINGLE_SIZE <= words.length; i++) {
+            shingles.add(String.join(" ", Arrays.copyOfRange(words, i, i + SHINGLE_SIZE)));
+        }
+        return shingles;
+    }
+
+    private static long fnv1a64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,22 +1,170 @@
 package com.paladin.common.utils;
 
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
+/**
+ * Extracts text from PDFs without holding the file on the heap. The input is spooled to
+ * a temporary file and parsed with scratch-file-backed memory. Documents longer than
+ * one task's worth of pages are stripped in page ranges on a ForkJoin pool and
+ * reassembled in page order; every range opens its own PDDocument, as PDFBox
+ * documents are not thread-safe.
+ */
+@Slf4j
 @Service
-public class PDFTextExtractor {
+public class PDFTextExtractor implements TextExtractor {
+
+    private final ForkJoinPool pool;
+    private final int pagesPerTask;
+    private final long maxMainMemoryBytes;
+
+    public PDFTextExtractor(
+            @Value("${app.pdf.parallelism:2}") int parallelism,
+            @Value("${app.pdf.pages-per-task:4}") int pagesPerTask,
+            @Value("${app.pdf.max-main-memory:8MB}") DataSize maxMainMemory) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.pagesPerTask = Math.max(1, pagesPerTask);
+        this.maxMainMemoryBytes = maxMainMemory.toBytes();
+    }
+
+    private static final byte[] SIGNATURE = {'%', 'P', 'D', 'F'};
+
+    @Override
+    public String format() {
+        return "pdf";
+    }
+
+    @Override
+    public boolean supports(String contentType) {
+        return "application/pdf".equals(contentType);
+    }
+
+    @Override
+    public boolean matches(byte[] magic) {
+        return Arrays.equals(magic, 0, Math.min(magic.length, SIGNATURE.length), SIGNATURE, 0, SIGNATURE.length);
+    }
+
     public String getText(byte[] pdfBytes) {
-        try (InputStream inputStream = new ByteArrayInputStream(pdfBytes);
-             PDDocument document = PDDocument.load(inputStream)) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            return stripper.getText(document);
+        return getText(new ByteArrayInputStream(pdfBytes));
+    }
+
+    /**
+     * Reads the whole stream, e.g. an S3 object, and extracts its text. The stream is not closed.
+     */
+    @Override
+    public String getText(InputStream inputStream) {
+        return extract(inputStream).text();
+    }
+
+    @Override
+    public ExtractedText extract(InputStream inputStream) {
+        Path spool = null;
+        try {
+            spool = Files.createTempFile("pdf-extract-", ".pdf");
+            Files.copy(inputStream, spool, StandardCopyOption.REPLACE_EXISTING);
+            return extract(spool.toFile());
+        } catch (IOException | UncheckedIOException e) {
+            throw new RuntimeException("Failed to extract text from PDF", e);
+        } finally {
+            deleteQuietly(spool);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private ExtractedText extract(File file) throws IOException {
+        long start = System.nanoTime();
+        int pages;
+        try (PDDocument document = load(file)) {
+            pages = document.getNumberOfPages();
+            if (pages <= pagesPerTask) {
+                return new ExtractedText(stripper().getText(document), pages);
+            }
+        }
+
+        String text = pool.invoke(new PageRangeTask(file, 1, pages));
+        log.debug("Extracted {} pages in parallel in {} ms", pages, (System.nanoTime() - start) / 1_000_000);
+        return new ExtractedText(text, pages);
+    }
+
+    // Pages end in a form feed, so page headers and footers can be told from body text
+    private static PDFTextStripper stripper() throws IOException {
+        PDFTextStripper stripper = new PDFTextStripper();
+        stripper.setPageEnd("\f");
+        return stripper;
+    }
+
+    private PDDocument load(File file) throws IOException {
+        return PDDocument.load(file, MemoryUsageSetting.setupMixed(maxMainMemoryBytes));
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
         } catch (IOException e) {
-            throw new RuntimeException("Failed to extract text from PDF bytes", e);
+            log.warn("Could not delete temporary file {}: {}", path, e.getMessage());
+        }
+    }
+
+    // Splits a 1-based, inclusive page range in halves until each fits in one task
+    private class PageRangeTask extends RecursiveTask<String> {
+
+        private final File file;
+        private final int firstPage;
+        private final int lastPage;
+
+        PageRangeTask(File file, int firstPage, int lastPage) {
+            this.file = file;
+            this.firstPage = firstPage;
+            this.lastPage = lastPage;
+        }
+
+        @Override
+        protected String compute() {
+            if (lastPage - firstPage + 1 <= pagesPerTask) {
+                return strip();
+            }
+            int middle = (firstPage + lastPage) >>> 1;
+            PageRangeTask left = new PageRangeTask(file, firstPage, middle);
+            PageRangeTask right = new PageRangeTask(file, middle + 1, lastPage);
+            left.fork();
+            String rightText = right.compute();
+            return left.join() + rightText;
+        }
+
+        private String strip() {
+            try (PDDocument document = load(file)) {
+                PDFTextStripper stripper = stripper();
+                stripper.setStartPage(firstPage);
+                stripper.setEndPage(lastPage);
+                return stripper.getText(document);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
         }
     }
 }
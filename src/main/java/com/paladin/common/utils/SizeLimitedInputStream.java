@@ -0,0 +1,82 @@
+package com.paladin.common.utils;
+
+import com.paladin.common.exceptions.InvalidFileException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Counts the bytes read through it and fails with an {@link InvalidFileException} as soon as
+ * more than the limit have been read, so an oversized upload is stopped mid-stream.
+ */
+public class SizeLimitedInputStream extends FilterInputStream {
+
+    private final long maxBytes;
+    private final String message;
+    private long count;
+
+    /**
+     * @param maxBytes The most bytes the stream may hold.
+     * @param message  The message of the exception thrown past the limit.
+     */
+    public SizeLimitedInputStream(InputStream in, long maxBytes, String message) {
+        super(in);
+        this.maxBytes = maxBytes;
+        this.message = message;
+    }
+
+    /**
+     * @return The bytes read so far.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            add(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = super.read(b, off, len);
+        if (read > 0) {
+            add(read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        add(skipped);
+        return skipped;
+    }
+
+    // Marking would let bytes be counted twice
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    private void add(long bytes) {
+        count += bytes;
+        if (count > maxBytes) {
+            throw new InvalidFileException(message);
+        }
+    }
+}
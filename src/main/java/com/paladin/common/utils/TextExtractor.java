@@ -0,0 +1,39 @@
+package com.paladin.common.utils;
+
+import java.io.InputStream;
+
+/**
+ * Extracts plain text from one document format. Implementations are Spring beans picked
+ * up by {@link DocumentTextExtractor}, which chooses one by content type.
+ */
+public interface TextExtractor {
+
+    /**
+     * @return A short name for logs and metrics, e.g. "pdf".
+     */
+    String format();
+
+    /**
+     * @param contentType The MIME type recorded for the file.
+     */
+    boolean supports(String contentType);
+
+    /**
+     * @param magic The first bytes of the file (fewer if the file is shorter).
+     * @return true if the bytes are this format's signature.
+     */
+    boolean matches(byte[] magic);
+
+    /**
+     * Extracts the text with bounded memory. Implementations may stop reading before the
+     * end of the stream, and must not close it.
+     */
+    String getText(InputStream inputStream);
+
+    /**
+     * Like {@link #getText(InputStream)}, with the page count for formats that record one.
+     */
+    default ExtractedText extract(InputStream inputStream) {
+        return new ExtractedText(getText(inputStream), null);
+    }
+}
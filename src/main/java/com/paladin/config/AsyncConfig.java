@@ -2,6 +2,8 @@ package com.paladin.config;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -9,6 +11,8 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.lang.reflect.Method;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Slf4j
 @Configuration
@@ -44,6 +48,104 @@ public class AsyncConfig implements AsyncConfigurer {
         return executor;
     }
 
+    /**
+     * Dedicated pool for queued AI analysis jobs, kept apart from the
+     * general async pool so long LLM calls cannot starve email sending.
+     * The worker only claims as many jobs as there are free threads.
+     */
+    @Bean(name = "analysisJobExecutor")
+    public ThreadPoolTaskExecutor analysisJobExecutor(
+            @Value("${app.analysis-jobs.workers:3}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers);
+        executor.setThreadNamePrefix("analysis-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+
+        log.info("Analysis job executor initialized with {} workers", workers);
+        return executor;
+    }
+
+    /**
+     * Shared pool for batch analyses. Its size caps how many model calls all
+     * batches together make at once; items beyond that wait in the queue, and
+     * items beyond the queue are reported back as failed.
+     */
+    @Bean(name = "analysisBatchExecutor")
+    public ThreadPoolTaskExecutor analysisBatchExecutor(
+            @Value("${app.analysis-batch.parallelism:4}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("analysis-batch-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+
+        log.info("Analysis batch executor initialized with parallelism={}", parallelism);
+        return executor;
+    }
+
+    /**
+     * Single thread for replaying deferred analyses, so a recovering AI service
+     * sees the backlog one call at a time next to live traffic.
+     */
+    @Bean(name = "deferredAnalysisExecutor")
+    public ThreadPoolTaskExecutor deferredAnalysisExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("deferred-analysis-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Small pool that extracts CV text after upload. Uploads beyond the queue are
+     * skipped; their text is then extracted on first analysis instead.
+     */
+    @Bean(name = "cvExtractionExecutor")
+    public ThreadPoolTaskExecutor cvExtractionExecutor(
+            @Value("${app.cv-extraction.workers:2}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("cv-extraction-");
+        executor.setRejectedExecutionHandler((task, pool) ->
+                log.warn("CV extraction queue is full, leaving extraction to first analysis"));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Virtual threads for the per-section model calls of a fan-out analysis. The calls spend
+     * nearly all their time waiting on the network; the shared rate limiter, not this executor,
+     * bounds how many run at once.
+     */
+    @Bean(name = "analysisSectionExecutor", destroyMethod = "close")
+    public ExecutorService analysisSectionExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("analysis-section-", 0).factory());
+    }
+
+    /**
+     * Virtual threads that run blocking Anthropic calls for {@code AIGateway}, so its time limiter
+     * can stop waiting on a slow call and hand the request thread back.
+     */
+    @Bean(name = "aiCallExecutor", destroyMethod = "close")
+    public ExecutorService aiCallExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ai-call-", 0).factory());
+    }
+
     /**
      * Global exception handler for uncaught exceptions in async methods.
      * Logs errors that would otherwise be swallowed.
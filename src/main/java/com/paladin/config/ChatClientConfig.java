@@ -1,15 +1,79 @@
 package com.paladin.config;
 
+import com.paladin.common.utils.AdaptiveConcurrencyLimiter;
+import com.paladin.common.utils.AnthropicPromptCachingModule;
+import com.paladin.common.utils.ConcurrencyLimitedChatModel;
+import com.paladin.jobApplication.service.AIMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.anthropic.AnthropicChatModel;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
+@Slf4j
 @Configuration
 public class ChatClientConfig {
 
+    /**
+     * Adaptive limit on concurrent calls to the Anthropic API. It backs off when the
+     * provider throttles us or slows down, instead of letting retries pile more load on.
+     */
+    @Bean
+    public AdaptiveConcurrencyLimiter anthropicConcurrencyLimiter(
+            @Value("${app.ai.concurrency.initial-limit:8}") int initialLimit,
+            @Value("${app.ai.concurrency.min-limit:1}") int minLimit,
+            @Value("${app.ai.concurrency.max-limit:32}") int maxLimit,
+            @Value("${app.ai.concurrency.max-queue:100}") int maxQueue,
+            @Value("${app.ai.concurrency.queue-timeout:30s}") Duration queueTimeout,
+            @Value("${app.ai.concurrency.decrease-cooldown:2s}") Duration decreaseCooldown,
+            MeterRegistry meterRegistry) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                initialLimit, minLimit, maxLimit, maxQueue, queueTimeout, decreaseCooldown);
+
+        Gauge.builder("paladin.ai.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Calls to the Anthropic API currently allowed in flight")
+                .register(meterRegistry);
+        Gauge.builder("paladin.ai.concurrency.in_flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .register(meterRegistry);
+        Gauge.builder("paladin.ai.concurrency.waiting", limiter, AdaptiveConcurrencyLimiter::getWaiting)
+                .register(meterRegistry);
+        FunctionCounter.builder("paladin.ai.concurrency.rejected", limiter,
+                        AdaptiveConcurrencyLimiter::getRejectedCount)
+                .register(meterRegistry);
+
+        log.info("Anthropic concurrency limiter configured: initial={}, min={}, max={}, maxQueue={}, queueTimeout={}",
+                initialLimit, minLimit, maxLimit, maxQueue, queueTimeout);
+        return limiter;
+    }
+
+    /**
+     * Sends the system prompt, which holds the instructions and CV, as a cached prefix so repeat
+     * analyses of one profile read it from Anthropic's prompt cache, and counts cache reads and writes.
+     * Spring Boot registers the module with the application ObjectMapper; streamed events are read
+     * with Spring AI's own mapper, so it is registered there as well.
+     */
+    @Bean
+    public AnthropicPromptCachingModule anthropicPromptCachingModule(
+            @Value("${app.ai.prompt-cache.enabled:true}") boolean enabled,
+            ObjectProvider<AIMetrics> aiMetrics) {
+        AnthropicPromptCachingModule module = new AnthropicPromptCachingModule(enabled,
+                (model, readTokens, writeTokens) -> aiMetrics.getObject()
+                        .recordCacheTokens(model, readTokens, writeTokens));
+        ModelOptionsUtils.OBJECT_MAPPER.registerModule(module);
+        log.info("Anthropic prompt caching {}", enabled ? "enabled" : "disabled");
+        return module;
+    }
+
     @Bean
-    public ChatClient chatClient(AnthropicChatModel anthropicChatModel) {
-        return ChatClient.builder(anthropicChatModel).build();
+    public ChatClient chatClient(AnthropicChatModel anthropicChatModel, AdaptiveConcurrencyLimiter limiter) {
+        return ChatClient.builder(new ConcurrencyLimitedChatModel(anthropicChatModel, limiter)).build();
     }
-}
\ No newline at end of file
+}
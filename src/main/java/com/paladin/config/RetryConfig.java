@@ -1,18 +1,12 @@
 package com.paladin.config;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.classify.Classifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.retry.RetryPolicy;
 import org.springframework.retry.annotation.EnableRetry;
-import org.springframework.retry.backoff.ExponentialBackOffPolicy;
-import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.policy.NeverRetryPolicy;
 import org.springframework.retry.support.RetryTemplate;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Configuration for retry logic across the application.
  * Enables @Retryable and @Recover annotations.
@@ -23,29 +17,16 @@ import java.util.Map;
 public class RetryConfig {
 
     /**
-     * RetryTemplate bean for programmatic retry logic.
-     * Used when declarative @Retryable isn't suitable.
+     * RetryTemplate bean picked up by Spring AI for its model calls. Each model call is a
+     * single attempt: AIGateway retries with jitter and routes every attempt again, so
+     * retrying here as well would multiply the attempts behind one request.
      */
     @Bean
     public RetryTemplate retryTemplate() {
         RetryTemplate retryTemplate = new RetryTemplate();
+        retryTemplate.setRetryPolicy(new NeverRetryPolicy());
 
-        // Configure exponential backoff
-        ExponentialBackOffPolicy backOffPolicy = new ExponentialBackOffPolicy();
-        backOffPolicy.setInitialInterval(1000);
-        backOffPolicy.setMultiplier(2.0);
-        backOffPolicy.setMaxInterval(10000);
-
-        // Configure retry policy
-        Map<Class<? extends Throwable>, Boolean> retryableExceptions = new HashMap<>();
-        retryableExceptions.put(RuntimeException.class, true);
-
-        SimpleRetryPolicy retryPolicy = new SimpleRetryPolicy(3, retryableExceptions);
-
-        retryTemplate.setRetryPolicy(retryPolicy);
-        retryTemplate.setBackOffPolicy(backOffPolicy);
-
-        log.info("RetryTemplate configured with exponential backoff (1s initial, 2x multiplier, 10s max)");
+        log.info("RetryTemplate configured without retries; AI calls are retried by AIGateway");
         return retryTemplate;
     }
-}
\ No newline at end of file
+}
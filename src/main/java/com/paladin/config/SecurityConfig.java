@@ -3,6 +3,7 @@ package com.paladin.config;
 import com.paladin.auth.OAuth2AuthenticationSuccessHandler;
 import com.paladin.auth.filter.JwtAuthenticationFilter;
 import com.paladin.user.service.CustomOAuth2UserService;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -71,6 +72,8 @@ public class SecurityConfig {
                 })
                 .authorizeHttpRequests(auth ->
                         auth
+                                // async re-dispatches of already authorised requests (SSE streams)
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                                 .requestMatchers(
                                         "/oauth2/**",
@@ -1,5 +1,13 @@
 package com.paladin.coverLetter.service;
 
+import java.util.Map;
+
 public interface CoverletterService {
     public String generate(String category, String candidateName, String companyName, String position);
+
+    /**
+     * Fills a random template of the category. Keys are placeholder names such as "company" or
+     * "topSkills"; placeholders without a value are left for the user to fill in.
+     */
+    public String generate(String category, Map<String, String> values);
 }
@@ -6,6 +6,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -23,6 +24,14 @@ public class CoverLetterServiceImpl implements CoverletterService {
     );
 
     public String generate(String category, String candidateName,  String companyName,  String position) {
+        Map<String, String> values = new HashMap<>();
+        values.put("candidateName", candidateName);
+        values.put("company", companyName);
+        values.put("position", position);
+        return generate(category, values);
+    }
+
+    public String generate(String category, Map<String, String> values) {
         String mappedCategory = COVER_LETTER_TONES.get(category);
 
         if (!COVER_LETTER_TONES.containsKey(category)) {
@@ -30,14 +39,14 @@ public class CoverLetterServiceImpl implements CoverletterService {
         }
         String template = coverletterTemplates.getRandomTemplate(mappedCategory);
 
-        if (candidateName != null) {
-            template = template.replace("[candidateName]", candidateName);
-        }
-        if (companyName != null) {
-            template = template.replace("[company]", companyName);
-        }
-        if (position != null) {
-            template = template.replace("[position]", position);
+        for (Map.Entry<String, String> value : values.entrySet()) {
+            if (value.getValue() == null) {
+                continue;
+            }
+            String key = value.getKey();
+            // Some templates capitalise the placeholder at the start of a sentence
+            template = template.replace("[" + key + "]", value.getValue())
+                    .replace("[" + Character.toUpperCase(key.charAt(0)) + key.substring(1) + "]", value.getValue());
         }
 
         return template;
@@ -40,6 +40,13 @@ public class CV {
     @Column(nullable = false)
     private LocalDateTime uploadedAt = LocalDateTime.now();
 
+    @Column(length = 64)
+    private String contentHash;
+
+    // Failed background re-extractions of the current file
+    @Column(nullable = false)
+    private int extractionFailures;
+
     @PreRemove
     public void preRemove() {
         try {
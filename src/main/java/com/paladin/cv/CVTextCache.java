@@ -0,0 +1,40 @@
+package com.paladin.cv;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Entity
+@Table(name = "cv_text_cache")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CVTextCache {
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "extracted_text", columnDefinition = "TEXT", nullable = false)
+    private String extractedText;
+
+    @Column(name = "page_count")
+    private Integer pageCount;
+
+    @Column(name = "skills", columnDefinition = "text[]")
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private List<String> skills;
+
+    @Column(name = "extraction_version", nullable = false)
+    private int extractionVersion;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
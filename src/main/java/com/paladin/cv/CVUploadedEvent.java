@@ -0,0 +1,11 @@
+package com.paladin.cv;
+
+import java.util.UUID;
+
+/**
+ * Published when a CV file is uploaded or replaced. Listeners run after the upload commits.
+ *
+ * @param cvId The ID of the CV.
+ */
+public record CVUploadedEvent(UUID cvId) {
+}
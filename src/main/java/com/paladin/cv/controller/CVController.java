@@ -1,6 +1,7 @@
 package com.paladin.cv.controller;
 
 import com.paladin.common.exceptions.NotFoundException;
+import com.paladin.cv.CV;
 import com.paladin.cv.service.impl.CVServiceImpl;
 import com.paladin.common.dto.CVDTO;
 import com.paladin.common.dto.UserDTO;
@@ -9,18 +10,26 @@ import com.paladin.user.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -58,6 +67,40 @@ public class CVController {
                 cvdto);
     }
 
+    @Operation(
+            summary = "Upload a CV as a raw stream",
+            description = "Uploads a CV sent as the request body, with its " +
+                    "type in Content-Type and its size in Content-Length. The " +
+                    "file is streamed to S3 as it arrives, without a multipart " +
+                    "body to buffer or spool",
+            responses = {
+                    @ApiResponse(responseCode = "200",
+                            description = "Upload successful"),
+                    @ApiResponse(responseCode = "400",
+                            description = "Invalid input")
+            }
+    )
+    @PostMapping("/upload/stream")
+    public ResponseEntity<Object> uploadCVStream(
+            @RequestParam("profileId") UUID profileId,
+            @RequestParam("fileName") String fileName,
+            HttpServletRequest request,
+            Principal principal
+    ) throws IOException {
+        UUID userId = getUserIdFromPrincipal(principal);
+        CVDTO cvdto = cvServiceImpl.uploadCV(
+                request.getInputStream(),
+                request.getContentLengthLong(),
+                fileName,
+                mimeType(request.getContentType()),
+                profileId,
+                userId);
+        return ResponseHandler.responseBuilder(
+                "CV successfully updated",
+                HttpStatus.OK,
+                cvdto);
+    }
+
     @Operation(
             summary = "Fetch a CV by its id",
             description = "Fetch a CV file from S3 by its id and returns its",
@@ -99,25 +142,116 @@ public class CVController {
                 cvdto);
     }
 
+    @Operation(
+            summary = "Download a CV",
+            description = "Streams a CV file from S3. Supports single byte " +
+                    "ranges for PDF viewers and If-None-Match revalidation",
+            responses = {
+                    @ApiResponse(responseCode = "200",
+                            description = "The whole file"),
+                    @ApiResponse(responseCode = "206",
+                            description = "The requested byte range"),
+                    @ApiResponse(responseCode = "304",
+                            description = "The cached copy is current"),
+                    @ApiResponse(responseCode = "416",
+                            description = "The range is outside the file")
+            }
+    )
     @GetMapping("/{cvId}/download")
     public void downloadCV(@PathVariable UUID cvId,
+                           HttpServletRequest request,
                            HttpServletResponse response,
                            Principal principal)
             throws IOException {
         UUID userId =
                 getUserIdFromPrincipal(principal);
-        byte[] cvData = cvServiceImpl.downloadCV(cvId, userId);
-        CVDTO cvDTO = cvServiceImpl.getCVById(cvId, userId);
-
-        response.setContentType(cvDTO.getContentType());
-        response.setContentLength(cvData.length);
-        response.setHeader("Content-Disposition",
-                "attachment; filename=\"" + cvDTO.getFileName() + "\"");
-
-        ServletOutputStream outputStream = response.getOutputStream();
-        outputStream.write(cvData);
-        outputStream.flush();
-        outputStream.close();
+        CV cv = cvServiceImpl.getOwnedCV(cvId, userId);
+
+        // The content hash changes with every new upload, so it is a strong ETag
+        String eTag = cv.getContentHash() == null
+                ? null
+                : "\"" + cv.getContentHash() + "\"";
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (eTag != null && new ServletWebRequest(request, response)
+                .checkNotModified(eTag)) {
+            return;
+        }
+
+        long length = cv.getSize();
+        long start = 0;
+        long end = length - 1;
+        HttpRange range = requestedRange(request, eTag);
+        if (range != null) {
+            try {
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE,
+                        "bytes */" + length);
+                response.sendError(
+                        HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE,
+                    "bytes " + start + "-" + end + "/" + length);
+        }
+
+        response.setContentType(cv.getContentType());
+        response.setContentLengthLong(end - start + 1);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment()
+                        .filename(cv.getFileName(), StandardCharsets.UTF_8)
+                        .build()
+                        .toString());
+        if (length == 0) {
+            return;
+        }
+
+        // Piped through a fixed-size buffer, so a download never holds the file in memory
+        ResponseInputStream<GetObjectResponse> content =
+                cvServiceImpl.openCVRange(cv, start, end);
+        try {
+            content.transferTo(response.getOutputStream());
+        } catch (IOException e) {
+            // the client went away; drop the S3 connection instead of draining it
+            content.abort();
+            throw e;
+        } finally {
+            content.close();
+        }
+    }
+
+    /**
+     * The single byte range to serve, or null for the whole file. Several
+     * ranges, or a range for a file that changed since the client's copy
+     * (If-Range), get the whole file.
+     */
+    private HttpRange requestedRange(HttpServletRequest request, String eTag) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(eTag)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // The MIME type without parameters such as charset
+    private String mimeType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        int semicolon = contentType.indexOf(';');
+        return (semicolon < 0 ? contentType : contentType.substring(0, semicolon)).trim();
     }
 
     @PutMapping("/{cvId}")
@@ -2,10 +2,34 @@ package com.paladin.cv.repository;
 
 import com.paladin.cv.CV;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface CVRepository extends JpaRepository<CV, UUID> {
+
+    /**
+     * Finds a CV attached to one of the user's profiles, resolving
+     * ownership and metadata in one query.
+     */
+    @Query("SELECT c FROM Profile p JOIN p.cv c WHERE c.id = :cvId AND p.user.id = :userId")
+    Optional<CV> findOwnedById(@Param("cvId") UUID cvId,
+                               @Param("userId") UUID userId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE CV c SET c.contentHash = :contentHash WHERE c.id = :cvId")
+    int updateContentHash(@Param("cvId") UUID cvId,
+                          @Param("contentHash") String contentHash);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE CV c SET c.extractionFailures = c.extractionFailures + 1 WHERE c.id = :cvId")
+    int incrementExtractionFailures(@Param("cvId") UUID cvId);
 }
@@ -0,0 +1,38 @@
+package com.paladin.cv.repository;
+
+import com.paladin.cv.CVTextCache;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface CVTextCacheRepository extends JpaRepository<CVTextCache, String> {
+
+    // Remove extracted text no longer referenced by any stored CV
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM cv_text_cache c
+            WHERE NOT EXISTS (SELECT 1 FROM cv WHERE cv.content_hash = c.content_hash)
+            """, nativeQuery = true)
+    int deleteUnreferenced();
+
+    // CVs with no stored text, or text from an older extraction version, that have not failed too often
+    @Query(value = """
+            SELECT cv.id FROM cv
+            LEFT JOIN cv_text_cache c ON c.content_hash = cv.content_hash
+            WHERE (c.content_hash IS NULL OR c.extraction_version < :version)
+              AND cv.extraction_failures < :maxFailures
+            ORDER BY cv.extraction_failures, cv.uploaded_at DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<UUID> findCvIdsWithOutdatedText(@Param("version") int version,
+                                         @Param("maxFailures") int maxFailures,
+                                         @Param("limit") int limit);
+}
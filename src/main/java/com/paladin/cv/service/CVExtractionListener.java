@@ -0,0 +1,46 @@
+package com.paladin.cv.service;
+
+import com.paladin.common.enums.SearchDocumentType;
+import com.paladin.cv.CVUploadedEvent;
+import com.paladin.profile.repository.ProfileRepository;
+import com.paladin.search.SearchableContentChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Extracts the text of a new or replaced CV in the background once the upload has
+ * committed, so the first analysis reads stored text instead of downloading and parsing
+ * the file. A failure here only costs that first analysis the extraction.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CVExtractionListener {
+
+    private final CVTextCacheService cvTextCacheService;
+    private final ProfileRepository profileRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Async("cvExtractionExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCVUploaded(CVUploadedEvent event) {
+        try {
+            cvTextCacheService.precompute(event.cvId());
+        } catch (Exception e) {
+            log.warn("Could not extract CV {} after upload, it will be extracted on first analysis: {}",
+                    event.cvId(), e.getMessage());
+            return;
+        }
+
+        // The CV text is now searchable as part of its profiles
+        profileRepository.findAllByCvId(event.cvId()).orElse(List.of())
+                .forEach(profile -> eventPublisher.publishEvent(new SearchableContentChangedEvent(
+                        profile.getUser().getId(), SearchDocumentType.PROFILE, profile.getId())));
+    }
+}
@@ -4,6 +4,7 @@ import com.paladin.cv.CV;
 import com.paladin.common.dto.CVDTO;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.util.UUID;
 
 public interface CVService {
@@ -19,5 +20,7 @@ public interface CVService {
 
     public byte[] downloadCV(UUID cvId, UUID userId);
 
+    public InputStream openCV(UUID cvId, UUID userId);
+
     public void deleteCV(UUID cvId, UUID userId);
 }
@@ -0,0 +1,237 @@
+package com.paladin.cv.service;
+
+import com.paladin.common.dto.CVDTO;
+import com.paladin.common.utils.DocumentTextExtractor;
+import com.paladin.common.utils.ExtractedText;
+import com.paladin.common.utils.HashUtils;
+import com.paladin.common.utils.LruCache;
+import com.paladin.cv.CV;
+import com.paladin.cv.CVTextCache;
+import com.paladin.cv.repository.CVTextCacheRepository;
+import com.paladin.cv.service.impl.CVServiceImpl;
+import com.paladin.jobApplication.service.LocalMatchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestInputStream;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Content-addressed cache of extracted CV text.
+ * Lookups go memory (LRU bounded by characters) -> database -> S3 stream + text extractor,
+ * so repeat analyses of an unchanged CV skip both the download and the parse.
+ * New uploads are extracted in the background by {@link CVExtractionListener}, so even the
+ * first analysis usually finds the text ready.
+ */
+@Slf4j
+@Service
+public class CVTextCacheService {
+
+    /**
+     * Version of the extraction pipeline. Bump it when extraction or normalization changes;
+     * text stored by an older version is then extracted again.
+     */
+    public static final int EXTRACTION_VERSION = 3;
+
+    private final CVServiceImpl cvService;
+    private final DocumentTextExtractor documentTextExtractor;
+    private final CVTextCacheRepository cvTextCacheRepository;
+    private final LocalMatchService localMatchService;
+    private final ThreadPoolTaskExecutor cvExtractionExecutor;
+    private final LruCache<String, String> memoryCache;
+    private final int reextractBatchSize;
+    private final int maxExtractionFailures;
+
+    public CVTextCacheService(
+            CVServiceImpl cvService,
+            DocumentTextExtractor documentTextExtractor,
+            CVTextCacheRepository cvTextCacheRepository,
+            LocalMatchService localMatchService,
+            @Qualifier("cvExtractionExecutor") ThreadPoolTaskExecutor cvExtractionExecutor,
+            @Value("${app.cache.cv-text.max-chars:4000000}") long maxChars,
+            @Value("${app.cv-extraction.reextract-batch-size:100}") int reextractBatchSize,
+            @Value("${app.cv-extraction.max-failures:3}") int maxExtractionFailures) {
+        this.cvService = cvService;
+        this.documentTextExtractor = documentTextExtractor;
+        this.cvTextCacheRepository = cvTextCacheRepository;
+        this.localMatchService = localMatchService;
+        this.cvExtractionExecutor = cvExtractionExecutor;
+        this.memoryCache = new LruCache<>(maxChars, String::length);
+        this.reextractBatchSize = reextractBatchSize;
+        this.maxExtractionFailures = maxExtractionFailures;
+    }
+
+    /**
+     * Returns the extracted text of a CV, downloading and parsing it only on a cache miss.
+     * A missing or stale content hash on the given CV is corrected in place.
+     *
+     * @param cv     The CV to read.
+     * @param userId The ID of the user requesting the text.
+     * @return The extracted CV text.
+     */
+    public String getText(CVDTO cv, UUID userId) {
+        String contentHash = cv.getContentHash();
+        if (contentHash != null) {
+            String cached = lookup(contentHash);
+            if (cached != null) {
+                log.debug("CV text cache hit for CV {}", cv.getId());
+                return cached;
+            }
+        }
+
+        log.info("CV text cache miss, streaming CV from storage: {}", cv.getFileName());
+        CVTextCache entry = extractAndStore(cv.getId(), cv.getContentType(), cvService.openCV(cv.getId(), userId));
+
+        if (!entry.getContentHash().equals(contentHash)) {
+            cvService.recordContentHash(cv.getId(), entry.getContentHash());
+            cv.setContentHash(entry.getContentHash());
+        }
+        return entry.getExtractedText();
+    }
+
+    /**
+     * Returns text already extracted for the content hash, without downloading anything.
+     */
+    public Optional<String> findText(String contentHash) {
+        return contentHash == null ? Optional.empty() : Optional.ofNullable(lookup(contentHash));
+    }
+
+    /**
+     * Extracts and stores the text of a CV ahead of its first analysis, unless text from
+     * the current {@link #EXTRACTION_VERSION} is already stored.
+     *
+     * @param cvId The ID of the CV.
+     */
+    public void precompute(UUID cvId) {
+        CV cv = cvService.getCVByIdAsEntity(cvId);
+        if (cv.getContentHash() != null && lookup(cv.getContentHash()) != null) {
+            log.debug("Text of CV {} is already extracted", cvId);
+            return;
+        }
+
+        long start = System.nanoTime();
+        CVTextCache entry = extractAndStore(cvId, cv.getContentType(), cvService.openStoredCV(cv));
+        if (!entry.getContentHash().equals(cv.getContentHash())) {
+            cvService.recordContentHash(cvId, entry.getContentHash());
+        }
+        log.info("Extracted CV {} in {} ms: {} characters, {} pages, {} skills", cvId,
+                (System.nanoTime() - start) / 1_000_000, entry.getExtractedText().length(),
+                entry.getPageCount(), entry.getSkills().size());
+    }
+
+    /**
+     * Re-extracts CVs whose text is missing or was stored by an older extraction version,
+     * a batch at a time. The extractions run on the CV extraction pool, so the scheduler
+     * thread the job queue pollers share is free again at once. Failures are counted per CV;
+     * CVs that failed before go last, and are left alone past the failure limit.
+     */
+    @Scheduled(cron = "${app.cv-extraction.reextract-cron:0 0 4 * * *}")
+    public void reextractOutdated() {
+        List<UUID> cvIds = cvTextCacheRepository.findCvIdsWithOutdatedText(
+                EXTRACTION_VERSION, maxExtractionFailures, reextractBatchSize);
+        if (!cvIds.isEmpty()) {
+            log.info("Re-extracting {} CVs with outdated text", cvIds.size());
+        }
+        for (UUID cvId : cvIds) {
+            cvExtractionExecutor.execute(() -> reextract(cvId));
+        }
+    }
+
+    private void reextract(UUID cvId) {
+        try {
+            precompute(cvId);
+        } catch (Exception e) {
+            log.warn("Failed to re-extract CV {}: {}", cvId, e.getMessage());
+            try {
+                cvService.recordExtractionFailure(cvId);
+            } catch (Exception recordFailure) {
+                log.error("Could not record failed extraction of CV {}: {}", cvId, recordFailure.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Drops persisted text whose content no longer belongs to any CV.
+     */
+    @Scheduled(cron = "${app.cache.cv-text.cleanup-cron:0 30 3 * * *}")
+    public void purgeUnreferenced() {
+        int deleted = cvTextCacheRepository.deleteUnreferenced();
+        if (deleted > 0) {
+            log.info("Purged {} unreferenced CV text cache entries", deleted);
+        }
+    }
+
+    // Hashes and extracts in one pass over the stored file
+    private CVTextCache extractAndStore(UUID cvId, String contentType, InputStream source) {
+        ExtractedText extracted;
+        String contentHash;
+        // Buffer above the digest, so the signature sniff's mark/reset never hashes a byte twice
+        try (DigestInputStream hashed = HashUtils.sha256Stream(source);
+             InputStream cvStream = new BufferedInputStream(hashed)) {
+            extracted = documentTextExtractor.extract(contentType, cvStream);
+            // Extractors may stop early; the hash needs every byte
+            cvStream.transferTo(OutputStream.nullOutputStream());
+            contentHash = HashUtils.hex(hashed);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read CV " + cvId, e);
+        }
+
+        String text = normalize(extracted.text());
+        CVTextCache entry = CVTextCache.builder()
+                .contentHash(contentHash)
+                .extractedText(text)
+                .pageCount(extracted.pageCount())
+                .skills(List.copyOf(localMatchService.detectSkills(text)))
+                .extractionVersion(EXTRACTION_VERSION)
+                .createdAt(LocalDateTime.now())
+                .build();
+        store(entry);
+        return entry;
+    }
+
+    // NFKC also folds the ligatures PDFs emit ("ﬁ" -> "fi"), so skills like "Profiling" match
+    private static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFKC)
+                .replace("\r\n", "\n")
+                .replace('\r', '\n');
+    }
+
+    private String lookup(String contentHash) {
+        String text = memoryCache.get(contentHash);
+        if (text != null) {
+            return text;
+        }
+
+        return cvTextCacheRepository.findById(contentHash)
+                .filter(entry -> entry.getExtractionVersion() >= EXTRACTION_VERSION)
+                .map(entry -> {
+                    memoryCache.put(contentHash, entry.getExtractedText());
+                    return entry.getExtractedText();
+                })
+                .orElse(null);
+    }
+
+    // Replaces text from an older extraction version in place
+    private void store(CVTextCache entry) {
+        memoryCache.put(entry.getContentHash(), entry.getExtractedText());
+        try {
+            cvTextCacheRepository.save(entry);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("CV text for {} already persisted by a concurrent request", entry.getContentHash());
+        }
+    }
+}
@@ -1,23 +1,36 @@
 package com.paladin.cv.service.impl;
 
 import com.paladin.cv.CV;
+import com.paladin.cv.CVUploadedEvent;
 import com.paladin.cv.repository.CVRepository;
 import com.paladin.cv.service.CVService;
 import com.paladin.common.dto.CVDTO;
+import com.paladin.common.enums.SearchDocumentType;
 import com.paladin.common.exceptions.CVNotFoundException;
 import com.paladin.common.exceptions.InvalidFileException;
 import com.paladin.common.exceptions.ProfileNotFoundException;
 import com.paladin.common.exceptions.UnauthorizedAccessException;
 import com.paladin.common.mappers.CVMapper;
+import com.paladin.common.utils.DocumentTextExtractor;
+import com.paladin.common.utils.HashUtils;
+import com.paladin.common.utils.SizeLimitedInputStream;
 import com.paladin.profile.Profile;
 import com.paladin.profile.repository.ProfileRepository;
 import com.paladin.s3_CV_Storage.S3CVStorageService;
+import com.paladin.search.SearchableContentChangedEvent;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -32,9 +45,12 @@ public class CVServiceImpl implements CVService {
     private final ProfileRepository profileRepository;
     private final CVMapper cVMapper;
     private final S3CVStorageService s3CVStorageService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DocumentTextExtractor documentTextExtractor;
 
     // 5MB limit for file/cv upload
     private static final long MAX_FILE_SIZE = 5 * 1024 * 1024;
+    private static final String FILE_TOO_LARGE = "File size exceeds maximum limit of 5MB";
 
     private static final Set<String> ALLOWED_FILE_TYPES = Set.of(
             "application/pdf",
@@ -48,7 +64,36 @@ public class CVServiceImpl implements CVService {
                           UUID profileId,
                           UUID userId) {
         validateFile(file);
-        log.info("Uploading file: {} with size: {} bytes", file.getOriginalFilename(), file.getSize());
+        try (InputStream content = file.getInputStream()) {
+            return uploadCV(content, file.getSize(), file.getOriginalFilename(),
+                    file.getContentType(), profileId, userId);
+        } catch (IOException e) {
+            throw new InvalidFileException("Failed to read uploaded file");
+        }
+    }
+
+    /**
+     * Uploads a CV straight from a stream. The content is read once: on its
+     * way to S3 it is size-checked, hashed and sniffed for its format, so
+     * the file is never buffered whole or written to disk.
+     *
+     * @param content     The file content; the caller closes it.
+     * @param size        The declared size of the file; uploads of unknown size are rejected.
+     * @param fileName    The original file name.
+     * @param contentType The declared MIME type of the file.
+     * @param profileId   The ID of the profile to attach the CV to.
+     * @param userId      The ID of the user.
+     * @return The uploaded CV.
+     */
+    @Transactional
+    public CVDTO uploadCV(InputStream content,
+                          long size,
+                          String fileName,
+                          String contentType,
+                          UUID profileId,
+                          UUID userId) {
+        validateFile(size, fileName, contentType);
+        log.info("Uploading file: {} with size: {} bytes", fileName, size);
 
         Profile profile = profileRepository.findById(profileId)
                 .orElseThrow(
@@ -59,6 +104,10 @@ public class CVServiceImpl implements CVService {
                     "authorized to upload CV to this profile.");
         }
 
+        // Store the new file first, so a rejected upload leaves the old CV in place
+        String s3Key = generateS3Key(fileName, UUID.randomUUID());
+        StoredFile stored = storeCV(content, size, contentType, s3Key);
+
         CV oldCV = profile.getCv();
         if (oldCV != null) {
             String oldKey = extractKeyFromUrl(oldCV.getUrl());
@@ -69,22 +118,19 @@ public class CVServiceImpl implements CVService {
                     oldCV.getId(), profile.getId());
         }
 
-        String fileName = file.getOriginalFilename();
-        String s3Key = generateS3Key(Objects.requireNonNull(fileName),
-                UUID.randomUUID());
-        String s3CVUrl = s3CVStorageService.uploadFile(file, s3Key);
-
         CV newCv = CV.builder()
-                .fileName(file.getOriginalFilename())
-                .url(s3CVUrl)
+                .fileName(fileName)
+                .url(stored.url())
                 .uploadedAt(LocalDateTime.now())
-                .size(file.getSize())
-                .contentType(file.getContentType())
+                .size(stored.size())
+                .contentType(contentType)
+                .contentHash(stored.contentHash())
                 .build();
 
         CV savedCv = cvRepository.save(newCv);
         profile.setCv(savedCv);
         profileRepository.save(profile);
+        eventPublisher.publishEvent(new CVUploadedEvent(savedCv.getId()));
 
         log.info("Uploaded new CV (ID: {}) for profile (ID: {})",
                 savedCv.getId(), profileId);
@@ -92,18 +138,7 @@ public class CVServiceImpl implements CVService {
     }
 
     public CVDTO getCVById(UUID cvId, UUID userId) {
-        CV cv = cvRepository.findById(cvId)
-                .orElseThrow(() -> new CVNotFoundException("CV not " +
-                        "found"));
-        Profile profile = profileRepository.findByCvId(cvId)
-                .orElseThrow(() -> new CVNotFoundException(
-                        "CV is not attached to any profile"));
-
-        if (!profile.getUser().getId().equals(userId)) {
-            throw new UnauthorizedAccessException(
-                    "You are not authorized to view this CV.");
-        }
-        return cVMapper.toDTO(cv);
+        return cVMapper.toDTO(getOwnedCV(cvId, userId));
     }
 
     public CVDTO getCVbyProfileId(UUID profileId, UUID userId) {
@@ -144,40 +179,110 @@ public class CVServiceImpl implements CVService {
                     "You are not authorized to update this CV.");
         }
 
+        String newKey = generateS3Key(file.getOriginalFilename(), cvId);
+        StoredFile stored;
+        try (InputStream content = file.getInputStream()) {
+            stored = storeCV(content, file.getSize(), file.getContentType(), newKey);
+        } catch (IOException e) {
+            throw new InvalidFileException("Failed to read uploaded file");
+        }
+
         String oldKey = extractKeyFromUrl(cv.getUrl());
         s3CVStorageService.deleteFile(oldKey);
 
-        String newKey = generateS3Key(
-                Objects.requireNonNull(file.getOriginalFilename()), cvId);
-        String newUrl = s3CVStorageService.uploadFile(file, newKey);
-
         // update CV entity
         cv.setFileName(file.getOriginalFilename());
-        cv.setUrl(newUrl);
-        cv.setSize(file.getSize());
+        cv.setUrl(stored.url());
+        cv.setSize(stored.size());
         cv.setContentType(file.getContentType());
+        cv.setContentHash(stored.contentHash());
+        cv.setExtractionFailures(0);
         cv.setUploadedAt(LocalDateTime.now());
 
         CV updatedCV = cvRepository.save(cv);
+        eventPublisher.publishEvent(new CVUploadedEvent(cvId));
         return cVMapper.toDTO(updatedCV);
     }
 
     public byte[] downloadCV(UUID cvId, UUID userId) {
-        CV cv = cvRepository.findById(cvId)
-                .orElseThrow(() -> new CVNotFoundException("CV not " +
-                        "found"));
-        Profile profile = profileRepository.findByCvId(cvId)
-                .orElseThrow(() -> new CVNotFoundException("CV is not " +
-                        "associated with any profile."));
+        return s3CVStorageService.downloadFile(authorizedKey(cvId, userId));
+    }
 
+    /**
+     * Opens a CV for streaming straight from S3, without buffering the file.
+     *
+     * @param cvId   The ID of the CV.
+     * @param userId The ID of the user.
+     * @return The CV content; the caller must close it.
+     */
+    public InputStream openCV(UUID cvId, UUID userId) {
+        return s3CVStorageService.openFile(authorizedKey(cvId, userId));
+    }
 
-        if (!profile.getUser().getId().equals(userId)) {
+    /**
+     * Fetches a CV the user owns, checking ownership in the same query.
+     *
+     * @param cvId   The ID of the CV.
+     * @param userId The ID of the user.
+     * @return The CV.
+     */
+    public CV getOwnedCV(UUID cvId, UUID userId) {
+        Optional<CV> cv = cvRepository.findOwnedById(cvId, userId);
+        if (cv.isPresent()) {
+            return cv.get();
+        }
+        // Only failed lookups pay for telling the two apart
+        if (profileRepository.findByCvId(cvId).isPresent()) {
             throw new UnauthorizedAccessException(
                     "You are not authorized to view this CV.");
         }
+        throw new CVNotFoundException("CV not found");
+    }
 
-        String key = extractKeyFromUrl(cv.getUrl());
-        return s3CVStorageService.downloadFile(key);
+    /**
+     * Opens the bytes {@code start} to {@code end} (inclusive) of a CV
+     * returned by {@link #getOwnedCV}, streaming them straight from S3.
+     *
+     * @return The content; the caller must close it, or abort it if it
+     * stops reading early.
+     */
+    public ResponseInputStream<GetObjectResponse> openCVRange(CV cv, long start, long end) {
+        return s3CVStorageService.openFile(extractKeyFromUrl(cv.getUrl()),
+                "bytes=" + start + "-" + end);
+    }
+
+    /**
+     * Opens a stored CV for background processing. Performs no authorization check,
+     * so it must only be used for CVs the system is already working on.
+     *
+     * @param cv The CV.
+     * @return The CV content; the caller must close it.
+     */
+    public InputStream openStoredCV(CV cv) {
+        return s3CVStorageService.openFile(extractKeyFromUrl(cv.getUrl()));
+    }
+
+    private String authorizedKey(UUID cvId, UUID userId) {
+        return extractKeyFromUrl(getOwnedCV(cvId, userId).getUrl());
+    }
+
+    /**
+     * Records the content hash of a CV uploaded before hashes were stored.
+     *
+     * @param cvId        The ID of the CV.
+     * @param contentHash The SHA-256 of the stored CV bytes.
+     */
+    public void recordContentHash(UUID cvId, String contentHash) {
+        cvRepository.updateContentHash(cvId, contentHash);
+    }
+
+    /**
+     * Counts a failed background extraction of a CV.
+     *
+     * @param cvId The ID of the CV.
+     */
+    public void recordExtractionFailure(UUID cvId) {
+        cvRepository.incrementExtractionFailures(cvId);
     }
 
     public void deleteCV(UUID cvId, UUID userId) {
@@ -195,6 +300,8 @@ public class CVServiceImpl implements CVService {
                 authorized = true;
                 profile.setCv(null);
                 profileRepository.save(profile);
+                eventPublisher.publishEvent(new SearchableContentChangedEvent(
+                        userId, SearchDocumentType.PROFILE, profile.getId()));
                 log.info("Detached CV (ID: {}) from profile (ID: {})",
                         cvId, profile.getId());
             }
@@ -219,16 +326,52 @@ public class CVServiceImpl implements CVService {
         if (file.isEmpty()) {
             throw new InvalidFileException("File is empty");
         }
+        validateFile(file.getSize(), file.getOriginalFilename(), file.getContentType());
+    }
+
+    // Checks what the client declared; storeCV checks the content itself
+    private void validateFile(long size, String fileName, String contentType) {
+        // S3 takes the file in one request only if its length is known up front
+        if (size < 0) {
+            throw new InvalidFileException("File size is required; send the upload with a Content-Length header");
+        }
+
+        if (size == 0) {
+            throw new InvalidFileException("File is empty");
+        }
 
-        if (!ALLOWED_FILE_TYPES.contains(file.getContentType())) {
+        if (!ALLOWED_FILE_TYPES.contains(contentType)) {
             throw new InvalidFileException("File type not supported. " +
                     "Only PDF and Word documents are supported");
         }
 
-        if (file.getSize() > MAX_FILE_SIZE) {
-            throw new InvalidFileException("File size exceeds maximum " +
-                    "limit of 5MB");
+        if (size > MAX_FILE_SIZE) {
+            throw new InvalidFileException(FILE_TOO_LARGE);
         }
+
+        if (fileName == null || fileName.lastIndexOf('.') < 0) {
+            throw new InvalidFileException("File name must have an extension");
+        }
+    }
+
+    /**
+     * Sends a file to S3 in a single pass: the bytes are counted against
+     * the size limit and hashed as S3 reads them, and the format signature
+     * is checked from the first buffered bytes before anything is sent.
+     */
+    private StoredFile storeCV(InputStream content, long size,
+                               String contentType, String key) {
+        SizeLimitedInputStream limited = new SizeLimitedInputStream(
+                content, MAX_FILE_SIZE, FILE_TOO_LARGE);
+        DigestInputStream hashed = HashUtils.sha256Stream(limited);
+        BufferedInputStream buffered = new BufferedInputStream(hashed);
+        documentTextExtractor.checkSignature(contentType, buffered);
+
+        String url = s3CVStorageService.uploadStream(buffered, size, contentType, key);
+        return new StoredFile(url, limited.getCount(), HashUtils.hex(hashed));
+    }
+
+    private record StoredFile(String url, long size, String contentHash) {
     }
 
     private String generateS3Key(
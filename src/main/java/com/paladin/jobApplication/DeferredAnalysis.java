@@ -0,0 +1,60 @@
+package com.paladin.jobApplication;
+
+import com.paladin.common.enums.DeferredAnalysisStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "deferred_analysis")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeferredAnalysis {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "profile_id", nullable = false)
+    private UUID profileId;
+
+    @Column(name = "job_description", columnDefinition = "TEXT", nullable = false)
+    private String jobDescription;
+
+    @Column(name = "job_description_hash", length = 64, nullable = false)
+    private String jobDescriptionHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private DeferredAnalysisStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "failure_reason", columnDefinition = "TEXT")
+    private String failureReason;
+
+    @Column(name = "result_json", columnDefinition = "TEXT")
+    private String resultJson;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "leased_until")
+    private Instant leasedUntil;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+}
@@ -31,6 +31,9 @@ public class JobApplication {
     @Column(nullable = false)
     private LocalDateTime sentAt;
 
+    @Column(columnDefinition = "TEXT")
+    private String jobDescription;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "profile_id", nullable = false)
     private Profile profile;
@@ -0,0 +1,53 @@
+package com.paladin.jobApplication;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Entity
+@Table(name = "job_description_fingerprint")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobDescriptionFingerprint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false)
+    private byte[] signature;
+
+    @Column(name = "bands", columnDefinition = "bigint[]", nullable = false)
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private List<Long> bands;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "cv_hash", length = 64)
+    private String cvHash;
+
+    @Column(name = "profile_title")
+    private String profileTitle;
+
+    @Column(name = "job_description", columnDefinition = "TEXT")
+    private String jobDescription;
+
+    @Column(name = "job_details_json", columnDefinition = "TEXT")
+    private String jobDetailsJson;
+
+    @Column(name = "response_json", columnDefinition = "TEXT", nullable = false)
+    private String responseJson;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -3,16 +3,22 @@ package com.paladin.jobApplication.controller;
 import com.paladin.common.dto.*;
 import com.paladin.common.enums.ApplicationStatus;
 import com.paladin.common.exceptions.NotFoundException;
+import com.paladin.jobApplication.service.AnalysisBatchService;
+import com.paladin.jobApplication.service.AnalysisJobService;
+import com.paladin.jobApplication.service.DeferredAnalysisService;
 import com.paladin.jobApplication.service.impl.AIJobAnalysisServiceImpl;
 import com.paladin.jobApplication.service.impl.JobApplicationServiceImpl;
 import com.paladin.common.response.ResponseHandler;
 import com.paladin.user.service.UserService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.security.Principal;
 import java.util.List;
@@ -26,6 +32,9 @@ public class JobApplicationController {
     private final JobApplicationServiceImpl jobApplicationServiceImpl;
     private final UserService userService;
     private final AIJobAnalysisServiceImpl aiJobAnalysisService;
+    private final AnalysisJobService analysisJobService;
+    private final AnalysisBatchService analysisBatchService;
+    private final DeferredAnalysisService deferredAnalysisService;
 
 
     @PostMapping("/send")
@@ -71,6 +80,84 @@ public class JobApplicationController {
                 response);
     }
 
+    @PostMapping(value = "/analyze-application/stream",
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter analyzeSmartApplicationStream(
+            @RequestBody SmartAnalysisRequest request,
+            Principal principal
+    ) {
+        UUID userId = getUserIdFromPrincipal(principal);
+
+        return aiJobAnalysisService.streamJobApplicationAnalysis(request, userId);
+    }
+
+    @PostMapping("/analyze-application/pre-score")
+    public ResponseEntity<Object> preScoreApplication(
+            @RequestBody SmartAnalysisRequest request,
+            Principal principal
+    ) {
+        UUID userId = getUserIdFromPrincipal(principal);
+
+        JobMatchAnalysisDTO preScore = aiJobAnalysisService.preScoreJobApplication(request, userId);
+        return ResponseHandler.responseBuilder(
+                "Job application successfully pre-scored",
+                HttpStatus.OK,
+                preScore);
+    }
+
+    @PostMapping(value = "/analyze-application/batch",
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter analyzeApplicationBatch(
+            @Valid @RequestBody BatchAnalysisRequest request,
+            Principal principal
+    ) {
+        UUID userId = getUserIdFromPrincipal(principal);
+
+        return analysisBatchService.analyseBatch(request, userId);
+    }
+
+    @PostMapping("/analysis-jobs")
+    public ResponseEntity<Object> submitAnalysisJob(
+            @RequestBody SmartAnalysisRequest request,
+            Principal principal
+    ) {
+        UUID userId = getUserIdFromPrincipal(principal);
+
+        AnalysisJobDTO job = analysisJobService.submit(request, userId);
+        return ResponseHandler.responseBuilder(
+                "Analysis job queued",
+                HttpStatus.ACCEPTED,
+                job);
+    }
+
+    @GetMapping("/analysis-jobs/{jobId}")
+    public ResponseEntity<Object> getAnalysisJob(
+            @PathVariable UUID jobId,
+            Principal principal
+    ) {
+        UUID userId = getUserIdFromPrincipal(principal);
+
+        AnalysisJobDTO job = analysisJobService.getJob(jobId, userId);
+        return ResponseHandler.responseBuilder(
+                "Analysis job successfully retrieved",
+                HttpStatus.OK,
+                job);
+    }
+
+    @GetMapping("/deferred-analyses/{id}")
+    public ResponseEntity<Object> getDeferredAnalysis(
+            @PathVariable UUID id,
+            Principal principal
+    ) {
+        UUID userId = getUserIdFromPrincipal(principal);
+
+        DeferredAnalysisDTO deferred = deferredAnalysisService.get(id, userId);
+        return ResponseHandler.responseBuilder(
+                "Deferred analysis successfully retrieved",
+                HttpStatus.OK,
+                deferred);
+    }
+
     @PatchMapping("/{applicationId}/status")
     public ResponseEntity<Object> updateApplicationStatus(
             @PathVariable UUID applicationId,
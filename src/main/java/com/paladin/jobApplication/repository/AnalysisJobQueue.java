@@ -0,0 +1,71 @@
+package com.paladin.jobApplication.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Postgres-backed queue operations for analysis jobs. Claiming uses
+ * FOR UPDATE SKIP LOCKED so several instances can poll the same table
+ * without handing the same job to two workers.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AnalysisJobQueue {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<UUID> claimPending(int limit) {
+        return jdbcTemplate.queryForList("""
+                        UPDATE analysis_job
+                        SET status = 'RUNNING', started_at = now(), attempts = attempts + 1
+                        WHERE id IN (
+                            SELECT id FROM analysis_job
+                            WHERE status = 'PENDING'
+                              AND (next_attempt_at IS NULL OR next_attempt_at <= now())
+                            ORDER BY created_at
+                            LIMIT ?
+                            FOR UPDATE SKIP LOCKED
+                        )
+                        RETURNING id
+                        """,
+                UUID.class,
+                limit);
+    }
+
+    /**
+     * Fails jobs whose worker died during their last allowed attempt. A job that keeps
+     * bringing its worker down (e.g. out of memory) would otherwise be requeued forever.
+     *
+     * @return The IDs of the jobs that were failed.
+     */
+    public List<UUID> failStale(Instant startedBefore, int maxAttempts, String errorMessage) {
+        return jdbcTemplate.queryForList("""
+                        UPDATE analysis_job
+                        SET status = 'FAILED', completed_at = now(), error_message = ?
+                        WHERE status = 'RUNNING' AND started_at < ? AND attempts >= ?
+                        RETURNING id
+                        """,
+                UUID.class,
+                errorMessage,
+                Timestamp.from(startedBefore),
+                maxAttempts);
+    }
+
+    /**
+     * Puts jobs whose worker died (e.g. on a restart) back in the queue.
+     */
+    public int requeueStale(Instant startedBefore) {
+        return jdbcTemplate.update("""
+                        UPDATE analysis_job
+                        SET status = 'PENDING', started_at = NULL
+                        WHERE status = 'RUNNING' AND started_at < ?
+                        """,
+                Timestamp.from(startedBefore));
+    }
+}
@@ -0,0 +1,30 @@
+package com.paladin.jobApplication.repository;
+
+import com.paladin.common.enums.AnalysisJobStatus;
+import com.paladin.jobApplication.AnalysisJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Repository
+public interface AnalysisJobRepository extends JpaRepository<AnalysisJob, UUID> {
+
+    // Number of jobs queued ahead of a pending job
+    long countByStatusAndCreatedAtBefore(AnalysisJobStatus status, Instant createdAt);
+
+    @Modifying
+    @Transactional
+    @Query("""
+            DELETE FROM AnalysisJob j
+            WHERE j.status IN (com.paladin.common.enums.AnalysisJobStatus.COMPLETED,
+                               com.paladin.common.enums.AnalysisJobStatus.FAILED)
+            AND j.completedAt < :before
+            """)
+    int deleteFinishedBefore(@Param("before") Instant before);
+}
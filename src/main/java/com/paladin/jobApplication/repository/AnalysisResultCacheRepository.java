@@ -0,0 +1,23 @@
+package com.paladin.jobApplication.repository;
+
+import com.paladin.jobApplication.AnalysisResultCache;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface AnalysisResultCacheRepository extends JpaRepository<AnalysisResultCache, String> {
+
+    Optional<AnalysisResultCache> findByCacheKeyAndExpiresAtAfter(String cacheKey, Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM AnalysisResultCache a WHERE a.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,79 @@
+package com.paladin.jobApplication.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Postgres-backed operations on the deferred analysis dead-letter queue. Due entries
+ * are leased with FOR UPDATE SKIP LOCKED so that several instances never replay the
+ * same one; a lease that is not resolved simply expires and the entry becomes due again.
+ * The lease is kept in leased_until, apart from the entry's next_attempt_at.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DeferredAnalysisQueue {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Parks a failed analysis unless the same one is already waiting.
+     *
+     * @return true if a new entry was created.
+     */
+    public boolean park(UUID userId, UUID profileId, String jobDescription, String jobDescriptionHash,
+                        String failureReason, Instant nextAttemptAt) {
+        return jdbcTemplate.update("""
+                        INSERT INTO deferred_analysis (id, user_id, profile_id, job_description, job_description_hash,
+                                                       status, attempts, failure_reason, created_at, next_attempt_at)
+                        VALUES (?, ?, ?, ?, ?, 'PENDING', 0, ?, now(), ?)
+                        ON CONFLICT (user_id, profile_id, job_description_hash) WHERE status = 'PENDING'
+                        DO NOTHING
+                        """,
+                UUID.randomUUID(),
+                userId,
+                profileId,
+                jobDescription,
+                jobDescriptionHash,
+                failureReason,
+                Timestamp.from(nextAttemptAt)) > 0;
+    }
+
+    public List<UUID> claimDue(int limit, Duration lease) {
+        return jdbcTemplate.queryForList("""
+                        UPDATE deferred_analysis
+                        SET attempts = attempts + 1, leased_until = now() + make_interval(secs => ?)
+                        WHERE id IN (
+                            SELECT id FROM deferred_analysis
+                            WHERE status = 'PENDING' AND next_attempt_at <= now()
+                              AND (leased_until IS NULL OR leased_until <= now())
+                            ORDER BY created_at
+                            LIMIT ?
+                            FOR UPDATE SKIP LOCKED
+                        )
+                        RETURNING id
+                        """,
+                UUID.class,
+                lease.toSeconds(),
+                limit);
+    }
+
+    /**
+     * Makes every waiting entry due now, e.g. once the AI service has recovered.
+     * Entries that are being replayed keep their lease.
+     */
+    public int makeAllDue() {
+        return jdbcTemplate.update("""
+                UPDATE deferred_analysis
+                SET next_attempt_at = now()
+                WHERE status = 'PENDING' AND next_attempt_at > now()
+                  AND (leased_until IS NULL OR leased_until <= now())
+                """);
+    }
+}
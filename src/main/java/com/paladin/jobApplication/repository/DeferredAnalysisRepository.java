@@ -0,0 +1,26 @@
+package com.paladin.jobApplication.repository;
+
+import com.paladin.jobApplication.DeferredAnalysis;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Repository
+public interface DeferredAnalysisRepository extends JpaRepository<DeferredAnalysis, UUID> {
+
+    @Modifying
+    @Transactional
+    @Query("""
+            DELETE FROM DeferredAnalysis d
+            WHERE d.status IN (com.paladin.common.enums.DeferredAnalysisStatus.COMPLETED,
+                               com.paladin.common.enums.DeferredAnalysisStatus.ABANDONED)
+            AND d.completedAt < :before
+            """)
+    int deleteFinishedBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,47 @@
+package com.paladin.jobApplication.repository;
+
+import com.paladin.jobApplication.JobDescriptionFingerprint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface JobDescriptionFingerprintRepository extends JpaRepository<JobDescriptionFingerprint, UUID> {
+
+    // Fingerprints sharing at least one band key (comma-separated), newest first
+    @Query(value = """
+            SELECT * FROM job_description_fingerprint
+            WHERE bands && CAST(string_to_array(:bands, ',') AS bigint[])
+            ORDER BY created_at DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<JobDescriptionFingerprint> findCandidates(
+            @Param("bands") String bands,
+            @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT * FROM job_description_fingerprint
+            WHERE user_id = :userId
+            AND bands && CAST(string_to_array(:bands, ',') AS bigint[])
+            ORDER BY created_at DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<JobDescriptionFingerprint> findCandidatesForUser(
+            @Param("userId") UUID userId,
+            @Param("bands") String bands,
+            @Param("limit") int limit);
+
+    List<JobDescriptionFingerprint> findByUserId(UUID userId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM JobDescriptionFingerprint f WHERE f.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,242 @@
+package com.paladin.jobApplication.service;
+
+import com.paladin.common.enums.UserTier;
+import com.paladin.common.exceptions.AICapacityExceededException;
+import com.paladin.common.utils.CacheablePrompt;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The one place that calls the Anthropic API. A blocking call goes through, from the outside in:
+ * <ol>
+ *     <li>a bulkhead, so an Anthropic incident cannot pin more than a fixed number of request threads;</li>
+ *     <li>the service-wide circuit breaker, which opens when calls keep failing after their retries
+ *     and then fails every call fast;</li>
+ *     <li>retries with exponential backoff and jitter, each attempt routed again by {@link ModelRouter};</li>
+ *     <li>the shared rate limiter, one permit per attempt;</li>
+ *     <li>the circuit breaker of the routed model, which moves attempts to another model while it is open;</li>
+ *     <li>a time limiter, which gives up on an attempt that takes too long.</li>
+ * </ol>
+ * The policies are the resilience4j instances named {@value #INSTANCE}.
+ */
+@Slf4j
+@Component
+public class AIGateway {
+
+    public static final String INSTANCE = "claudeAIService";
+
+    private final ChatClient chatClient;
+    private final ModelRouter modelRouter;
+    private final AIMetrics aiMetrics;
+    private final RateLimiter rateLimiter;
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final Retry retry;
+    private final TimeLimiter timeLimiter;
+    private final ExecutorService aiCallExecutor;
+
+    public AIGateway(
+            ChatClient chatClient,
+            ModelRouter modelRouter,
+            AIMetrics aiMetrics,
+            RateLimiterRegistry rateLimiterRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            RetryRegistry retryRegistry,
+            TimeLimiterRegistry timeLimiterRegistry,
+            @Qualifier("aiCallExecutor") ExecutorService aiCallExecutor) {
+        this.chatClient = chatClient;
+        this.modelRouter = modelRouter;
+        this.aiMetrics = aiMetrics;
+        this.rateLimiter = rateLimiterRegistry.rateLimiter(INSTANCE);
+        this.bulkhead = bulkheadRegistry.bulkhead(INSTANCE);
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(INSTANCE);
+        this.retry = retryRegistry.retry(INSTANCE);
+        this.timeLimiter = timeLimiterRegistry.timeLimiter(INSTANCE);
+        this.aiCallExecutor = aiCallExecutor;
+
+        retry.getEventPublisher().onRetry(event -> {
+            log.warn("Retrying Claude AI call in {} (attempt {}): {}", event.getWaitInterval(),
+                    event.getNumberOfRetryAttempts(), event.getLastThrowable().getMessage());
+            aiMetrics.recordRetry(event.getLastThrowable());
+        });
+    }
+
+    /**
+     * Sends a prompt and waits for the answer.
+     *
+     * @param operation What the call is for, e.g. "analysis" or {@value ModelRouter#SECTION}.
+     * @param prompt    The prompt; its prefix is sent as the cached system prompt.
+     * @param userId    The user the call is for, or null.
+     * @return The text of the answer, or null if the model returned none.
+     * @throws AICapacityExceededException If the bulkhead is full or every model's circuit is open.
+     * @throws RequestNotPermitted         If the rate limiter has no permit within its timeout.
+     * @throws RuntimeException            If the call still failed after all retries.
+     */
+    public String call(String operation, CacheablePrompt prompt, UUID userId) {
+        try {
+            // Looked up once, not on every retry
+            UserTier tier = modelRouter.tier(userId);
+            return bulkhead.executeCallable(() -> circuitBreaker.executeCallable(() ->
+                    retry.executeCallable(() -> attempt(operation, prompt, tier))));
+        } catch (BulkheadFullException e) {
+            aiMetrics.recordRejection("bulkhead");
+            throw new AICapacityExceededException("AI service is at capacity, please try again shortly");
+        } catch (CallNotPermittedException e) {
+            aiMetrics.recordRejection("circuit_breaker");
+            throw new AICapacityExceededException("AI service is temporarily unavailable, please try again shortly");
+        } catch (RequestNotPermitted e) {
+            aiMetrics.recordRejection("rate_limiter");
+            throw e;
+        } catch (AICapacityExceededException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while calling Claude AI", e);
+        } catch (Exception e) {
+            log.error("Claude AI failed after all retries: {}", e.getMessage());
+            throw new RuntimeException(
+                    "AI analysis service is temporarily unavailable. Please try again later or contact support for manual processing.",
+                    e);
+        }
+    }
+
+    /**
+     * Streams the answer to a prompt. Streams pass the same circuit breakers and rate limiter as
+     * calls, but are not retried, since part of the answer may already have reached the client;
+     * their length is bounded by the caller's emitter timeout. The circuit breaker permission and
+     * rate limiter permit are only taken once the stream is subscribed to.
+     * <p>
+     * Fails with {@link RequestNotPermitted} if the rate limiter has no permit within its timeout,
+     * or {@link CallNotPermittedException} if the service-wide circuit or that of every model is open.
+     */
+    public Flux<ChatResponse> stream(String operation, CacheablePrompt prompt, UUID userId) {
+        return Flux.defer(() -> {
+            circuitBreaker.acquirePermission();
+            ModelRouter.Route route;
+            try {
+                RateLimiter.waitForPermission(rateLimiter);
+                route = modelRouter.route(operation, prompt, modelRouter.tier(userId));
+            } catch (RuntimeException e) {
+                circuitBreaker.releasePermission();
+                throw e;
+            }
+            log.info("Streaming Claude AI {} with {}", operation, route.model());
+            long start = System.nanoTime();
+            AtomicReference<ChatResponse> lastChunk = new AtomicReference<>();
+            AtomicLong inputTokens = new AtomicLong();
+            AtomicLong outputTokens = new AtomicLong();
+            return chatClient.prompt()
+                    .options(route.options())
+                    .system(prompt.prefix())
+                    .user(prompt.suffix())
+                    .stream()
+                    .chatResponse()
+                    .doOnNext(chunk -> {
+                        // usage arrives spread over the stream's start and end events
+                        lastChunk.set(chunk);
+                        Usage usage = chunk.getMetadata() == null ? null : chunk.getMetadata().getUsage();
+                        if (usage != null) {
+                            inputTokens.accumulateAndGet(AIMetrics.tokenCount(usage.getPromptTokens()), Math::max);
+                            outputTokens.accumulateAndGet(AIMetrics.tokenCount(usage.getCompletionTokens()), Math::max);
+                        }
+                    })
+                    .doOnComplete(() -> {
+                        modelRouter.onSuccess(route);
+                        circuitBreaker.onSuccess(0, TimeUnit.NANOSECONDS);
+                        aiMetrics.recordCall(operation, Duration.ofNanos(System.nanoTime() - start),
+                                aiMetrics.model(lastChunk.get()), AIMetrics.OUTCOME_SUCCESS,
+                                inputTokens.get(), outputTokens.get());
+                    })
+                    .doOnError(e -> {
+                        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+                        modelRouter.onError(route, duration, e);
+                        circuitBreaker.onError(duration.toNanos(), TimeUnit.NANOSECONDS, e);
+                        aiMetrics.recordCall(operation, duration, route.model(), AIMetrics.OUTCOME_ERROR, 0, 0);
+                    })
+                    .doOnCancel(() -> {
+                        modelRouter.release(route);
+                        circuitBreaker.releasePermission();
+                    });
+        });
+    }
+
+    private String attempt(String operation, CacheablePrompt prompt, UserTier tier) throws Exception {
+        RateLimiter.waitForPermission(rateLimiter);
+        ModelRouter.Route route = modelRouter.route(operation, prompt, tier);
+        log.info("Calling Claude AI API with {}...", route.model());
+        long start = System.nanoTime();
+        Future<ChatResponse> submitted = null;
+        try {
+            // The instructions and CV go first as the system prompt, which is sent as a cached prefix
+            submitted = aiCallExecutor.submit(() ->
+                    chatClient.prompt()
+                            .options(route.options())
+                            .system(prompt.prefix())
+                            .user(prompt.suffix())
+                            .call()
+                            .chatResponse());
+            Future<ChatResponse> call = submitted;
+            ChatResponse response = timeLimiter.executeFutureSupplier(() -> call);
+            Duration duration = Duration.ofNanos(System.nanoTime() - start);
+            modelRouter.onSuccess(route, duration);
+            aiMetrics.recordCall(operation, duration, response);
+            log.info("Claude AI responded successfully");
+            return response == null || response.getResult() == null
+                    ? null
+                    : response.getResult().getOutput().getText();
+        } catch (InterruptedException e) {
+            // The caller gave up, e.g. a fan-out section past its deadline: stop the call, and neither
+            // count it against the model nor retry it (retry and circuit breaker ignore the exception)
+            if (submitted != null) {
+                submitted.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+            modelRouter.release(route);
+            log.info("Claude AI call to {} abandoned by its caller", route.model());
+            throw e;
+        } catch (Exception e) {
+            Throwable failure = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            Duration duration = Duration.ofNanos(System.nanoTime() - start);
+            modelRouter.onError(route, duration, failure);
+            aiMetrics.recordCall(operation, duration, route.model(), AIMetrics.OUTCOME_ERROR, 0, 0);
+            if (failure instanceof TimeoutException) {
+                aiMetrics.recordRejection("time_limiter");
+                log.warn("Claude AI call to {} timed out after {}", route.model(), duration);
+                throw (TimeoutException) failure;
+            }
+            log.warn("Claude AI call to {} failed: {}", route.model(), failure.getMessage());
+            throw failure instanceof RuntimeException runtime
+                    ? runtime
+                    : new RuntimeException("Claude AI API call failed", failure);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.paladin.jobApplication.service;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Micrometer meters for calls to the Anthropic API, exposed through the actuator metrics endpoint:
+ * <ul>
+ *     <li>{@code paladin.ai.call.duration} - latency histogram, tagged by model, operation and outcome</li>
+ *     <li>{@code paladin.ai.tokens} - input/output tokens from the response metadata, and input tokens
+ *     read from or written to the provider's prompt cache (cache_read/cache_write)</li>
+ *     <li>{@code paladin.ai.retries} - failed attempts retried by {@link AIGateway}</li>
+ *     <li>{@code paladin.ai.rejections} - calls failed fast by a bulkhead, circuit breaker, rate limiter or time limiter</li>
+ *     <li>{@code paladin.ai.fallbacks} - degraded answers served instead of a model response</li>
+ *     <li>{@code paladin.ai.parse.failures} - responses that needed repair or could not be parsed</li>
+ *     <li>{@code paladin.circuitbreaker.transitions} - circuit breaker state changes</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AIMetrics {
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_ERROR = "error";
+
+    private final MeterRegistry meterRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Value("${spring.ai.anthropic.chat.options.model:unknown}")
+    private String configuredModel;
+
+    @PostConstruct
+    void watchCircuitBreakers() {
+        circuitBreakerRegistry.getAllCircuitBreakers().forEach(this::watch);
+        circuitBreakerRegistry.getEventPublisher().onEntryAdded(event -> watch(event.getAddedEntry()));
+    }
+
+    /**
+     * Records one model call.
+     *
+     * @param operation What the call was for, e.g. "analysis" or "section".
+     * @param duration  How long the call took, retries included.
+     * @param response  The response, or null if the call failed.
+     */
+    public void recordCall(String operation, Duration duration, ChatResponse response) {
+        Usage usage = response == null || response.getMetadata() == null ? null : response.getMetadata().getUsage();
+        recordCall(operation, duration, model(response),
+                response == null ? OUTCOME_ERROR : OUTCOME_SUCCESS,
+                usage == null ? 0 : tokenCount(usage.getPromptTokens()),
+                usage == null ? 0 : tokenCount(usage.getCompletionTokens()));
+    }
+
+    public void recordCall(String operation, Duration duration, String model, String outcome,
+                           long inputTokens, long outputTokens) {
+        Timer.builder("paladin.ai.call.duration")
+                .description("Latency of calls to the Anthropic API")
+                .tag("model", model)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(duration);
+
+        tokens(model, "input").increment(inputTokens);
+        tokens(model, "output").increment(outputTokens);
+    }
+
+    /**
+     * Records input tokens served from or written to the provider's prompt cache. These are
+     * not part of the "input" count, which only covers tokens after the cached prefix.
+     *
+     * @param model The model that answered, or null to use the configured one.
+     */
+    public void recordCacheTokens(String model, long readTokens, long writeTokens) {
+        String tag = model == null || model.isBlank() ? configuredModel : model;
+        tokens(tag, "cache_read").increment(readTokens);
+        tokens(tag, "cache_write").increment(writeTokens);
+    }
+
+    public void recordRetry(Throwable error) {
+        meterRegistry.counter("paladin.ai.retries",
+                "model", configuredModel,
+                "exception", error == null ? "none" : error.getClass().getSimpleName()).increment();
+    }
+
+    /**
+     * @param policy The policy that turned the call away: "bulkhead", "circuit_breaker", "rate_limiter"
+     *               or "time_limiter".
+     */
+    public void recordRejection(String policy) {
+        meterRegistry.counter("paladin.ai.rejections", "model", configuredModel, "policy", policy).increment();
+    }
+
+    /**
+     * @param kind The kind of degraded answer, e.g. "prior_analysis" or "local_match".
+     */
+    public void recordFallback(String kind) {
+        meterRegistry.counter("paladin.ai.fallbacks", "model", configuredModel, "kind", kind).increment();
+    }
+
+    /**
+     * @param outcome "repaired", "repair_failed" or "unrecoverable".
+     */
+    public void recordParseFailure(String outcome) {
+        meterRegistry.counter("paladin.ai.parse.failures", "model", configuredModel, "outcome", outcome).increment();
+    }
+
+    public String model(ChatResponse response) {
+        if (response != null && response.getMetadata() != null) {
+            String model = response.getMetadata().getModel();
+            if (model != null && !model.isBlank()) {
+                return model;
+            }
+        }
+        return configuredModel;
+    }
+
+    public static long tokenCount(Integer tokens) {
+        return tokens == null ? 0 : tokens;
+    }
+
+    private Counter tokens(String model, String direction) {
+        return Counter.builder("paladin.ai.tokens")
+                .description("Tokens consumed by calls to the Anthropic API")
+                .tag("model", model)
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+
+    private void watch(CircuitBreaker circuitBreaker) {
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            log.warn("Circuit breaker {} changed state: {}", event.getCircuitBreakerName(), event.getStateTransition());
+            meterRegistry.counter("paladin.circuitbreaker.transitions",
+                    "name", event.getCircuitBreakerName(),
+                    "from", event.getStateTransition().getFromState().name(),
+                    "to", event.getStateTransition().getToState().name()).increment();
+        });
+    }
+}
@@ -0,0 +1,234 @@
+package com.paladin.jobApplication.service;
+
+import com.paladin.common.dto.AIJobAnalysisResponse;
+import com.paladin.common.dto.BatchAnalysisRequest;
+import com.paladin.common.dto.BatchAnalysisResultDTO;
+import com.paladin.common.dto.JobMatchAnalysisDTO;
+import com.paladin.common.dto.ProfileResponseDTO;
+import com.paladin.common.exceptions.CVNotFoundException;
+import com.paladin.cv.service.CVTextCacheService;
+import com.paladin.jobApplication.service.impl.AIJobAnalysisServiceImpl;
+import com.paladin.profile.service.ProfileService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Analyses one profile against many job descriptions. The CV is extracted once,
+ * postings below an optional local pre-score are skipped, and the model calls fan
+ * out over a bounded pool that is shared by all batches. Results are streamed as
+ * they come in, followed by the ranked collection once every item is done or the
+ * batch runs out of time.
+ */
+@Slf4j
+@Service
+public class AnalysisBatchService {
+
+    // Best matches first; skipped and failed items follow, ordered by their local pre-score
+    private static final Comparator<BatchAnalysisResultDTO> BY_MATCH = Comparator.comparing(
+                    AnalysisBatchService::matchPercentage,
+                    Comparator.nullsLast(Comparator.<Integer>reverseOrder()))
+            .thenComparing(
+                    AnalysisBatchService::preScorePercentage,
+                    Comparator.nullsLast(Comparator.<Integer>reverseOrder()));
+
+    private final ProfileService profileService;
+    private final CVTextCacheService cvTextCacheService;
+    private final AIJobAnalysisServiceImpl aiJobAnalysisService;
+    private final LocalMatchService localMatchService;
+    private final ThreadPoolTaskExecutor analysisBatchExecutor;
+    private final Duration timeout;
+
+    public AnalysisBatchService(
+            ProfileService profileService,
+            CVTextCacheService cvTextCacheService,
+            AIJobAnalysisServiceImpl aiJobAnalysisService,
+            LocalMatchService localMatchService,
+            @Qualifier("analysisBatchExecutor") ThreadPoolTaskExecutor analysisBatchExecutor,
+            @Value("${app.analysis-batch.timeout:5m}") Duration timeout) {
+        this.profileService = profileService;
+        this.cvTextCacheService = cvTextCacheService;
+        this.aiJobAnalysisService = aiJobAnalysisService;
+        this.localMatchService = localMatchService;
+        this.analysisBatchExecutor = analysisBatchExecutor;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Analyses a profile against every job description in the request. Each item is sent
+     * as a "result" event when it is done; a final "complete" event carries every item,
+     * ranked by overall match percentage. Items not done within the batch timeout are
+     * cancelled and reported as failed.
+     *
+     * @param request A DTO that contains the profileId and job descriptions
+     * @param userId  The ID of the user
+     * @return An emitter that is completed once the ranked results are sent
+     */
+    public SseEmitter analyseBatch(BatchAnalysisRequest request, UUID userId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        analyseBatch(request, userId, emitter);
+        return emitter;
+    }
+
+    void analyseBatch(BatchAnalysisRequest request, UUID userId, SseEmitter emitter) {
+        ProfileResponseDTO profile = profileService.getProfileById(request.getProfileId(), userId);
+
+        if (profile.getCv() == null) {
+            throw new CVNotFoundException("No CV found for this profile");
+        }
+
+        String cvText = cvTextCacheService.getText(profile.getCv(), userId);
+        List<String> jobDescriptions = request.getJobDescriptions();
+        log.info("Analysing profile {} against {} job descriptions", profile.getId(), jobDescriptions.size());
+
+        Batch batch = new Batch(emitter, jobDescriptions.size());
+        emitter.onTimeout(batch::timeOut);
+        emitter.onError(e -> batch.cancel());
+
+        for (int i = 0; i < jobDescriptions.size(); i++) {
+            int index = i;
+            String jobDescription = jobDescriptions.get(index);
+            JobMatchAnalysisDTO preScore = localMatchService.preScore(profile, cvText, jobDescription);
+            if (request.getMinPreScore() != null
+                    && preScore.getOverallMatchPercentage() < request.getMinPreScore()) {
+                batch.add(BatchAnalysisResultDTO.builder()
+                        .index(index)
+                        .preScore(preScore)
+                        .skipped(true)
+                        .build());
+                continue;
+            }
+            try {
+                batch.track(analysisBatchExecutor.submit(
+                        () -> batch.add(analyseItem(index, profile, cvText, jobDescription, preScore))));
+            } catch (RejectedExecutionException e) {
+                log.warn("Batch item {} for profile {} rejected, the batch pool is full", index, profile.getId());
+                batch.add(failed(index, preScore, "Too many analyses are running. Please try again shortly."));
+            }
+        }
+    }
+
+    private BatchAnalysisResultDTO analyseItem(int index, ProfileResponseDTO profile, String cvText,
+                                               String jobDescription, JobMatchAnalysisDTO preScore) {
+        try {
+            // Template answers would be ranked next to real ones, so a failed item is reported as such
+            AIJobAnalysisResponse analysis =
+                    aiJobAnalysisService.analyseWithoutFallback(profile, cvText, jobDescription);
+            return BatchAnalysisResultDTO.builder()
+                    .index(index)
+                    .preScore(preScore)
+                    .analysis(analysis)
+                    .build();
+        } catch (Exception e) {
+            log.warn("Batch item {} for profile {} failed: {}", index, profile.getId(), e.getMessage());
+            return failed(index, preScore, "AI analysis failed for this job description. Please try again.");
+        }
+    }
+
+    private static BatchAnalysisResultDTO failed(int index, JobMatchAnalysisDTO preScore, String error) {
+        return BatchAnalysisResultDTO.builder()
+                .index(index)
+                .preScore(preScore)
+                .error(error)
+                .build();
+    }
+
+    private static Integer preScorePercentage(BatchAnalysisResultDTO result) {
+        return result.getPreScore() == null ? null : result.getPreScore().getOverallMatchPercentage();
+    }
+
+    private static Integer matchPercentage(BatchAnalysisResultDTO result) {
+        AIJobAnalysisResponse analysis = result.getAnalysis();
+        return analysis == null || analysis.getMatchAnalysis() == null
+                ? null
+                : analysis.getMatchAnalysis().getOverallMatchPercentage();
+    }
+
+    /**
+     * Results of one batch as they arrive. Pool threads and the request's timeout
+     * callback both report here, so every method holds the batch's lock.
+     */
+    private static final class Batch {
+
+        private final SseEmitter emitter;
+        private final BatchAnalysisResultDTO[] results;
+        private final List<Future<?>> calls = new ArrayList<>();
+        private int remaining;
+        private boolean finished;
+
+        Batch(SseEmitter emitter, int size) {
+            this.emitter = emitter;
+            this.results = new BatchAnalysisResultDTO[size];
+            this.remaining = size;
+        }
+
+        synchronized void track(Future<?> call) {
+            if (finished) {
+                call.cancel(true);
+            } else {
+                calls.add(call);
+            }
+        }
+
+        synchronized void add(BatchAnalysisResultDTO result) {
+            if (finished || results[result.getIndex()] != null) {
+                return;
+            }
+            results[result.getIndex()] = result;
+            remaining--;
+            if (!send("result", result)) {
+                cancel();
+            } else if (remaining == 0) {
+                finish();
+            }
+        }
+
+        synchronized void timeOut() {
+            if (finished) {
+                return;
+            }
+            log.warn("Batch analysis timed out with {} of {} items outstanding", remaining, results.length);
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] == null) {
+                    results[i] = failed(i, null, "AI analysis did not finish in time. Please try again.");
+                }
+            }
+            finish();
+        }
+
+        // The client went away; stop the items still queued or running
+        synchronized void cancel() {
+            finished = true;
+            calls.forEach(call -> call.cancel(true));
+        }
+
+        private void finish() {
+            cancel();
+            send("complete", Arrays.stream(results).sorted(BY_MATCH).toList());
+            emitter.complete();
+        }
+
+        private boolean send(String name, Object data) {
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Client went away while streaming batch {}: {}", name, e.getMessage());
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.paladin.jobApplication.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paladin.common.dto.AIJobAnalysisResponse;
+import com.paladin.common.dto.AnalysisJobDTO;
+import com.paladin.common.dto.ProfileResponseDTO;
+import com.paladin.common.dto.SmartAnalysisRequest;
+import com.paladin.common.enums.AnalysisJobStatus;
+import com.paladin.common.exceptions.CVNotFoundException;
+import com.paladin.common.exceptions.NotFoundException;
+import com.paladin.common.exceptions.UnauthorizedAccessException;
+import com.paladin.cv.service.CVTextCacheService;
+import com.paladin.jobApplication.AnalysisJob;
+import com.paladin.jobApplication.repository.AnalysisJobRepository;
+import com.paladin.profile.service.ProfileService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnalysisJobService {
+
+    private final AnalysisJobRepository analysisJobRepository;
+    private final ProfileService profileService;
+    private final ObjectMapper objectMapper;
+    private final CVTextCacheService cvTextCacheService;
+    private final SpeculativeAnalysisService speculativeAnalysisService;
+
+    /**
+     * Queues an analysis to be processed by the worker pool. Until the worker finishes, the job
+     * holds a template answer so the client has something to show straight away.
+     *
+     * @param request A DTO that contains the profileId and job description.
+     * @param userId  The ID of the user.
+     * @return The queued job.
+     */
+    public AnalysisJobDTO submit(SmartAnalysisRequest request, UUID userId) {
+        ProfileResponseDTO profile = profileService.getProfileById(request.getProfileId(), userId);
+
+        if (profile.getCv() == null) {
+            throw new CVNotFoundException("No CV found for this profile");
+        }
+
+        AnalysisJob job = analysisJobRepository.save(AnalysisJob.builder()
+                .userId(userId)
+                .profileId(profile.getId())
+                .jobDescription(request.getJobDescription())
+                .status(AnalysisJobStatus.PENDING)
+                .resultJson(speculativeResultJson(profile, request.getJobDescription(), userId))
+                .createdAt(Instant.now())
+                .build());
+
+        log.info("Queued analysis job {} for profile {}", job.getId(), profile.getId());
+        return toDTO(job);
+    }
+
+    /**
+     * Fetches the status, and once completed the result, of an analysis job.
+     *
+     * @param jobId  The ID of the job.
+     * @param userId The ID of the user.
+     * @return The job.
+     */
+    public AnalysisJobDTO getJob(UUID jobId, UUID userId) {
+        AnalysisJob job = analysisJobRepository.findById(jobId)
+                .orElseThrow(() -> new NotFoundException("Analysis job not found"));
+
+        if (!job.getUserId().equals(userId)) {
+            throw new UnauthorizedAccessException("Unauthorized: Analysis job does not belong to user");
+        }
+        return toDTO(job);
+    }
+
+    private String speculativeResultJson(ProfileResponseDTO profile, String jobDescription, UUID userId) {
+        if (!speculativeAnalysisService.isEnabled()) {
+            return null;
+        }
+        try {
+            String cvText = cvTextCacheService.getText(profile.getCv(), userId);
+            Optional<AIJobAnalysisResponse> speculative =
+                    speculativeAnalysisService.speculate(profile, cvText, jobDescription);
+            return speculative.isPresent() ? objectMapper.writeValueAsString(speculative.get()) : null;
+        } catch (Exception e) {
+            log.warn("No template answer for profile {}: {}", profile.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private AnalysisJobDTO toDTO(AnalysisJob job) {
+        Long queuePosition = job.getStatus() == AnalysisJobStatus.PENDING
+                ? analysisJobRepository.countByStatusAndCreatedAtBefore(
+                AnalysisJobStatus.PENDING, job.getCreatedAt())
+                : null;
+
+        return AnalysisJobDTO.builder()
+                .id(job.getId())
+                .profileId(job.getProfileId())
+                .status(job.getStatus())
+                .attempts(job.getAttempts())
+                .queuePosition(queuePosition)
+                .result(readResult(job))
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+
+    private AIJobAnalysisResponse readResult(AnalysisJob job) {
+        if (job.getResultJson() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(job.getResultJson(), AIJobAnalysisResponse.class);
+        } catch (Exception e) {
+            log.error("Stored result of analysis job {} is unreadable: {}", job.getId(), e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.paladin.jobApplication.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paladin.common.dto.AIJobAnalysisResponse;
+import com.paladin.common.enums.AnalysisJobStatus;
+import com.paladin.common.exceptions.CVNotFoundException;
+import com.paladin.common.exceptions.NotFoundException;
+import com.paladin.common.exceptions.UnauthorizedAccessException;
+import com.paladin.jobApplication.AnalysisJob;
+import com.paladin.jobApplication.repository.AnalysisJobQueue;
+import com.paladin.jobApplication.repository.AnalysisJobRepository;
+import com.paladin.jobApplication.service.impl.AIJobAnalysisServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the analysis_job queue with a bounded pool so that slow LLM calls
+ * never occupy web request threads. Jobs never settle for a fallback answer:
+ * a failed attempt is retried with exponential backoff, and a job that runs
+ * out of attempts is parked in the deferred analysis queue.
+ */
+@Slf4j
+@Component
+public class AnalysisJobWorker {
+
+    private static final String STALE_ERROR = "Analysis stopped before finishing";
+
+    private final AnalysisJobQueue analysisJobQueue;
+    private final AnalysisJobRepository analysisJobRepository;
+    private final AIJobAnalysisServiceImpl aiJobAnalysisService;
+    private final DeferredAnalysisService deferredAnalysisService;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor analysisJobExecutor;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @Value("${app.analysis-jobs.workers:3}")
+    private int workers;
+
+    @Value("${app.analysis-jobs.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.analysis-jobs.backoff:30s}")
+    private Duration backoff;
+
+    @Value("${app.analysis-jobs.stale-after:10m}")
+    private Duration staleAfter;
+
+    @Value("${app.analysis-jobs.retention:7d}")
+    private Duration retention;
+
+    public AnalysisJobWorker(
+            AnalysisJobQueue analysisJobQueue,
+            AnalysisJobRepository analysisJobRepository,
+            AIJobAnalysisServiceImpl aiJobAnalysisService,
+            DeferredAnalysisService deferredAnalysisService,
+            ObjectMapper objectMapper,
+            @Qualifier("analysisJobExecutor") ThreadPoolTaskExecutor analysisJobExecutor) {
+        this.analysisJobQueue = analysisJobQueue;
+        this.analysisJobRepository = analysisJobRepository;
+        this.aiJobAnalysisService = aiJobAnalysisService;
+        this.deferredAnalysisService = deferredAnalysisService;
+        this.objectMapper = objectMapper;
+        this.analysisJobExecutor = analysisJobExecutor;
+    }
+
+    @Scheduled(fixedDelayString = "${app.analysis-jobs.poll-interval:2s}")
+    public void poll() {
+        int capacity = workers - inFlight.get();
+        if (capacity <= 0) {
+            return;
+        }
+
+        List<UUID> claimed = analysisJobQueue.claimPending(capacity);
+        for (UUID jobId : claimed) {
+            inFlight.incrementAndGet();
+            analysisJobExecutor.execute(() -> {
+                try {
+                    process(jobId);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.analysis-jobs.maintenance-interval:1m}")
+    public void maintain() {
+        Instant startedBefore = Instant.now().minus(staleAfter);
+        for (UUID jobId : analysisJobQueue.failStale(startedBefore, maxAttempts, STALE_ERROR)) {
+            analysisJobRepository.findById(jobId).ifPresent(job -> deferredAnalysisService.defer(
+                    job.getUserId(), job.getProfileId(), job.getJobDescription(), new IllegalStateException(STALE_ERROR)));
+            log.error("Analysis job {} failed: its worker stopped on the last attempt", jobId);
+        }
+        int requeued = analysisJobQueue.requeueStale(startedBefore);
+        if (requeued > 0) {
+            log.warn("Requeued {} analysis jobs abandoned by a previous worker", requeued);
+        }
+        analysisJobRepository.deleteFinishedBefore(Instant.now().minus(retention));
+    }
+
+    private void process(UUID jobId) {
+        AnalysisJob job = analysisJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+
+        log.info("Processing analysis job {} (attempt {})", jobId, job.getAttempts());
+        try {
+            // The non-degrading variant, so an AI outage fails the attempt instead of completing with a template
+            AIJobAnalysisResponse response = aiJobAnalysisService.replayAnalysis(
+                    job.getProfileId(), job.getUserId(), job.getJobDescription());
+            job.setResultJson(objectMapper.writeValueAsString(response));
+            job.setErrorMessage(null);
+            job.setStatus(AnalysisJobStatus.COMPLETED);
+            job.setCompletedAt(Instant.now());
+            log.info("Analysis job {} completed", jobId);
+        } catch (NotFoundException | UnauthorizedAccessException | CVNotFoundException e) {
+            // The profile or its CV is gone; retrying cannot help
+            job.setErrorMessage(e.getMessage());
+            job.setStatus(AnalysisJobStatus.FAILED);
+            job.setCompletedAt(Instant.now());
+            log.info("Analysis job {} failed: {}", jobId, e.getMessage());
+        } catch (Exception e) {
+            job.setErrorMessage(e.getMessage());
+            if (job.getAttempts() >= maxAttempts) {
+                job.setStatus(AnalysisJobStatus.FAILED);
+                job.setCompletedAt(Instant.now());
+                deferredAnalysisService.defer(job.getUserId(), job.getProfileId(), job.getJobDescription(), e);
+                log.error("Analysis job {} failed after {} attempts: {}", jobId, job.getAttempts(), e.getMessage());
+            } else {
+                job.setStatus(AnalysisJobStatus.PENDING);
+                job.setStartedAt(null);
+                job.setNextAttemptAt(Instant.now().plus(backoff(job.getAttempts())));
+                log.warn("Analysis job {} failed, retrying at {}: {}", jobId, job.getNextAttemptAt(), e.getMessage());
+            }
+        }
+        analysisJobRepository.save(job);
+    }
+
+    // Exponential backoff between attempts of one job
+    private Duration backoff(int attempts) {
+        return backoff.multipliedBy(1L << Math.min(attempts - 1, 10));
+    }
+}
@@ -0,0 +1,135 @@
+package com.paladin.jobApplication.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paladin.common.dto.AIJobAnalysisResponse;
+import com.paladin.common.utils.HashUtils;
+import com.paladin.common.utils.JobDescriptionUtils;
+import com.paladin.common.utils.LruCache;
+import com.paladin.jobApplication.AnalysisResultCache;
+import com.paladin.jobApplication.repository.AnalysisResultCacheRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Caches AI analysis results so that resubmitting the same job description
+ * against the same CV and profile title costs no tokens.
+ * The in-memory tier is always on; the database tier is opt-in.
+ * Readers share the cached objects, so they must not change them.
+ */
+@Slf4j
+@Service
+public class AnalysisResultCacheService {
+
+    private final AnalysisResultCacheRepository analysisResultCacheRepository;
+    private final ObjectMapper objectMapper;
+    private final LruCache<String, AIJobAnalysisResponse> memoryCache;
+    private final Duration ttl;
+    private final boolean persistent;
+
+    public AnalysisResultCacheService(
+            AnalysisResultCacheRepository analysisResultCacheRepository,
+            ObjectMapper objectMapper,
+            @Value("${app.cache.analysis.ttl:24h}") Duration ttl,
+            @Value("${app.cache.analysis.max-entries:500}") long maxEntries,
+            @Value("${app.cache.analysis.persistent:false}") boolean persistent) {
+        this.analysisResultCacheRepository = analysisResultCacheRepository;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.persistent = persistent;
+        this.memoryCache = new LruCache<>(maxEntries, response -> 1, ttl);
+    }
+
+    /**
+     * Builds the cache key for an analysis.
+     *
+     * @param cvContentHash  The SHA-256 of the CV bytes.
+     * @param profileTitle   The title of the profile used for the analysis.
+     * @param jobDescription The raw job description.
+     * @return The cache key, or null when the CV has no content hash yet.
+     */
+    public String key(String cvContentHash, String profileTitle, String jobDescription) {
+        if (cvContentHash == null) {
+            return null;
+        }
+        String title = profileTitle == null ? "" : profileTitle.trim().toLowerCase(Locale.ROOT);
+        return HashUtils.sha256Hex(cvContentHash + "\n" + title + "\n"
+                + JobDescriptionUtils.normalizedHash(jobDescription));
+    }
+
+    public Optional<AIJobAnalysisResponse> get(String key) {
+        if (key == null) {
+            return Optional.empty();
+        }
+
+        AIJobAnalysisResponse cached = memoryCache.get(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        if (!persistent) {
+            return Optional.empty();
+        }
+
+        return analysisResultCacheRepository.findByCacheKeyAndExpiresAtAfter(key, Instant.now())
+                .map(entry -> readResponse(entry.getResponseJson()))
+                .map(response -> {
+                    memoryCache.put(key, response);
+                    return response;
+                });
+    }
+
+    public void put(String key, AIJobAnalysisResponse response) {
+        if (key == null) {
+            return;
+        }
+
+        memoryCache.put(key, response);
+
+        if (persistent) {
+            try {
+                Instant now = Instant.now();
+                analysisResultCacheRepository.save(AnalysisResultCache.builder()
+                        .cacheKey(key)
+                        .responseJson(objectMapper.writeValueAsString(response))
+                        .createdAt(now)
+                        .expiresAt(now.plus(ttl))
+                        .build());
+            } catch (Exception e) {
+                log.warn("Failed to persist analysis result {}: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(cron = "${app.cache.analysis.cleanup-cron:0 0 * * * *}")
+    public void purgeExpired() {
+        if (!persistent) {
+            return;
+        }
+        int deleted = analysisResultCacheRepository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.info("Purged {} expired analysis results", deleted);
+        }
+    }
+
+    private AIJobAnalysisResponse readResponse(String json) {
+        try {
+            AIJobAnalysisResponse response = objectMapper.readValue(json, AIJobAnalysisResponse.class);
+            // Only model answers are cached; entries stored before versions were recorded lack one
+            if (response != null && response.getCoverLetterVersion() == null) {
+                response.setCoverLetterVersion(AIJobAnalysisResponse.ANALYSED_VERSION);
+            }
+            return response;
+        } catch (JsonProcessingException e) {
+            log.warn("Discarding unreadable cached analysis: {}", e.getMessage());
+            return null;
+        }
+    }
+}
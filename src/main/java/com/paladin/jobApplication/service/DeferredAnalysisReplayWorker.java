@@ -0,0 +1,223 @@
+package com.paladin.jobApplication.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paladin.common.EntityTypes;
+import com.paladin.common.dto.AIJobAnalysisResponse;
+import com.paladin.common.enums.DeferredAnalysisStatus;
+import com.paladin.common.enums.NotificationType;
+import com.paladin.common.exceptions.CVNotFoundException;
+import com.paladin.common.exceptions.NotFoundException;
+import com.paladin.common.exceptions.UnauthorizedAccessException;
+import com.paladin.jobApplication.DeferredAnalysis;
+import com.paladin.jobApplication.repository.DeferredAnalysisQueue;
+import com.paladin.jobApplication.repository.DeferredAnalysisRepository;
+import com.paladin.jobApplication.service.impl.AIJobAnalysisServiceImpl;
+import com.paladin.notification.service.NotificationService;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Replays deferred analyses in small batches while the claudeAIService circuit is closed,
+ * one at a time so the replay never competes with live traffic for more than one model slot.
+ * When the circuit closes after an outage every waiting entry becomes due at once.
+ * Users are notified when their analysis is ready.
+ */
+@Slf4j
+@Component
+public class DeferredAnalysisReplayWorker {
+
+    private static final String CIRCUIT_BREAKER = "claudeAIService";
+    private static final Duration MAX_BACKOFF = Duration.ofHours(6);
+
+    private final DeferredAnalysisQueue deferredAnalysisQueue;
+    private final DeferredAnalysisRepository deferredAnalysisRepository;
+    private final AIJobAnalysisServiceImpl aiJobAnalysisService;
+    private final NotificationService notificationService;
+    private final ObjectMapper objectMapper;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final ThreadPoolTaskExecutor deferredAnalysisExecutor;
+    private final AtomicBoolean replaying = new AtomicBoolean();
+
+    @Value("${app.deferred-analysis.batch-size:10}")
+    private int batchSize;
+
+    @Value("${app.deferred-analysis.lease:10m}")
+    private Duration lease;
+
+    @Value("${app.deferred-analysis.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.deferred-analysis.backoff:5m}")
+    private Duration backoff;
+
+    @Value("${app.deferred-analysis.retention:30d}")
+    private Duration retention;
+
+    public DeferredAnalysisReplayWorker(
+            DeferredAnalysisQueue deferredAnalysisQueue,
+            DeferredAnalysisRepository deferredAnalysisRepository,
+            AIJobAnalysisServiceImpl aiJobAnalysisService,
+            NotificationService notificationService,
+            ObjectMapper objectMapper,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            @Qualifier("deferredAnalysisExecutor") ThreadPoolTaskExecutor deferredAnalysisExecutor) {
+        this.deferredAnalysisQueue = deferredAnalysisQueue;
+        this.deferredAnalysisRepository = deferredAnalysisRepository;
+        this.aiJobAnalysisService = aiJobAnalysisService;
+        this.notificationService = notificationService;
+        this.objectMapper = objectMapper;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.deferredAnalysisExecutor = deferredAnalysisExecutor;
+    }
+
+    @PostConstruct
+    void watchCircuitBreaker() {
+        circuitBreaker().getEventPublisher().onStateTransition(event -> {
+            if (event.getStateTransition().getToState() == CircuitBreaker.State.CLOSED) {
+                bringForward();
+            }
+        });
+    }
+
+    // Runs on the replay executor rather than the thread that happened to close the circuit
+    private void bringForward() {
+        try {
+            deferredAnalysisExecutor.execute(() -> {
+                int due = deferredAnalysisQueue.makeAllDue();
+                log.info("AI service recovered, replaying deferred analyses ({} brought forward)", due);
+                poll();
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not bring deferred analyses forward: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.deferred-analysis.poll-interval:30s}")
+    public void poll() {
+        if (!circuitClosed() || !replaying.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            deferredAnalysisExecutor.execute(() -> {
+                try {
+                    replayBatch();
+                } finally {
+                    replaying.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            replaying.set(false);
+            log.warn("Could not start deferred analysis replay: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${app.deferred-analysis.cleanup-cron:0 45 3 * * *}")
+    public void purgeFinished() {
+        int deleted = deferredAnalysisRepository.deleteFinishedBefore(Instant.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Purged {} finished deferred analyses", deleted);
+        }
+    }
+
+    private void replayBatch() {
+        List<UUID> claimed = deferredAnalysisQueue.claimDue(batchSize, lease);
+        for (UUID id : claimed) {
+            // Entries left unreplayed become due again when their lease expires
+            if (!circuitClosed()) {
+                log.warn("AI service circuit opened, pausing deferred analysis replay");
+                return;
+            }
+            if (!replay(id)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return false if the AI service is still failing and the rest of the batch should wait.
+     */
+    private boolean replay(UUID id) {
+        DeferredAnalysis deferred = deferredAnalysisRepository.findById(id).orElse(null);
+        if (deferred == null || deferred.getStatus() != DeferredAnalysisStatus.PENDING) {
+            return true;
+        }
+
+        log.info("Replaying deferred analysis {} (attempt {})", id, deferred.getAttempts());
+        try {
+            AIJobAnalysisResponse response = aiJobAnalysisService.replayAnalysis(
+                    deferred.getProfileId(), deferred.getUserId(), deferred.getJobDescription());
+            deferred.setResultJson(objectMapper.writeValueAsString(response));
+            deferred.setFailureReason(null);
+            finish(deferred, DeferredAnalysisStatus.COMPLETED);
+            notifyUser(deferred, "Your job analysis is ready",
+                    "The analysis that could not run while our AI service was unavailable has now completed.");
+            return true;
+        } catch (NotFoundException | UnauthorizedAccessException | CVNotFoundException e) {
+            // The profile or its CV is gone; nothing left to analyse
+            deferred.setFailureReason(e.getMessage());
+            finish(deferred, DeferredAnalysisStatus.ABANDONED);
+            log.info("Abandoned deferred analysis {}: {}", id, e.getMessage());
+            return true;
+        } catch (Exception e) {
+            deferred.setFailureReason(e.getMessage());
+            if (deferred.getAttempts() >= maxAttempts) {
+                finish(deferred, DeferredAnalysisStatus.ABANDONED);
+                notifyUser(deferred, "We could not complete your job analysis",
+                        "Our AI service is still unavailable. Please run the analysis again later.");
+                log.error("Deferred analysis {} abandoned after {} attempts: {}",
+                        id, deferred.getAttempts(), e.getMessage());
+            } else {
+                deferred.setNextAttemptAt(Instant.now().plus(backoff(deferred.getAttempts())));
+                deferred.setLeasedUntil(null);
+                deferredAnalysisRepository.save(deferred);
+                log.warn("Deferred analysis {} failed again, next attempt at {}: {}",
+                        id, deferred.getNextAttemptAt(), e.getMessage());
+            }
+            return false;
+        }
+    }
+
+    private void finish(DeferredAnalysis deferred, DeferredAnalysisStatus status) {
+        deferred.setStatus(status);
+        deferred.setLeasedUntil(null);
+        deferred.setCompletedAt(Instant.now());
+        deferredAnalysisRepository.save(deferred);
+    }
+
+    private void notifyUser(DeferredAnalysis deferred, String title, String message) {
+        try {
+            notificationService.notifyUser(deferred.getUserId(), NotificationType.ANALYSIS_READY, title, message,
+                    deferred.getId(), EntityTypes.DEFERRED_ANALYSIS);
+        } catch (Exception e) {
+            log.error("Failed to notify user {} about deferred analysis {}: {}",
+                    deferred.getUserId(), deferred.getId(), e.getMessage());
+        }
+    }
+
+    // Exponential backoff between replays of one entry
+    private Duration backoff(int attempts) {
+        Duration delay = backoff.multipliedBy(1L << Math.min(attempts - 1, 10));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private boolean circuitClosed() {
+        return circuitBreaker().getState() == CircuitBreaker.State.CLOSED;
+    }
+
+    private CircuitBreaker circuitBreaker() {
+        return circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER);
+    }
+}
@@ -0,0 +1,109 @@
+package com.paladin.jobApplication.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paladin.common.dto.AIJobAnalysisResponse;
+import com.paladin.common.dto.DeferredAnalysisDTO;
+import com.paladin.common.exceptions.NotFoundException;
+import com.paladin.common.exceptions.UnauthorizedAccessException;
+import com.paladin.common.utils.JobDescriptionUtils;
+import com.paladin.jobApplication.DeferredAnalysis;
+import com.paladin.jobApplication.repository.DeferredAnalysisQueue;
+import com.paladin.jobApplication.repository.DeferredAnalysisRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Dead-letter queue for analyses that failed because the AI service was unavailable.
+ * Parked requests are replayed by {@link DeferredAnalysisReplayWorker}.
+ */
+@Slf4j
+@Service
+public class DeferredAnalysisService {
+
+    private final DeferredAnalysisQueue deferredAnalysisQueue;
+    private final DeferredAnalysisRepository deferredAnalysisRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration initialDelay;
+
+    public DeferredAnalysisService(
+            DeferredAnalysisQueue deferredAnalysisQueue,
+            DeferredAnalysisRepository deferredAnalysisRepository,
+            ObjectMapper objectMapper,
+            @Value("${app.deferred-analysis.initial-delay:2m}") Duration initialDelay) {
+        this.deferredAnalysisQueue = deferredAnalysisQueue;
+        this.deferredAnalysisRepository = deferredAnalysisRepository;
+        this.objectMapper = objectMapper;
+        this.initialDelay = initialDelay;
+    }
+
+    /**
+     * Parks a failed analysis for replay. Never throws, since it runs on the failure path.
+     *
+     * @return true if the analysis is queued for replay, either by this call or an earlier one.
+     */
+    public boolean defer(UUID userId, UUID profileId, String jobDescription, Throwable failure) {
+        try {
+            boolean created = deferredAnalysisQueue.park(userId, profileId, jobDescription,
+                    JobDescriptionUtils.normalizedHash(jobDescription), rootMessage(failure),
+                    Instant.now().plus(initialDelay));
+            if (created) {
+                log.info("Deferred analysis of profile {} until the AI service recovers", profileId);
+            }
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to defer analysis of profile {}: {}", profileId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Fetches the status, and once replayed the result, of a deferred analysis.
+     *
+     * @param id     The ID of the deferred analysis.
+     * @param userId The ID of the user.
+     * @return The deferred analysis.
+     */
+    public DeferredAnalysisDTO get(UUID id, UUID userId) {
+        DeferredAnalysis deferred = deferredAnalysisRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Deferred analysis not found"));
+
+        if (!deferred.getUserId().equals(userId)) {
+            throw new UnauthorizedAccessException("Unauthorized: Deferred analysis does not belong to user");
+        }
+
+        return DeferredAnalysisDTO.builder()
+                .id(deferred.getId())
+                .profileId(deferred.getProfileId())
+                .status(deferred.getStatus())
+                .attempts(deferred.getAttempts())
+                .result(readResult(deferred))
+                .createdAt(deferred.getCreatedAt())
+                .completedAt(deferred.getCompletedAt())
+                .build();
+    }
+
+    private AIJobAnalysisResponse readResult(DeferredAnalysis deferred) {
+        if (deferred.getResultJson() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(deferred.getResultJson(), AIJobAnalysisResponse.class);
+        } catch (Exception e) {
+            log.error("Stored result of deferred analysis {} is unreadable: {}", deferred.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static String rootMessage(Throwable failure) {
+        Throwable root = failure;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getClass().getSimpleName() + ": " + root.getMessage();
+    }
+}
@@ -0,0 +1,147 @@
+package com.paladin.jobApplication.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paladin.common.dto.AIJobAnalysisResponse;
+import com.paladin.common.dto.JobDetailsDTO;
+import com.paladin.common.enums.SearchDocumentType;
+import com.paladin.common.utils.MinHash;
+import com.paladin.jobApplication.JobDescriptionFingerprint;
+import com.paladin.jobApplication.repository.JobDescriptionFingerprintRepository;
+import com.paladin.search.SearchableContentChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * MinHash index over analysed job descriptions that finds near-duplicates, e.g. the same
+ * posting copied from LinkedIn and from the company site with small edits.
+ * Job details only depend on the posting and are shared across users; full analyses
+ * include the user's CV and are only ever served back to the same user.
+ */
+@Slf4j
+@Service
+public class JobDescriptionIndexService {
+
+    private static final int MAX_CANDIDATES = 50;
+
+    private final JobDescriptionFingerprintRepository fingerprintRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final double minSimilarity;
+    private final Duration retention;
+
+    public JobDescriptionIndexService(
+            JobDescriptionFingerprintRepository fingerprintRepository,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.job-index.min-similarity:0.8}") double minSimilarity,
+            @Value("${app.job-index.retention:30d}") Duration retention) {
+        this.fingerprintRepository = fingerprintRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.minSimilarity = minSimilarity;
+        this.retention = retention;
+    }
+
+    /**
+     * Records a completed analysis so later near-duplicate postings can reuse it.
+     */
+    public void record(UUID userId, String cvHash, String profileTitle, String jobDescription,
+                       AIJobAnalysisResponse response) {
+        try {
+            int[] signature = MinHash.signature(jobDescription);
+            JobDescriptionFingerprint saved = fingerprintRepository.save(JobDescriptionFingerprint.builder()
+                    .signature(MinHash.toBytes(signature))
+                    .bands(Arrays.stream(MinHash.bands(signature)).boxed().toList())
+                    .userId(userId)
+                    .cvHash(cvHash)
+                    .profileTitle(profileTitle)
+                    .jobDescription(jobDescription)
+                    .jobDetailsJson(response.getJobDetails() == null
+                            ? null
+                            : objectMapper.writeValueAsString(response.getJobDetails()))
+                    .responseJson(objectMapper.writeValueAsString(response))
+                    .createdAt(Instant.now())
+                    .build());
+            eventPublisher.publishEvent(
+                    new SearchableContentChangedEvent(userId, SearchDocumentType.JOB_DESCRIPTION, saved.getId()));
+        } catch (Exception e) {
+            log.warn("Failed to index job description: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Finds job details extracted from a near-duplicate posting, by any user.
+     */
+    public Optional<JobDetailsDTO> findJobDetails(String jobDescription) {
+        int[] signature = MinHash.signature(jobDescription);
+
+        return nearest(signature, fingerprintRepository.findCandidates(bandKeys(signature), MAX_CANDIDATES))
+                .filter(f -> f.getJobDetailsJson() != null)
+                .map(f -> read(f.getJobDetailsJson(), JobDetailsDTO.class));
+    }
+
+    /**
+     * Finds the user's own analysis of a near-duplicate posting made with the same CV and profile title.
+     */
+    public Optional<AIJobAnalysisResponse> findAnalysis(UUID userId, String cvHash, String profileTitle,
+                                                        String jobDescription) {
+        int[] signature = MinHash.signature(jobDescription);
+
+        List<JobDescriptionFingerprint> candidates = fingerprintRepository.findCandidatesForUser(
+                        userId, bandKeys(signature), MAX_CANDIDATES)
+                .stream()
+                .filter(f -> Objects.equals(f.getCvHash(), cvHash))
+                .filter(f -> Objects.equals(f.getProfileTitle(), profileTitle))
+                .toList();
+
+        return nearest(signature, candidates)
+                .map(f -> read(f.getResponseJson(), AIJobAnalysisResponse.class));
+    }
+
+    @Scheduled(cron = "${app.job-index.cleanup-cron:0 30 3 * * *}")
+    public void purgeOld() {
+        int deleted = fingerprintRepository.deleteCreatedBefore(Instant.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Purged {} old job description fingerprints", deleted);
+        }
+    }
+
+    // Band matches are only candidates; confirm with the estimated similarity
+    private Optional<JobDescriptionFingerprint> nearest(int[] signature, List<JobDescriptionFingerprint> candidates) {
+        return candidates.stream()
+                .filter(f -> similarity(signature, f) >= minSimilarity)
+                .max(Comparator.comparingDouble(f -> similarity(signature, f)));
+    }
+
+    private double similarity(int[] signature, JobDescriptionFingerprint fingerprint) {
+        return MinHash.similarity(signature, MinHash.fromBytes(fingerprint.getSignature()));
+    }
+
+    private String bandKeys(int[] signature) {
+        return Arrays.stream(MinHash.bands(signature))
+                .mapToObj(Long::toString)
+                .collect(Collectors.joining(","));
+    }
+
+    private <T> T read(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (Exception e) {
+            log.warn("Discarding unreadable indexed {}: {}", type.getSimpleName(), e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.paladin.jobApplication.service;
+
+import com.paladin.common.dto.JobMatchAnalysisDTO;
+import com.paladin.common.dto.ProfileResponseDTO;
+import com.paladin.common.utils.AhoCorasick;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Scores a CV against a job description without calling the model, in a few milliseconds.
+ * Skills come from an Aho-Corasick scan over a curated dictionary plus the profile's own
+ * skills; overall text similarity is a TF-IDF cosine. The result is a preliminary answer
+ * shown while the model works, the degraded-mode answer when it is unavailable, and a
+ * cheap pre-filter for batch analysis.
+ */
+@Slf4j
+@Service
+public class LocalMatchService {
+
+    public static final String CONFIDENCE_LEVEL = "Preliminary";
+
+    private static final String DICTIONARY = "skills/skills.txt";
+    private static final Pattern TOKEN_SPLIT = Pattern.compile("[^\\p{L}\\p{N}+#]+");
+    private static final int MAX_VOCABULARY = 50_000;
+
+    // Weight of skill coverage vs. text similarity in the overall score
+    private static final double SKILL_WEIGHT = 0.7;
+    // Cosine similarity of a CV and a closely matching job description rarely exceeds this
+    private static final double STRONG_COSINE = 0.5;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "have", "in", "is",
+            "it", "its", "of", "on", "or", "our", "that", "the", "their", "this", "to", "we", "will",
+            "with", "you", "your", "i", "my", "me", "was", "were", "who", "all", "can", "also", "about",
+            "more", "other", "such", "into", "than", "any", "not", "but", "what", "which", "would");
+
+    private final AhoCorasick<String> skillMatcher;
+    private final Map<String, String> canonicalNames;
+
+    // Document frequencies learned from the job descriptions scored so far
+    private final Map<String, LongAdder> documentFrequency = new ConcurrentHashMap<>();
+    private final AtomicLong documentCount = new AtomicLong();
+
+    public LocalMatchService() {
+        Map<String, String> aliases = loadDictionary();
+        this.skillMatcher = new AhoCorasick<>(aliases);
+        this.canonicalNames = aliases;
+        log.info("Local matcher loaded {} skill terms", aliases.size());
+    }
+
+    /**
+     * Computes a preliminary match analysis.
+     *
+     * @param profile        The profile, whose skills count as the candidate's
+     * @param cvText         The extracted CV text
+     * @param jobDescription The job description
+     * @return A match analysis with confidence level {@value #CONFIDENCE_LEVEL}
+     */
+    public JobMatchAnalysisDTO preScore(ProfileResponseDTO profile, String cvText, String jobDescription) {
+        long start = System.nanoTime();
+
+        Set<String> requiredSkills = skillMatcher.findAll(jobDescription);
+        Set<String> candidateSkills = new LinkedHashSet<>(skillMatcher.findAll(cvText));
+        if (profile.getSkills() != null) {
+            for (String skill : profile.getSkills()) {
+                if (skill != null && !skill.isBlank()) {
+                    candidateSkills.add(canonicalNames.getOrDefault(skill.trim().toLowerCase(Locale.ROOT), skill.trim()));
+                }
+            }
+        }
+        Set<String> candidateKeys = lowerCase(candidateSkills);
+
+        List<String> matching = requiredSkills.stream()
+                .filter(skill -> candidateKeys.contains(skill.toLowerCase(Locale.ROOT)))
+                .toList();
+        List<String> missing = requiredSkills.stream()
+                .filter(skill -> !candidateKeys.contains(skill.toLowerCase(Locale.ROOT)))
+                .toList();
+
+        double cosine = cosineSimilarity(cvText, jobDescription);
+        double textScore = Math.min(1.0, cosine / STRONG_COSINE);
+        double score = requiredSkills.isEmpty()
+                ? textScore
+                : SKILL_WEIGHT * matching.size() / requiredSkills.size() + (1 - SKILL_WEIGHT) * textScore;
+
+        log.debug("Local pre-score computed in {} µs", (System.nanoTime() - start) / 1_000);
+        return JobMatchAnalysisDTO.builder()
+                .overallMatchPercentage((int) Math.round(score * 100))
+                .matchingSkills(matching)
+                .missingSkills(missing)
+                .recommendation("Preliminary score based on the skills and keywords your CV shares with the "
+                        + "job description. The full AI analysis weighs experience and context as well.")
+                .confidenceLevel(CONFIDENCE_LEVEL)
+                .build();
+    }
+
+    /**
+     * @return The canonical names of the dictionary skills mentioned in the text, in order of appearance.
+     */
+    public Set<String> detectSkills(String text) {
+        return skillMatcher.findAll(text);
+    }
+
+    private double cosineSimilarity(String cvText, String jobDescription) {
+        Map<String, Integer> jdTerms = termFrequencies(jobDescription);
+        Map<String, Integer> cvTerms = termFrequencies(cvText);
+        learn(jdTerms.keySet());
+
+        Map<String, Double> jdVector = weigh(jdTerms);
+        Map<String, Double> cvVector = weigh(cvTerms);
+
+        double dot = 0;
+        for (Map.Entry<String, Double> entry : jdVector.entrySet()) {
+            Double other = cvVector.get(entry.getKey());
+            if (other != null) {
+                dot += entry.getValue() * other;
+            }
+        }
+        double norms = norm(jdVector) * norm(cvVector);
+        return norms == 0 ? 0 : dot / norms;
+    }
+
+    private Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        if (text == null) {
+            return frequencies;
+        }
+        for (String token : TOKEN_SPLIT.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+                frequencies.merge(token, 1, Integer::sum);
+            }
+        }
+        return frequencies;
+    }
+
+    // Sublinear tf times smoothed idf; with no history every idf is 1 and this is plain tf cosine
+    private Map<String, Double> weigh(Map<String, Integer> frequencies) {
+        long documents = documentCount.get();
+        Map<String, Double> vector = new HashMap<>();
+        frequencies.forEach((term, count) -> {
+            LongAdder df = documentFrequency.get(term);
+            double idf = Math.log((documents + 1.0) / ((df == null ? 0 : df.sum()) + 1.0)) + 1.0;
+            vector.put(term, (1 + Math.log(count)) * idf);
+        });
+        return vector;
+    }
+
+    private void learn(Set<String> terms) {
+        documentCount.incrementAndGet();
+        for (String term : terms) {
+            LongAdder df = documentFrequency.get(term);
+            if (df == null) {
+                if (documentFrequency.size() >= MAX_VOCABULARY) {
+                    continue;
+                }
+                df = documentFrequency.computeIfAbsent(term, ignored -> new LongAdder());
+            }
+            df.increment();
+        }
+    }
+
+    private static double norm(Map<String, Double> vector) {
+        double sum = 0;
+        for (double value : vector.values()) {
+            sum += value * value;
+        }
+        return Math.sqrt(sum);
+    }
+
+    private static Set<String> lowerCase(Set<String> values) {
+        Set<String> lower = new LinkedHashSet<>();
+        for (String value : values) {
+            lower.add(value.toLowerCase(Locale.ROOT));
+        }
+        return lower;
+    }
+
+    // Maps every alias, and the canonical name itself, to the canonical name
+    private static Map<String, String> loadDictionary() {
+        Map<String, String> aliases = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(DICTIONARY).getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] names = line.split("\\|");
+                String canonical = names[0].trim();
+                for (String name : names) {
+                    aliases.putIfAbsent(name.trim().toLowerCase(Locale.ROOT), canonical);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load skill dictionary " + DICTIONARY, e);
+        }
+        return aliases;
+    }
+}
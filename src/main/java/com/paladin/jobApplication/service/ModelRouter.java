@@ -0,0 +1,260 @@
+package com.paladin.jobApplication.service;
+
+import com.paladin.common.enums.UserTier;
+import com.paladin.common.utils.CacheablePrompt;
+import com.paladin.user.repository.UserRepository;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.anthropic.AnthropicChatOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picks the model and token budget for each call to the Anthropic API.
+ * <p>
+ * Models are configured from most to least capable. Light prompts go to the cheapest model,
+ * heavy prompts and premium users start at the most capable one, and everything else starts
+ * one step down. From there a model is skipped while its recent p95 latency is over the SLO
+ * or its circuit breaker is open, so calls move to a faster, cheaper model instead of failing;
+ * more capable models are only tried once every cheaper one is unavailable. Latency samples
+ * expire after latency-max-age, so a skipped model, which gets no new samples, is tried again
+ * once its slow calls have aged out.
+ */
+@Slf4j
+@Component
+public class ModelRouter {
+
+    public static final String SECTION = "section";
+    public static final String FAN_OUT = "fan_out";
+
+    // Fewer recent calls than this say nothing useful about a model's latency
+    private static final int MIN_LATENCY_SAMPLES = 10;
+
+    private static final String BASE_CIRCUIT_BREAKER = "claudeAIService";
+
+    /**
+     * @param model     The model to call.
+     * @param maxTokens The completion budget.
+     */
+    public record Route(String model, int maxTokens) {
+
+        public AnthropicChatOptions options() {
+            return AnthropicChatOptions.builder()
+                    .model(model)
+                    .maxTokens(maxTokens)
+                    .build();
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final MeterRegistry meterRegistry;
+    private final List<String> models;
+    private final int lightPromptChars;
+    private final int heavyPromptChars;
+    private final Duration latencySlo;
+    private final int latencyWindow;
+    private final Duration latencyMaxAge;
+    private final int maxTokens;
+    private final int sectionMaxTokens;
+
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    public ModelRouter(
+            UserRepository userRepository,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${app.ai.routing.models:${spring.ai.anthropic.chat.options.model}}") String models,
+            @Value("${app.ai.routing.light-prompt-chars:6000}") int lightPromptChars,
+            @Value("${app.ai.routing.heavy-prompt-chars:20000}") int heavyPromptChars,
+            @Value("${app.ai.routing.latency-slo:20s}") Duration latencySlo,
+            @Value("${app.ai.routing.latency-window:50}") int latencyWindow,
+            @Value("${app.ai.routing.latency-max-age:5m}") Duration latencyMaxAge,
+            @Value("${app.ai.routing.max-tokens:${spring.ai.anthropic.chat.options.max-tokens:1500}}") int maxTokens,
+            @Value("${app.ai.routing.section-max-tokens:700}") int sectionMaxTokens) {
+        this.userRepository = userRepository;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.meterRegistry = meterRegistry;
+        this.models = Arrays.stream(models.split(","))
+                .map(String::trim)
+                .filter(model -> !model.isEmpty())
+                .toList();
+        this.lightPromptChars = lightPromptChars;
+        this.heavyPromptChars = heavyPromptChars;
+        this.latencySlo = latencySlo;
+        this.latencyWindow = latencyWindow;
+        this.latencyMaxAge = latencyMaxAge;
+        this.maxTokens = maxTokens;
+        this.sectionMaxTokens = sectionMaxTokens;
+
+        if (this.models.isEmpty()) {
+            throw new IllegalStateException("app.ai.routing.models must name at least one model");
+        }
+        log.info("Model router configured with models {} and latency SLO {}", this.models, latencySlo);
+    }
+
+    /**
+     * Looks up the service tier of the user a call is for. Resolve it once per call and pass
+     * it to every {@link #route}, so retries do not query it again.
+     *
+     * @param userId The user the call is for, or null.
+     */
+    public UserTier tier(UUID userId) {
+        return userId == null
+                ? UserTier.FREE
+                : userRepository.findTierById(userId).orElse(UserTier.FREE);
+    }
+
+    /**
+     * Chooses where to send a call. The caller must report how the call went with
+     * {@link #onSuccess}, {@link #onError} or {@link #release}.
+     *
+     * @param operation What the call is for, e.g. "analysis" or {@value #SECTION}.
+     * @param prompt    The prompt, whose size weighs in the choice.
+     * @param tier      The tier of the user the call is for, from {@link #tier}.
+     * @throws CallNotPermittedException If the circuit of every model is open.
+     */
+    public Route route(String operation, CacheablePrompt prompt, UserTier tier) {
+        int start = startIndex(prompt.prefix().length() + prompt.suffix().length(), tier);
+        int last = models.size() - 1;
+
+        for (int index : candidateOrder(start)) {
+            String model = models.get(index);
+            // Only skip a slow model while there is a faster one left to fall back to
+            if (index < last && isOverLatencySlo(model)) {
+                continue;
+            }
+            if (circuitBreaker(model).tryAcquirePermission()) {
+                meterRegistry.counter("paladin.ai.routes",
+                        "model", model,
+                        "operation", operation,
+                        "tier", tier.name(),
+                        "rerouted", Boolean.toString(index != start)).increment();
+                if (index != start) {
+                    log.info("Routing {} call to {} instead of {}", operation, model, models.get(start));
+                }
+                return new Route(model, SECTION.equals(operation) || FAN_OUT.equals(operation)
+                        ? sectionMaxTokens
+                        : maxTokens);
+            }
+        }
+        throw CallNotPermittedException.createCallNotPermittedException(circuitBreaker(models.get(start)));
+    }
+
+    public void onSuccess(Route route, Duration latency) {
+        circuitBreaker(route.model()).onSuccess(latency.toNanos(), TimeUnit.NANOSECONDS);
+        latencies.computeIfAbsent(route.model(), ignored -> new LatencyWindow(latencyWindow)).add(latency.toNanos());
+    }
+
+    /**
+     * Records a successful stream. A stream's duration mostly measures how long the answer was,
+     * so it is not a latency sample.
+     */
+    public void onSuccess(Route route) {
+        circuitBreaker(route.model()).onSuccess(0, TimeUnit.NANOSECONDS);
+    }
+
+    public void onError(Route route, Duration latency, Throwable error) {
+        circuitBreaker(route.model()).onError(latency.toNanos(), TimeUnit.NANOSECONDS, error);
+    }
+
+    /**
+     * Gives back the call permission of a route whose call was cancelled before it finished.
+     */
+    public void release(Route route) {
+        circuitBreaker(route.model()).releasePermission();
+    }
+
+    private int startIndex(int promptChars, UserTier tier) {
+        int last = models.size() - 1;
+        if (promptChars <= lightPromptChars) {
+            return last;
+        }
+        if (tier == UserTier.PREMIUM || promptChars >= heavyPromptChars) {
+            return 0;
+        }
+        return Math.min(1, last);
+    }
+
+    // Down the list from the start first, then up it
+    private List<Integer> candidateOrder(int start) {
+        List<Integer> order = new ArrayList<>();
+        for (int i = start; i < models.size(); i++) {
+            order.add(i);
+        }
+        for (int i = start - 1; i >= 0; i--) {
+            order.add(i);
+        }
+        return order;
+    }
+
+    private boolean isOverLatencySlo(String model) {
+        LatencyWindow window = latencies.get(model);
+        return window != null
+                && window.p95(MIN_LATENCY_SAMPLES, latencyMaxAge.toNanos()) > latencySlo.toNanos();
+    }
+
+    // One breaker per model, configured like the service-wide claudeAIService breaker
+    private CircuitBreaker circuitBreaker(String model) {
+        CircuitBreakerConfig config = circuitBreakerRegistry.circuitBreaker(BASE_CIRCUIT_BREAKER)
+                .getCircuitBreakerConfig();
+        return circuitBreakerRegistry.circuitBreaker(BASE_CIRCUIT_BREAKER + ":" + model, config);
+    }
+
+    /**
+     * The most recent call latencies of one model, with when each was recorded.
+     */
+    static final class LatencyWindow {
+
+        private final long[] samples;
+        private final long[] recordedAt;
+        private int next;
+        private int count;
+
+        LatencyWindow(int size) {
+            this.samples = new long[Math.max(1, size)];
+            this.recordedAt = new long[samples.length];
+        }
+
+        synchronized void add(long nanos) {
+            samples[next] = nanos;
+            recordedAt[next] = System.nanoTime();
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        /**
+         * @return The 95th percentile in nanoseconds of the samples at most {@code maxAgeNanos} old,
+         * or -1 with fewer than {@code minSamples} of them.
+         */
+        synchronized long p95(int minSamples, long maxAgeNanos) {
+            long now = System.nanoTime();
+            long[] recent = new long[count];
+            int recentCount = 0;
+            for (int i = 0; i < count; i++) {
+                if (now - recordedAt[i] <= maxAgeNanos) {
+                    recent[recentCount++] = samples[i];
+                }
+            }
+            if (recentCount < minSamples) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(recent, recentCount);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.ceil(0.95 * recentCount) - 1];
+        }
+    }
+}
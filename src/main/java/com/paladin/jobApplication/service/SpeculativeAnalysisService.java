@@ -0,0 +1,127 @@
+package com.paladin.jobApplication.service;
+
+import com.paladin.common.dto.AIJobAnalysisResponse;
+import com.paladin.common.dto.JobDetailsDTO;
+import com.paladin.common.dto.JobMatchAnalysisDTO;
+import com.paladin.common.dto.ProfileResponseDTO;
+import com.paladin.common.utils.JobDescriptionUtils;
+import com.paladin.coverLetter.service.CoverletterService;
+import com.paladin.user.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Builds an instant answer to show while the model works: job details picked out of the
+ * posting locally, the local match analysis, and a cover letter filled in from the cover
+ * letter templates. It carries {@link AIJobAnalysisResponse#TEMPLATE_VERSION}; the full
+ * analysis that replaces it carries {@link AIJobAnalysisResponse#ANALYSED_VERSION}.
+ */
+@Slf4j
+@Service
+public class SpeculativeAnalysisService {
+
+    private static final Pattern YEARS = Pattern.compile("(\\d{1,2})\\s*\\+?\\s*years?", Pattern.CASE_INSENSITIVE);
+    private static final int TOP_SKILLS = 3;
+
+    private final CoverletterService coverletterService;
+    private final LocalMatchService localMatchService;
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final String tone;
+
+    public SpeculativeAnalysisService(
+            CoverletterService coverletterService,
+            LocalMatchService localMatchService,
+            UserRepository userRepository,
+            @Value("${app.ai.speculative.enabled:true}") boolean enabled,
+            @Value("${app.ai.speculative.tone:professional}") String tone) {
+        this.coverletterService = coverletterService;
+        this.localMatchService = localMatchService;
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.tone = tone;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param profile        The profile, whose title and skills fill gaps the posting leaves
+     * @param cvText         The extracted CV text
+     * @param jobDescription The job description
+     * @return The template answer, or empty if speculation is off or failed; it never holds up the real analysis.
+     */
+    public Optional<AIJobAnalysisResponse> speculate(ProfileResponseDTO profile, String cvText,
+                                                     String jobDescription) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        long start = System.nanoTime();
+        try {
+            JobDetailsDTO jobDetails = JobDescriptionUtils.extractJobDetails(jobDescription);
+            jobDetails.setKeySkills(new ArrayList<>(localMatchService.detectSkills(jobDescription)));
+            JobMatchAnalysisDTO matchAnalysis = localMatchService.preScore(profile, cvText, jobDescription);
+
+            Map<String, String> values = new HashMap<>();
+            values.put("company", jobDetails.getCompany() == null ? "your company" : jobDetails.getCompany());
+            values.put("position", jobDetails.getPosition() == null ? profile.getTitle() : jobDetails.getPosition());
+            values.put("candidateName", candidateName(profile));
+            values.put("topSkills", topSkills(matchAnalysis, profile));
+            values.put("experience", experience(cvText));
+
+            AIJobAnalysisResponse response = AIJobAnalysisResponse.builder()
+                    .jobDetails(jobDetails)
+                    .coverLetter(coverletterService.generate(tone, values))
+                    .matchAnalysis(matchAnalysis)
+                    .coverLetterVersion(AIJobAnalysisResponse.TEMPLATE_VERSION)
+                    .build();
+            log.debug("Speculative analysis built in {} µs", (System.nanoTime() - start) / 1_000);
+            return Optional.of(response);
+        } catch (Exception e) {
+            log.warn("Could not build speculative analysis for profile {}: {}", profile.getId(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private String candidateName(ProfileResponseDTO profile) {
+        return userRepository.findById(profile.getUserId())
+                .map(user -> user.getFirstName() + " " + user.getLastName())
+                .orElse(null);
+    }
+
+    // Skills the CV shares with the posting, else the profile's own
+    private String topSkills(JobMatchAnalysisDTO matchAnalysis, ProfileResponseDTO profile) {
+        List<String> skills = matchAnalysis.getMatchingSkills() == null || matchAnalysis.getMatchingSkills().isEmpty()
+                ? profile.getSkills()
+                : matchAnalysis.getMatchingSkills();
+        if (skills == null || skills.isEmpty()) {
+            return null;
+        }
+        List<String> top = skills.subList(0, Math.min(TOP_SKILLS, skills.size()));
+        return top.size() == 1
+                ? top.get(0)
+                : String.join(", ", top.subList(0, top.size() - 1)) + " and " + top.get(top.size() - 1);
+    }
+
+    // The longest span of years the CV mentions, e.g. "7+ years"
+    private String experience(String cvText) {
+        int years = 0;
+        if (cvText != null) {
+            Matcher matcher = YEARS.matcher(cvText);
+            while (matcher.find()) {
+                years = Math.max(years, Integer.parseInt(matcher.group(1)));
+            }
+        }
+        return years > 0 ? years + "+ years" : "several years";
+    }
+}
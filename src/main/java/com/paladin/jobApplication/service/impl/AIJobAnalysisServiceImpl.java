@@ -3,21 +3,49 @@ package com.paladin.jobApplication.service.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.paladin.common.dto.*;
-import com.paladin.cv.service.impl.CVServiceImpl;
+import com.paladin.cv.service.CVTextCacheService;
 import com.paladin.common.exceptions.CVNotFoundException;
 import com.paladin.profile.service.ProfileService;
+import com.paladin.common.utils.AIResponseParser;
 import com.paladin.common.utils.BuildComprehensivePrompt;
-import com.paladin.common.utils.PDFTextExtractor;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import com.paladin.common.utils.CacheablePrompt;
+import com.paladin.common.utils.CVTextNormalizer;
+import com.paladin.common.utils.JobDescriptionUtils;
+import com.paladin.common.utils.JsonSectionScanner;
+import com.paladin.common.utils.SingleFlight;
+import com.paladin.jobApplication.service.AIGateway;
+import com.paladin.jobApplication.service.AIMetrics;
+import com.paladin.jobApplication.service.DeferredAnalysisService;
+import com.paladin.jobApplication.service.AnalysisResultCacheService;
+import com.paladin.jobApplication.service.JobDescriptionIndexService;
+import com.paladin.jobApplication.service.LocalMatchService;
+import com.paladin.jobApplication.service.ModelRouter;
+import com.paladin.jobApplication.service.SpeculativeAnalysisService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Recover;
-import org.springframework.retry.annotation.Retryable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 @Slf4j
@@ -25,10 +53,39 @@ import java.util.UUID;
 public class AIJobAnalysisServiceImpl {
 
     private final ProfileService profileService;
-    private final CVServiceImpl cvService;
-    private final ChatClient chatClient;
-    private final PDFTextExtractor pdfTextExtractor;
+    private final CVTextCacheService cvTextCacheService;
+    private final AnalysisResultCacheService analysisResultCacheService;
     private final ObjectMapper objectMapper;
+    private final CVTextNormalizer cvTextNormalizer;
+    private final AIResponseParser aiResponseParser;
+    private final JobDescriptionIndexService jobDescriptionIndexService;
+    private final LocalMatchService localMatchService;
+    private final MeterRegistry meterRegistry;
+    private final AIMetrics aiMetrics;
+    private final DeferredAnalysisService deferredAnalysisService;
+    private final ExecutorService analysisSectionExecutor;
+    private final AIGateway aiGateway;
+    private final SpeculativeAnalysisService speculativeAnalysisService;
+
+    // Generate each section in its own concurrent model call instead of one call for all three
+    @Value("${app.ai.fan-out.enabled:false}")
+    private boolean fanOutEnabled;
+
+    @Value("${app.ai.fan-out.section-timeout:45s}")
+    private Duration sectionTimeout;
+
+    // Send the first section alone, so the others read the prompt cache it writes
+    @Value("${app.ai.fan-out.warm-cache:true}")
+    private boolean warmCache;
+
+    // Identical analyses already running, keyed by user, profile and job description hash
+    private final SingleFlight<String, AIJobAnalysisResponse> inFlightAnalyses = new SingleFlight<>();
+
+    // Marks the canned fallback answer so it is never cached as a real analysis
+    private static final String TEMPLATE_CONFIDENCE_LEVEL = "Template Response";
+
+    private static final long STREAM_TIMEOUT_MS = 120_000;
+
 
     /**
      * Analyses a profile and job description to extract necessary information for job application and check the level of job match
@@ -37,6 +94,22 @@ public class AIJobAnalysisServiceImpl {
      * @return A cover letter, necessary company information and job match analysis
      */
     public AIJobAnalysisResponse analyseJobApplication(SmartAnalysisRequest request, UUID userId) {
+        // Double submits and duplicate tabs share one pipeline instead of paying for two
+        String key = userId + ":" + request.getProfileId() + ":"
+                + JobDescriptionUtils.normalizedHash(request.getJobDescription());
+
+        return inFlightAnalyses.execute(key,
+                () -> {
+                    meterRegistry.counter("paladin.analysis.requests", "outcome", "executed").increment();
+                    return runAnalysis(request, userId);
+                },
+                () -> {
+                    meterRegistry.counter("paladin.analysis.requests", "outcome", "collapsed").increment();
+                    log.info("Joining in-flight analysis for profile {}", request.getProfileId());
+                });
+    }
+
+    private AIJobAnalysisResponse runAnalysis(SmartAnalysisRequest request, UUID userId) {
         try {
             ProfileResponseDTO profile = profileService.getProfileById(request.getProfileId(), userId);
 
@@ -44,23 +117,10 @@ public class AIJobAnalysisServiceImpl {
                 throw new CVNotFoundException("No CV found for this profile");
             }
 
-            log.info("Downloading CV for analysis: {}", profile.getCv().getFileName());
-            byte[] cvBytes = cvService.downloadCV(profile.getCv().getId(), userId);
-
-            log.info("Extracting text from CV...");
-            String cvText = pdfTextExtractor.getText(cvBytes);
-
-            String prompt = BuildComprehensivePrompt.prompt(
-                    profile.getTitle(),
-                    cvText,
-                    request.getJobDescription()
-            );
-
-            // Call Claude AI with retry logic
-            String aiResponse = callClaudeAIWithRetry(prompt);
+            // Cheap once cached; also backfills the content hash of older CVs
+            String cvText = cvTextCacheService.getText(profile.getCv(), userId);
 
-            log.debug("Raw AI Response received: {}", aiResponse);
-            return parseAIResponse(aiResponse);
+            return analyseWithCvText(profile, cvText, request.getJobDescription());
         } catch (CVNotFoundException e) {
             log.error("CV not found: {}", e.getMessage());
             throw e;
@@ -70,47 +130,393 @@ public class AIJobAnalysisServiceImpl {
         }
     }
 
-    @CircuitBreaker(name = "claudeAIService", fallbackMethod = "fallbackClaudeAI")
-    @Retryable(
-            retryFor = {RuntimeException.class},
-            maxAttempts = 3,
-            backoff = @Backoff(
-                    delay = 1000,
-                    multiplier = 2.0,
-                    maxDelay = 5000
-            )
-    )
-    private String callClaudeAIWithRetry(String prompt) {
-        log.info("Calling Claude AI API (with circuit breaker + retry)...");
+    /**
+     * Analyses a job description against a profile whose CV text has already been extracted,
+     * so callers analysing many job descriptions only download and parse the CV once.
+     *
+     * @param profile        The profile, with its CV
+     * @param cvText         The extracted CV text
+     * @param jobDescription The job description
+     * @return A cover letter, necessary company information and job match analysis
+     */
+    public AIJobAnalysisResponse analyseWithCvText(ProfileResponseDTO profile, String cvText, String jobDescription) {
+        return analyse(profile, cvText, jobDescription, true);
+    }
+
+    /**
+     * Like {@link #analyseWithCvText}, but never degrades to a fallback answer: if the model is
+     * unavailable it throws, so callers that report failures themselves, such as batches, do not
+     * mix template answers in with real ones.
+     *
+     * @param profile        The profile, with its CV
+     * @param cvText         The extracted CV text
+     * @param jobDescription The job description
+     * @return A cover letter, necessary company information and job match analysis
+     */
+    public AIJobAnalysisResponse analyseWithoutFallback(ProfileResponseDTO profile, String cvText,
+                                                        String jobDescription) {
+        return analyse(profile, cvText, jobDescription, false);
+    }
+
+    /**
+     * Runs an analysis for a background caller that retries on its own: the analysis job worker and
+     * the dead-letter queue replay. Unlike {@link #analyseWithCvText} it never degrades to a fallback
+     * answer: if the model is unavailable it throws, so the caller can try again later.
+     *
+     * @param profileId      The ID of the profile
+     * @param userId         The ID of the user
+     * @param jobDescription The job description
+     * @return A cover letter, necessary company information and job match analysis
+     */
+    public AIJobAnalysisResponse replayAnalysis(UUID profileId, UUID userId, String jobDescription) {
+        ProfileResponseDTO profile = profileService.getProfileById(profileId, userId);
+
+        if (profile.getCv() == null) {
+            throw new CVNotFoundException("No CV found for this profile");
+        }
+
+        String cvText = cvTextCacheService.getText(profile.getCv(), userId);
+        return analyse(profile, cvText, jobDescription, false);
+    }
+
+    private AIJobAnalysisResponse analyse(ProfileResponseDTO profile, String cvText, String jobDescription,
+                                          boolean degradeOnFailure) {
+        String cacheKey = analysisResultCacheService.key(
+                profile.getCv().getContentHash(),
+                profile.getTitle(),
+                jobDescription);
+        Optional<AIJobAnalysisResponse> cached = analysisResultCacheService.get(cacheKey);
+        if (cached.isPresent()) {
+            log.info("Returning cached analysis for profile {}", profile.getId());
+            return cached.get();
+        }
+
+        String compactCvText = cvTextNormalizer.normalize(cvText);
+        String compactJobDescription = cvTextNormalizer.limitJobDescription(jobDescription);
+
+        // Job details of a posting we have seen before need not be paid for again
+        JobDetailsDTO knownJobDetails = jobDescriptionIndexService.findJobDetails(jobDescription).orElse(null);
+        CacheablePrompt prompt = knownJobDetails == null
+                ? BuildComprehensivePrompt.prompt(profile.getTitle(), compactCvText, compactJobDescription)
+                : BuildComprehensivePrompt.sectionsPrompt(
+                List.of(AIResponseParser.COVER_LETTER, AIResponseParser.MATCH_ANALYSIS),
+                profile.getTitle(), compactCvText, compactJobDescription);
+
+        // Call Claude AI with retry logic
+        String aiResponse = null;
+        AIResponseParser.Result sections = null;
         try {
-            String response = chatClient.prompt()
-                    .user(prompt)
-                    .call()
-                    .content();
-            log.info("Claude AI responded successfully");
-            return response;
-        } catch (Exception e) {
-            log.warn("Claude AI call failed: {} - Will retry...", e.getMessage());
-            throw new RuntimeException("Claude AI API call failed", e);
+            if (fanOutEnabled) {
+                // The short section goes first, since the others may wait for it to warm the cache
+                sections = fanOutSections(knownJobDetails == null
+                                ? AIResponseParser.SECTIONS
+                                : List.of(AIResponseParser.MATCH_ANALYSIS, AIResponseParser.COVER_LETTER),
+                        profile.getTitle(), compactCvText, compactJobDescription, profile.getUserId());
+            } else {
+                aiResponse = aiGateway.call("analysis", prompt, profile.getUserId());
+            }
+        } catch (RuntimeException e) {
+            if (!degradeOnFailure) {
+                throw e;
+            }
+            deferredAnalysisService.defer(profile.getUserId(), profile.getId(), jobDescription, e);
+
+            Optional<AIJobAnalysisResponse> prior = jobDescriptionIndexService.findAnalysis(
+                    profile.getUserId(), profile.getCv().getContentHash(), profile.getTitle(), jobDescription);
+            if (prior.isPresent()) {
+                log.warn("Claude AI unavailable, serving prior analysis of a similar posting for profile {}",
+                        profile.getId());
+                aiMetrics.recordFallback("prior_analysis");
+                // Written for another posting, so it must not supersede the template as this one's analysis
+                prior.get().setCoverLetterVersion(null);
+                return prior.get();
+            }
+            log.warn("Claude AI unavailable, serving local match analysis for profile {}", profile.getId());
+            aiMetrics.recordFallback("local_match");
+            return degradedResponse(e, knownJobDetails,
+                    localMatchService.preScore(profile, cvText, jobDescription));
+        }
+
+        AIJobAnalysisResponse response;
+        if (sections != null) {
+            response = sections.response();
+            if (knownJobDetails != null) {
+                response.setJobDetails(knownJobDetails);
+            }
+            if (!sections.isComplete()) {
+                if (!degradeOnFailure) {
+                    throw new IllegalStateException("Analysis sections failed: " + sections.missingSections());
+                }
+                // Keep what the model produced; the partial answer is not cached, so the next request retries
+                log.warn("Serving partial analysis for profile {}, missing sections: {}",
+                        profile.getId(), sections.missingSections());
+                aiMetrics.recordFallback("partial_analysis");
+                fillMissingSections(response, sections.missingSections(), profile, cvText, jobDescription);
+                return response;
+            }
+        } else {
+            log.debug("Raw AI Response received: {}", aiResponse);
+            response = parseWithRepair(aiResponse, profile.getTitle(), compactCvText, compactJobDescription,
+                    knownJobDetails, profile.getUserId());
+            if (response == null) {
+                if (!degradeOnFailure) {
+                    throw new IllegalStateException("AI response could not be parsed");
+                }
+                return parsingErrorResponse();
+            }
+        }
+
+        if (!isTemplateResponse(response)) {
+            // Only a complete answer from the model supersedes the template; the degraded returns above leave it unset.
+            // Set before caching, since the cache hands the same object to every reader.
+            response.setCoverLetterVersion(AIJobAnalysisResponse.ANALYSED_VERSION);
+            analysisResultCacheService.put(cacheKey, response);
+            jobDescriptionIndexService.record(profile.getUserId(), profile.getCv().getContentHash(),
+                    profile.getTitle(), jobDescription, response);
+        }
+        return response;
+    }
+
+    /**
+     * Scores a profile against a job description locally, without calling the model.
+     *
+     * @param request A DTO that contains the profileId and job description
+     * @param userId  The ID of the user
+     * @return A preliminary match analysis
+     */
+    public JobMatchAnalysisDTO preScoreJobApplication(SmartAnalysisRequest request, UUID userId) {
+        ProfileResponseDTO profile = profileService.getProfileById(request.getProfileId(), userId);
+
+        if (profile.getCv() == null) {
+            throw new CVNotFoundException("No CV found for this profile");
+        }
+
+        String cvText = cvTextCacheService.getText(profile.getCv(), userId);
+        return localMatchService.preScore(profile, cvText, request.getJobDescription());
+    }
+
+    /**
+     * Streams an analysis as server-sent events. A local "preScore" is sent first, followed by a
+     * "speculative" template answer when enabled, then
+     * "jobDetails" and "matchAnalysis" are sent as soon as
+     * their JSON is complete, the cover letter arrives as "coverLetter" text deltas, and a final
+     * "complete" event carries the full response, which supersedes the speculative one.
+     *
+     * @param request A DTO that contains the profileId and job description
+     * @param userId  The ID of the user
+     * @return An emitter that is completed when the model finishes
+     */
+    public SseEmitter streamJobApplicationAnalysis(SmartAnalysisRequest request, UUID userId) {
+        ProfileResponseDTO profile = profileService.getProfileById(request.getProfileId(), userId);
+
+        if (profile.getCv() == null) {
+            throw new CVNotFoundException("No CV found for this profile");
+        }
+
+        String cvText = cvTextCacheService.getText(profile.getCv(), userId);
+        String cacheKey = analysisResultCacheService.key(
+                profile.getCv().getContentHash(),
+                profile.getTitle(),
+                request.getJobDescription());
+
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+
+        Optional<AIJobAnalysisResponse> cached = analysisResultCacheService.get(cacheKey);
+        if (cached.isPresent()) {
+            log.info("Streaming cached analysis for profile {}", profile.getId());
+            AIJobAnalysisResponse response = cached.get();
+            sendEvent(emitter, "jobDetails", response.getJobDetails());
+            sendEvent(emitter, "coverLetter", response.getCoverLetter());
+            sendEvent(emitter, "matchAnalysis", response.getMatchAnalysis());
+            sendEvent(emitter, "complete", response);
+            emitter.complete();
+            return emitter;
         }
+
+        sendEvent(emitter, "preScore", localMatchService.preScore(profile, cvText, request.getJobDescription()));
+        speculativeAnalysisService.speculate(profile, cvText, request.getJobDescription())
+                .ifPresent(speculative -> sendEvent(emitter, "speculative", speculative));
+
+        String compactCvText = cvTextNormalizer.normalize(cvText);
+        String compactJobDescription = cvTextNormalizer.limitJobDescription(request.getJobDescription());
+        CacheablePrompt prompt = BuildComprehensivePrompt.prompt(
+                profile.getTitle(),
+                compactCvText,
+                compactJobDescription
+        );
+
+        // The model stream and the repair calls after it; timing out or a client leaving cancels both
+        Disposable.Composite subscriptions = Disposables.composite();
+        StringBuilder fullResponse = new StringBuilder();
+        JsonSectionScanner scanner = new JsonSectionScanner(new JsonSectionScanner.Listener() {
+            @Override
+            public void onSection(String key, String rawJson) {
+                switch (key) {
+                    case "jobDetails" -> sendSection(emitter, key, rawJson, JobDetailsDTO.class);
+                    case "matchAnalysis" -> sendSection(emitter, key, rawJson, JobMatchAnalysisDTO.class);
+                    default -> {
+                    }
+                }
+            }
+
+            @Override
+            public void onStringDelta(String key, String text) {
+                if ("coverLetter".equals(key) && !sendEvent(emitter, "coverLetter", text)) {
+                    subscriptions.dispose();
+                }
+            }
+        });
+
+        log.info("Streaming Claude AI analysis for profile {}", profile.getId());
+        subscriptions.add(aiGateway.stream("stream", prompt, userId)
+                .mapNotNull(chunk -> chunk.getResult() == null ? null : chunk.getResult().getOutput().getText())
+                .subscribe(
+                        chunk -> {
+                            fullResponse.append(chunk);
+                            scanner.feed(chunk);
+                        },
+                        error -> {
+                            log.error("Claude AI stream failed: {}", error.getMessage());
+                            boolean deferred = deferredAnalysisService.defer(
+                                    userId, profile.getId(), request.getJobDescription(), error);
+                            sendEvent(emitter, "error", deferred
+                                    ? "AI analysis is unavailable right now. We will notify you when it is ready."
+                                    : "AI analysis failed. Please try again.");
+                            emitter.complete();
+                        },
+                        // repairs call the model again, so keep them off the stream's event loop
+                        () -> subscriptions.add(Mono.fromCallable(() -> Optional.ofNullable(parseWithRepair(
+                                        fullResponse.toString(), profile.getTitle(), compactCvText,
+                                        compactJobDescription, null, userId)))
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .subscribe(
+                                        parsed -> {
+                                            AIJobAnalysisResponse response = parsed.orElseGet(this::parsingErrorResponse);
+                                            if (parsed.isPresent()) {
+                                                response.setCoverLetterVersion(AIJobAnalysisResponse.ANALYSED_VERSION);
+                                                analysisResultCacheService.put(cacheKey, response);
+                                                jobDescriptionIndexService.record(userId, profile.getCv().getContentHash(),
+                                                        profile.getTitle(), request.getJobDescription(), response);
+                                            }
+                                            sendEvent(emitter, "complete", response);
+                                            emitter.complete();
+                                        },
+                                        error -> {
+                                            log.error("Finishing streamed analysis failed: {}", error.getMessage(), error);
+                                            sendEvent(emitter, "error", "AI analysis failed. Please try again.");
+                                            emitter.complete();
+                                        }))));
+
+        emitter.onTimeout(subscriptions::dispose);
+        emitter.onError(e -> subscriptions.dispose());
+        return emitter;
     }
 
     /**
-     * Circuit breaker fallback - called when Claude AI circuit is OPEN.
-     * Returns a template response so user can still send their application.
+     * Asks for each section in its own model call on virtual threads, so the analysis takes about
+     * as long as the slowest section rather than all of them in a row. A section that fails,
+     * cannot be parsed or is not done within the section timeout is reported missing; the others are kept.
+     * <p>
+     * The section prompts share their cached prefix, but a cache entry can only be read once a call
+     * has written it: sections sent all at once each pay the cache-write price for the CV. With
+     * warm-cache on, the first section is sent alone and the rest start once it is done, trading
+     * that section's latency for cache reads on the others.
+     *
+     * @return The sections that came back, and those that did not.
+     * @throws RuntimeException If no section came back.
      */
-    private String fallbackClaudeAI(String prompt, Exception e) {
-        log.error("Circuit breaker OPEN for Claude AI service");
-        log.error("Reason: {}", e.getMessage());
+    private AIResponseParser.Result fanOutSections(List<String> sections, String title, String cvText,
+                                                   String jobDescription, UUID userId) {
+        Map<String, Future<String>> calls = new LinkedHashMap<>();
+        String first = sections.get(0);
+        calls.put(first, submitSection(first, title, cvText, jobDescription, userId));
+        if (warmCache && sections.size() > 1) {
+            awaitWarmUp(calls.get(first), calls);
+        }
+        for (String section : sections.subList(1, sections.size())) {
+            calls.put(section, submitSection(section, title, cvText, jobDescription, userId));
+        }
+
+        AIJobAnalysisResponse response = AIJobAnalysisResponse.builder().build();
+        List<String> missing = new ArrayList<>();
+        Throwable lastFailure = null;
+        // The calls run side by side, so one deadline gives each section the full timeout
+        long deadline = System.nanoTime() + sectionTimeout.toNanos();
+        for (Map.Entry<String, Future<String>> call : calls.entrySet()) {
+            String section = call.getKey();
+            String outcome;
+            try {
+                String sectionResponse = call.getValue().get(
+                        Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                outcome = aiResponseParser.mergeSection(response, section, sectionResponse) ? "success" : "unparseable";
+            } catch (TimeoutException | CancellationException e) {
+                call.getValue().cancel(true);
+                lastFailure = e;
+                outcome = "timeout";
+            } catch (ExecutionException e) {
+                lastFailure = e.getCause();
+                outcome = "error";
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                calls.values().forEach(future -> future.cancel(true));
+                throw new RuntimeException("Interrupted while waiting for analysis sections", e);
+            }
+
+            meterRegistry.counter("paladin.analysis.sections", "section", section, "outcome", outcome).increment();
+            if (!"success".equals(outcome)) {
+                log.warn("Analysis section {} failed: {}", section, outcome);
+                missing.add(section);
+            }
+        }
+
+        if (missing.size() == sections.size()) {
+            throw new RuntimeException("Claude AI API call failed for every analysis section", lastFailure);
+        }
+        return new AIResponseParser.Result(response, missing);
+    }
+
+    private Future<String> submitSection(String section, String title, String cvText, String jobDescription,
+                                         UUID userId) {
+        return analysisSectionExecutor.submit(() -> aiGateway.call(ModelRouter.FAN_OUT,
+                BuildComprehensivePrompt.sectionPrompt(section, title, cvText, jobDescription), userId));
+    }
 
-        // PRODUCTION READY: Return template cover letter that user can customize
-        log.info("Returning template response - user can still send application");
+    // Waits for the cache-warming section; one that takes longer than the section timeout is cancelled
+    private void awaitWarmUp(Future<String> warmUp, Map<String, Future<String>> calls) {
+        try {
+            warmUp.get(sectionTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            warmUp.cancel(true);
+        } catch (ExecutionException e) {
+            // Reported with the other outcomes; the remaining sections still run
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            calls.values().forEach(future -> future.cancel(true));
+            throw new RuntimeException("Interrupted while waiting for analysis sections", e);
+        }
+    }
 
-        // TODO for future:
-        // 1. Check cache for similar job descriptions
-        // 2. Queue request for manual processing
-        // 3. Send in-app notification to user
+    /**
+     * Fills the sections a fan-out could not produce the way a fully degraded answer would:
+     * the match analysis from the local matcher, the rest from the template response.
+     */
+    private void fillMissingSections(AIJobAnalysisResponse response, List<String> missing,
+                                     ProfileResponseDTO profile, String cvText, String jobDescription) {
+        AIJobAnalysisResponse template = aiResponseParser.parse(templateResponse()).response();
+        for (String section : missing) {
+            switch (section) {
+                case AIResponseParser.JOB_DETAILS -> response.setJobDetails(template.getJobDetails());
+                case AIResponseParser.COVER_LETTER -> response.setCoverLetter(template.getCoverLetter());
+                case AIResponseParser.MATCH_ANALYSIS ->
+                        response.setMatchAnalysis(localMatchService.preScore(profile, cvText, jobDescription));
+                default -> {
+                }
+            }
+        }
+    }
 
+    // Canned answer the user can still send their application with; never cached
+    private String templateResponse() {
         return """
                 {
                     "jobDetails": {
@@ -123,59 +529,115 @@ public class AIJobAnalysisServiceImpl {
                         "matchingSkills": [],
                         "missingSkills": [],
                         "recommendation": "AI analysis temporarily unavailable. This is a template cover letter that you can customize. Please review the job description carefully and edit the cover letter to highlight your most relevant skills and experience.",
-                        "confidenceLevel": "Template Response"
+                        "confidenceLevel": "%s"
                     }
                 }
-                """;
+                """.formatted(TEMPLATE_CONFIDENCE_LEVEL);
     }
 
     /**
-     * Recovery method when Claude AI fails after all retries.
-     * Logs the failure and throws a descriptive exception for the controller to handle.
+     * Parses the model output, salvaging every complete section. Sections that are missing
+     * or malformed are asked for again one at a time instead of regenerating the whole analysis.
+     *
+     * @param knownJobDetails Job details reused from a near-duplicate posting, or null
+     * @return The full response, or null if it could not be recovered.
      */
-    @Recover
-    private String recoverFromAIFailure(RuntimeException e, String prompt) {
-        log.error("Claude AI failed after all retries: {}", e.getMessage());
-        log.error("AI service is temporarily unavailable. Manual processing may be required.");
-
-        // TODO:
-        // 1. Store the failed request for manual processing
-        // 2. Send notification to ops team about AI service degradation
-        // 3. Track failure metrics for monitoring/alerting
-
-        throw new RuntimeException(
-                "AI analysis service is temporarily unavailable. Please try again later or contact support for manual processing.",
-                e
-        );
+    private AIJobAnalysisResponse parseWithRepair(String aiResponse, String title, String cvText,
+                                                  String jobDescription, JobDetailsDTO knownJobDetails,
+                                                  UUID userId) {
+        log.info("Parsing AI response to DTO");
+        AIResponseParser.Result parsed = aiResponseParser.parse(aiResponse);
+        if (parsed.isEmpty()) {
+            log.error("Failed to parse AI response, no section could be recovered");
+            aiMetrics.recordParseFailure("unrecoverable");
+            log.debug("AI Response was: {}", aiResponse);
+            return null;
+        }
+
+        AIJobAnalysisResponse response = parsed.response();
+        List<String> missingSections = new ArrayList<>(parsed.missingSections());
+        if (knownJobDetails != null && missingSections.remove(AIResponseParser.JOB_DETAILS)) {
+            response.setJobDetails(knownJobDetails);
+        }
+
+        for (String section : missingSections) {
+            log.info("Re-asking Claude AI for the {} section only", section);
+            try {
+                String sectionResponse = aiGateway.call(ModelRouter.SECTION,
+                        BuildComprehensivePrompt.sectionPrompt(section, title, cvText, jobDescription), userId);
+                if (!aiResponseParser.mergeSection(response, section, sectionResponse)) {
+                    log.error("Re-asked {} section could not be parsed either", section);
+                    aiMetrics.recordParseFailure("repair_failed");
+                    return null;
+                }
+            } catch (Exception e) {
+                log.error("Re-asking for the {} section failed: {}", section, e.getMessage());
+                aiMetrics.recordParseFailure("repair_failed");
+                return null;
+            }
+        }
+        if (!missingSections.isEmpty()) {
+            aiMetrics.recordParseFailure("repaired");
+        }
+        return response;
     }
 
-    private AIJobAnalysisResponse parseAIResponse(String aiResponse) {
+    private <T> void sendSection(SseEmitter emitter, String name, String rawJson, Class<T> type) {
         try {
-            log.info("Parsing AI response to DTO");
-            log.debug("AI Response content: {}", aiResponse);
-
-            String cleanJson = aiResponse.trim();
-            return objectMapper.readValue(cleanJson, AIJobAnalysisResponse.class);
+            sendEvent(emitter, name, objectMapper.readValue(rawJson, type));
         } catch (Exception e) {
-            log.error("Failed to parse AI response: {}", e.getMessage());
-            log.debug("AI Response was: {}", aiResponse);
+            // the complete event still carries whatever the final parse recovers
+            log.debug("Could not parse streamed {} section: {}", name, e.getMessage());
+        }
+    }
 
-            // return error response
-            return AIJobAnalysisResponse.builder()
-                    .jobDetails(JobDetailsDTO.builder()
-                            .company("Unable to extract")
-                            .position("Unable to extract")
-                            .build())
-                    .coverLetter("Sorry, we couldn't generate a cover letter due to a parsing error. Please try again.")
-                    .matchAnalysis(JobMatchAnalysisDTO.builder()
-                            .overallMatchPercentage(0)
-                            .recommendation("Analysis failed. Please try again.")
-                            .confidenceLevel("Low")
-                            .build())
-                    .build();
+    private boolean sendEvent(SseEmitter emitter, String name, Object data) {
+        if (data == null) {
+            return true;
         }
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Client went away while streaming {}: {}", name, e.getMessage());
+            return false;
+        }
+    }
 
+    /**
+     * Template cover letter with the local match analysis, and job details from a
+     * near-duplicate posting when we have them. Never cached.
+     */
+    private AIJobAnalysisResponse degradedResponse(Exception e, JobDetailsDTO knownJobDetails,
+                                                   JobMatchAnalysisDTO localMatch) {
+        log.error("Claude AI service unavailable, returning template response: {}", e.getMessage());
+        AIJobAnalysisResponse response = aiResponseParser.parse(templateResponse()).response();
+        if (knownJobDetails != null) {
+            response.setJobDetails(knownJobDetails);
+        }
+        localMatch.setRecommendation("AI analysis temporarily unavailable. " + localMatch.getRecommendation()
+                + " The cover letter is a template that you can customize.");
+        response.setMatchAnalysis(localMatch);
+        return response;
     }
 
+    private boolean isTemplateResponse(AIJobAnalysisResponse response) {
+        return response.getMatchAnalysis() != null
+                && TEMPLATE_CONFIDENCE_LEVEL.equals(response.getMatchAnalysis().getConfidenceLevel());
+    }
 
+    private AIJobAnalysisResponse parsingErrorResponse() {
+        return AIJobAnalysisResponse.builder()
+                .jobDetails(JobDetailsDTO.builder()
+                        .company("Unable to extract")
+                        .position("Unable to extract")
+                        .build())
+                .coverLetter("Sorry, we couldn't generate a cover letter due to a parsing error. Please try again.")
+                .matchAnalysis(JobMatchAnalysisDTO.builder()
+                        .overallMatchPercentage(0)
+                        .recommendation("Analysis failed. Please try again.")
+                        .confidenceLevel("Low")
+                        .build())
+                .build();
+    }
 }
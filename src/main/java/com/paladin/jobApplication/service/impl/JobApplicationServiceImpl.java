@@ -5,6 +5,7 @@ import com.paladin.common.dto.JobApplicationEmailRequest;
 import com.paladin.common.dto.NewJobApplicationDTO;
 import com.paladin.cv.service.impl.CVServiceImpl;
 import com.paladin.common.enums.ApplicationStatus;
+import com.paladin.common.enums.SearchDocumentType;
 import com.paladin.common.exceptions.CVNotFoundException;
 import com.paladin.common.exceptions.CannotSendMailException;
 import com.paladin.common.exceptions.NotFoundException;
@@ -16,8 +17,10 @@ import com.paladin.jobApplication.service.JobApplicationService;
 import com.paladin.common.mappers.JobApplicationMapper;
 import com.paladin.profile.Profile;
 import com.paladin.profile.repository.ProfileRepository;
+import com.paladin.search.SearchableContentChangedEvent;
 import com.paladin.user.User;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -33,6 +36,7 @@ public class JobApplicationServiceImpl implements JobApplicationService {
     private final ProfileRepository profileRepository;
     private final EmailProviderService emailProviderService; // Changed from direct Gmail service
     private final CVServiceImpl cvService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Creates and sends a job application.
@@ -85,7 +89,10 @@ public class JobApplicationServiceImpl implements JobApplicationService {
             throw new CannotSendMailException("Failed to send job application email: " + e.getMessage(), e);
         }
 
-        return jobApplicationMapper.toDTO(jobApplicationRepository.save(jobApplication));
+        JobApplication saved = jobApplicationRepository.save(jobApplication);
+        eventPublisher.publishEvent(
+                new SearchableContentChangedEvent(userId, SearchDocumentType.JOB_APPLICATION, saved.getId()));
+        return jobApplicationMapper.toDTO(saved);
     }
 
     /**
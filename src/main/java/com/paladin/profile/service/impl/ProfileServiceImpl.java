@@ -1,6 +1,7 @@
 package com.paladin.profile.service.impl;
 
 import com.paladin.common.dto.*;
+import com.paladin.common.enums.SearchDocumentType;
 import com.paladin.common.exceptions.NotFoundException;
 import com.paladin.common.exceptions.UnauthorizedAccessException;
 import com.paladin.cv.CV;
@@ -12,11 +13,13 @@ import com.paladin.profile.Profile;
 import com.paladin.profile.repository.ProfileRepository;
 import com.paladin.profile.service.ProfileService;
 import com.paladin.s3_CV_Storage.S3CVStorageService;
+import com.paladin.search.SearchableContentChangedEvent;
 import com.paladin.user.User;
 import com.paladin.user.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -33,6 +36,7 @@ public class ProfileServiceImpl implements ProfileService {
     private final S3CVStorageService s3CVStorageService;
     private final UserRepository userRepository;
     private final CVServiceImpl cvService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Creates a profile with CV attached.
@@ -63,6 +67,8 @@ public class ProfileServiceImpl implements ProfileService {
             savedProfile = profileRepository.save(savedProfile);
         }
 
+        eventPublisher.publishEvent(
+                new SearchableContentChangedEvent(userId, SearchDocumentType.PROFILE, savedProfile.getId()));
         return profileMapper.toResponseDTO(savedProfile);
     }
 
@@ -130,6 +136,8 @@ public class ProfileServiceImpl implements ProfileService {
         }
 
         Profile updatedProfile = profileRepository.save(profile);
+        eventPublisher.publishEvent(
+                new SearchableContentChangedEvent(userId, SearchDocumentType.PROFILE, profileId));
         return profileMapper.toResponseDTO(updatedProfile);
     }
 
@@ -149,6 +157,12 @@ public class ProfileServiceImpl implements ProfileService {
                     "Unauthorized: This profile does not belong to you");
         }
 
+        // Its job applications go with it
+        profile.getJobApplications().forEach(application -> eventPublisher.publishEvent(
+                new SearchableContentChangedEvent(userId, SearchDocumentType.JOB_APPLICATION, application.getId())));
+        eventPublisher.publishEvent(
+                new SearchableContentChangedEvent(userId, SearchDocumentType.PROFILE, profileId));
+
         profileRepository.delete(profile);
         log.info("Profile {} deleted successfully", profileId);
     }
@@ -1,5 +1,6 @@
 package com.paladin.s3_CV_Storage;
 
+import com.paladin.common.exceptions.InvalidFileException;
 import com.paladin.common.exceptions.s3.S3DeleteException;
 import com.paladin.common.exceptions.s3.S3DownloadException;
 import com.paladin.common.exceptions.s3.S3UploadException;
@@ -7,15 +8,17 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.S3Exception;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 @Service
 @RequiredArgsConstructor
@@ -27,23 +30,32 @@ public class S3CVStorageService {
     @Value("${aws.s3.bucket-name}")
     private String bucketName;
 
-    public String uploadFile(MultipartFile file,
-                             String key) {
+    /**
+     * Streams a file into S3 in one request, straight from the stream, so
+     * the file is never buffered in memory.
+     *
+     * @param content       The file content; it is read once and not closed.
+     * @param contentLength The length of the content, which S3 needs up front.
+     * @param contentType   The MIME type to store with the file.
+     * @param key           The key to store the file under.
+     * @return The URL of the stored file.
+     */
+    public String uploadStream(InputStream content,
+                               long contentLength,
+                               String contentType,
+                               String key) {
+        if (contentLength < 0) {
+            throw new IllegalArgumentException("Content length is required");
+        }
         try {
-            PutObjectRequest request = PutObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(key)
-                    .contentType(file.getContentType())
-                    .contentLength(file.getSize())
-                    .build();
-
             s3Client.putObject(
-                    request,
-                    RequestBody.fromInputStream(
-                            file.getInputStream(),
-                            file.getSize())
-            );
-
+                    PutObjectRequest.builder()
+                            .bucket(bucketName)
+                            .key(key)
+                            .contentType(contentType)
+                            .contentLength(contentLength)
+                            .build(),
+                    RequestBody.fromInputStream(content, contentLength));
             return String.format(
                     "https://%s.s3.%s.amazonaws.com/%s",
                     bucketName,
@@ -52,11 +64,6 @@ public class S3CVStorageService {
                     key
             );
 
-        } catch (IOException e) {
-            log.error("IO error during S3 upload of file {}: {}", key,
-                    e.getMessage(), e);
-            throw new S3UploadException(
-                    "Failed to read file data for upload.", e);
         } catch (S3Exception e) {
             log.error(
                     "S3 service error during upload of file {}: Code={}, Message={}",
@@ -66,6 +73,11 @@ public class S3CVStorageService {
                     "S3 service error during file upload: " + e.awsErrorDetails()
                             .errorMessage(), e);
         } catch (Exception e) {
+            // The content was rejected while S3 was reading it, e.g. for its size
+            InvalidFileException invalid = findCause(e, InvalidFileException.class);
+            if (invalid != null) {
+                throw invalid;
+            }
             log.error("Unexpected error during S3 upload of file {}: {}",
                     key, e.getMessage(), e);
             throw new S3UploadException(
@@ -73,6 +85,15 @@ public class S3CVStorageService {
         }
     }
 
+    private static <T extends Throwable> T findCause(Throwable error, Class<T> type) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return type.cast(cause);
+            }
+        }
+        return null;
+    }
+
     public byte[] downloadFile(String key) {
         try {
             GetObjectRequest request = GetObjectRequest.builder()
@@ -104,6 +125,47 @@ public class S3CVStorageService {
         }
     }
 
+    /**
+     * Opens a stored file for streaming; the caller must close the stream.
+     */
+    public InputStream openFile(String key) {
+        return openFile(key, null);
+    }
+
+    /**
+     * Opens part of a stored file for streaming, so S3 only sends the
+     * requested bytes. The caller must close the stream, or abort it if
+     * it stops reading early.
+     *
+     * @param key   The key of the file.
+     * @param range An HTTP byte range such as "bytes=0-1023", or null for the whole file.
+     */
+    public ResponseInputStream<GetObjectResponse> openFile(String key, String range) {
+        try {
+            GetObjectRequest request = GetObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .range(range)
+                    .build();
+
+            return s3Client.getObject(request);
+        } catch (S3Exception e) {
+            log.error(
+                    "S3 service error while opening file {}: Code={}, Message={}",
+                    key, e.statusCode(),
+                    e.awsErrorDetails().errorMessage(), e);
+            throw new S3DownloadException(
+                    "S3 service error during file download: " + e.awsErrorDetails()
+                            .errorMessage(), e);
+        } catch (Exception e) {
+            log.error("Unexpected error while opening S3 file {}: {}",
+                    key, e.getMessage(), e);
+            throw new S3DownloadException(
+                    "An unexpected error occurred during file download.",
+                    e);
+        }
+    }
+
     public void deleteFile(String key) {
         try {
             DeleteObjectRequest deleteObjectRequest =
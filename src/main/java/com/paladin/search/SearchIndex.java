@@ -0,0 +1,31 @@
+package com.paladin.search;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "search_index")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchIndex {
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(nullable = false)
+    private byte[] data;
+
+    @Column(name = "document_count", nullable = false)
+    private int documentCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
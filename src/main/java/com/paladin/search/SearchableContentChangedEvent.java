@@ -0,0 +1,16 @@
+package com.paladin.search;
+
+import com.paladin.common.enums.SearchDocumentType;
+
+import java.util.UUID;
+
+/**
+ * Published when searchable content is created, changed or deleted, so the user's
+ * search index can update the document.
+ *
+ * @param userId The owner of the content.
+ * @param type   The kind of document.
+ * @param id     The ID of the profile, job application or analysed job description.
+ */
+public record SearchableContentChangedEvent(UUID userId, SearchDocumentType type, UUID id) {
+}
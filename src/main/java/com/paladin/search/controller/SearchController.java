@@ -0,0 +1,80 @@
+package com.paladin.search.controller;
+
+import com.paladin.common.dto.SearchResultDTO;
+import com.paladin.common.dto.UserDTO;
+import com.paladin.common.enums.SearchDocumentType;
+import com.paladin.common.exceptions.NotFoundException;
+import com.paladin.common.response.ResponseHandler;
+import com.paladin.search.service.SearchIndexService;
+import com.paladin.user.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchIndexService searchIndexService;
+    private final UserService userService;
+
+    /**
+     * Searches the user's profiles, job applications and analysed job descriptions,
+     * e.g. "kubernetes", or a pasted job posting with type=PROFILE to find the best-fitting profile.
+     */
+    @GetMapping
+    public ResponseEntity<Object> search(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) SearchDocumentType type,
+            @RequestParam(defaultValue = "10") int limit,
+            Principal principal) {
+        UUID userId = getUserIdFromPrincipal(principal);
+
+        List<SearchResultDTO> results = searchIndexService.search(userId, query, type, limit);
+        return ResponseHandler.responseBuilder(
+                "Search results successfully returned",
+                HttpStatus.OK,
+                results);
+    }
+
+    private UUID getUserIdFromPrincipal(Principal principal) {
+        if (principal == null) {
+            throw new RuntimeException("Unauthorized: No principal found");
+        }
+
+        if (principal instanceof OAuth2AuthenticationToken oauth2Token) {
+            OAuth2User oauth2User = oauth2Token.getPrincipal();
+            String userEmail = oauth2User.getAttribute("email");
+
+            if (userEmail == null) {
+                throw new RuntimeException("Email not found in OAuth2 user attributes");
+            }
+
+            UserDTO user = userService.getUserByEmail(userEmail);
+            if (user == null) {
+                throw new NotFoundException(
+                        "User not found for authenticated email: " + userEmail);
+            }
+            return user.getId();
+        }
+
+        String userEmail = principal.getName();
+        UserDTO user = userService.getUserByEmail(userEmail);
+        if (user == null) {
+            throw new NotFoundException(
+                    "User not found for authenticated principal: " + userEmail);
+        }
+        return user.getId();
+    }
+}
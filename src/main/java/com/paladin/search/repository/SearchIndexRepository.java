@@ -0,0 +1,11 @@
+package com.paladin.search.repository;
+
+import com.paladin.search.SearchIndex;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface SearchIndexRepository extends JpaRepository<SearchIndex, UUID> {
+}
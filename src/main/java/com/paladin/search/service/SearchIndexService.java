@@ -0,0 +1,231 @@
+package com.paladin.search.service;
+
+import com.paladin.common.dto.SearchResultDTO;
+import com.paladin.common.enums.SearchDocumentType;
+import com.paladin.common.utils.Bm25Index;
+import com.paladin.common.utils.LruCache;
+import com.paladin.common.utils.SingleFlight;
+import com.paladin.cv.service.CVTextCacheService;
+import com.paladin.jobApplication.JobApplication;
+import com.paladin.jobApplication.JobDescriptionFingerprint;
+import com.paladin.jobApplication.repository.JobApplicationRepository;
+import com.paladin.jobApplication.repository.JobDescriptionFingerprintRepository;
+import com.paladin.profile.Profile;
+import com.paladin.profile.repository.ProfileRepository;
+import com.paladin.search.SearchIndex;
+import com.paladin.search.SearchableContentChangedEvent;
+import com.paladin.search.repository.SearchIndexRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Per-user BM25 search over profiles (with their CV text), sent job applications and
+ * analysed job descriptions, answered without calling the model.
+ * Indexes live in memory (LRU bounded by postings) and are persisted as compact snapshots;
+ * a user's index is only built from the source tables when it has no usable snapshot.
+ * Write paths publish {@link SearchableContentChangedEvent}s, which update the one
+ * affected document of an index that already exists.
+ */
+@Slf4j
+@Service
+public class SearchIndexService {
+
+    private static final int TITLE_LENGTH = 100;
+
+    private record Document(String key, String title, String text) {
+    }
+
+    private final ProfileRepository profileRepository;
+    private final JobApplicationRepository jobApplicationRepository;
+    private final JobDescriptionFingerprintRepository fingerprintRepository;
+    private final SearchIndexRepository searchIndexRepository;
+    private final CVTextCacheService cvTextCacheService;
+    private final LruCache<UUID, Bm25Index> indexes;
+    private final SingleFlight<UUID, Bm25Index> loads = new SingleFlight<>();
+    private final int maxResults;
+
+    public SearchIndexService(
+            ProfileRepository profileRepository,
+            JobApplicationRepository jobApplicationRepository,
+            JobDescriptionFingerprintRepository fingerprintRepository,
+            SearchIndexRepository searchIndexRepository,
+            CVTextCacheService cvTextCacheService,
+            @Value("${app.search.max-postings:2000000}") long maxPostings,
+            @Value("${app.search.max-results:50}") int maxResults) {
+        this.profileRepository = profileRepository;
+        this.jobApplicationRepository = jobApplicationRepository;
+        this.fingerprintRepository = fingerprintRepository;
+        this.searchIndexRepository = searchIndexRepository;
+        this.cvTextCacheService = cvTextCacheService;
+        this.indexes = new LruCache<>(maxPostings, Bm25Index::weight);
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Searches the user's own documents.
+     *
+     * @param userId The ID of the user.
+     * @param query  Free text, e.g. "kubernetes" or a whole job posting.
+     * @param type   Only return documents of this type, or null for all.
+     * @param limit  The maximum number of results.
+     * @return Matching documents, best first.
+     */
+    public List<SearchResultDTO> search(UUID userId, String query, SearchDocumentType type, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        Bm25Index index = index(userId);
+
+        long start = System.nanoTime();
+        List<SearchResultDTO> results = index.search(query, type == null ? null : type.name() + ":",
+                        Math.min(Math.max(limit, 1), maxResults))
+                .stream()
+                .map(SearchIndexService::toResult)
+                .toList();
+        log.debug("Searched {} documents of user {} in {} µs", index.size(), userId, (System.nanoTime() - start) / 1_000);
+        return results;
+    }
+
+    /**
+     * Re-indexes or removes the changed document. Users without an index yet are skipped;
+     * their first search builds it from the current data.
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(SearchableContentChangedEvent event) {
+        Bm25Index index = indexes.get(event.userId());
+        if (index == null) {
+            if (!searchIndexRepository.existsById(event.userId())) {
+                return;
+            }
+            index = index(event.userId());
+        }
+
+        String key = key(event.type(), event.id());
+        Optional<Document> document = load(event.type(), event.id());
+        if (document.isPresent()) {
+            index.put(key, document.get().title(), document.get().text());
+        } else {
+            index.remove(key);
+        }
+        persist(event.userId(), index);
+    }
+
+    private Bm25Index index(UUID userId) {
+        Bm25Index cached = indexes.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        // Concurrent first searches share one load
+        return loads.execute(userId, () -> {
+            Bm25Index index = searchIndexRepository.findById(userId)
+                    .map(this::readSnapshot)
+                    .orElseGet(() -> build(userId));
+            indexes.put(userId, index);
+            return index;
+        }, () -> log.debug("Joining search index load for user {}", userId));
+    }
+
+    private Bm25Index readSnapshot(SearchIndex snapshot) {
+        try {
+            return Bm25Index.fromBytes(snapshot.getData());
+        } catch (IllegalArgumentException e) {
+            log.warn("Rebuilding unreadable search index of user {}: {}", snapshot.getUserId(), e.getMessage());
+            return build(snapshot.getUserId());
+        }
+    }
+
+    private Bm25Index build(UUID userId) {
+        long start = System.nanoTime();
+        Bm25Index index = new Bm25Index();
+        profileRepository.findByUserId(userId).orElse(List.of())
+                .forEach(profile -> add(index, profileDocument(profile)));
+        jobApplicationRepository.findByProfileUserId(userId)
+                .forEach(application -> add(index, applicationDocument(application)));
+        fingerprintRepository.findByUserId(userId)
+                .forEach(fingerprint -> jobDescriptionDocument(fingerprint).ifPresent(document -> add(index, document)));
+
+        persist(userId, index);
+        log.info("Built search index of user {} with {} documents in {} ms",
+                userId, index.size(), (System.nanoTime() - start) / 1_000_000);
+        return index;
+    }
+
+    private void persist(UUID userId, Bm25Index index) {
+        try {
+            searchIndexRepository.save(SearchIndex.builder()
+                    .userId(userId)
+                    .data(index.toBytes())
+                    .documentCount(index.size())
+                    .updatedAt(Instant.now())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Search index of user {} persisted concurrently", userId);
+        }
+    }
+
+    private Optional<Document> load(SearchDocumentType type, UUID id) {
+        return switch (type) {
+            case PROFILE -> profileRepository.findById(id).map(this::profileDocument);
+            case JOB_APPLICATION -> jobApplicationRepository.findById(id).map(SearchIndexService::applicationDocument);
+            case JOB_DESCRIPTION -> fingerprintRepository.findById(id).flatMap(SearchIndexService::jobDescriptionDocument);
+        };
+    }
+
+    private Document profileDocument(Profile profile) {
+        StringBuilder text = new StringBuilder()
+                .append(profile.getTitle()).append('\n')
+                .append(profile.getSummary()).append('\n');
+        if (profile.getSkills() != null) {
+            text.append(String.join(", ", profile.getSkills())).append('\n');
+        }
+        if (profile.getCv() != null) {
+            cvTextCacheService.findText(profile.getCv().getContentHash()).ifPresent(text::append);
+        }
+        return new Document(key(SearchDocumentType.PROFILE, profile.getId()), profile.getTitle(), text.toString());
+    }
+
+    private static Document applicationDocument(JobApplication application) {
+        String title = application.getJobTitle() + " at " + application.getCompany();
+        String text = title + "\n" + (application.getJobDescription() == null ? "" : application.getJobDescription());
+        return new Document(key(SearchDocumentType.JOB_APPLICATION, application.getId()), title, text);
+    }
+
+    // Fingerprints recorded before job descriptions were kept have nothing to index
+    private static Optional<Document> jobDescriptionDocument(JobDescriptionFingerprint fingerprint) {
+        String jobDescription = fingerprint.getJobDescription();
+        if (jobDescription == null || jobDescription.isBlank()) {
+            return Optional.empty();
+        }
+        String firstLine = jobDescription.strip().lines().findFirst().orElse("").strip();
+        String title = firstLine.length() > TITLE_LENGTH ? firstLine.substring(0, TITLE_LENGTH) + "…" : firstLine;
+        return Optional.of(new Document(key(SearchDocumentType.JOB_DESCRIPTION, fingerprint.getId()), title, jobDescription));
+    }
+
+    private static void add(Bm25Index index, Document document) {
+        index.put(document.key(), document.title(), document.text());
+    }
+
+    private static String key(SearchDocumentType type, UUID id) {
+        return type.name() + ":" + id;
+    }
+
+    private static SearchResultDTO toResult(Bm25Index.Hit hit) {
+        int separator = hit.key().indexOf(':');
+        return SearchResultDTO.builder()
+                .type(SearchDocumentType.valueOf(hit.key().substring(0, separator)))
+                .id(UUID.fromString(hit.key().substring(separator + 1)))
+                .title(hit.title())
+                .score(hit.score())
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.paladin.user;
 
 import com.paladin.common.enums.AuthProvider;
+import com.paladin.common.enums.UserTier;
 import com.paladin.profile.Profile;
 import jakarta.persistence.*;
 import lombok.Data;
@@ -31,6 +32,10 @@ public class User implements UserDetails {
     @Enumerated(EnumType.STRING)
     private AuthProvider authProvider = AuthProvider.GOOGLE;
 
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private UserTier tier = UserTier.FREE;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL,
             fetch = FetchType.LAZY, orphanRemoval = true)
     private List<Profile> profiles = new ArrayList<>();
@@ -1,5 +1,6 @@
 package com.paladin.user.repository;
 
+import com.paladin.common.enums.UserTier;
 import com.paladin.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -17,4 +18,7 @@ public interface UserRepository
 
     @Query("SELECT u FROM User u WHERE u.accessTokenExpiry IS NOT NULL AND u.accessTokenExpiry <= :expiryThreshold AND u.refreshToken IS NOT NULL")
     List<User> findUsersWithExpiringTokens(LocalDateTime expiryThreshold);
+
+    @Query("SELECT u.tier FROM User u WHERE u.id = :id")
+    Optional<UserTier> findTierById(UUID id);
 }
@@ -0,0 +1,2 @@
+-- Earliest time a failed analysis job may be claimed again, for exponential backoff between attempts
+ALTER TABLE public.analysis_job ADD COLUMN next_attempt_at timestamp(6) with time zone;
@@ -0,0 +1,3 @@
+-- Failed background re-extractions of a CV. The nightly re-extraction tries CVs with fewer failures first
+-- and gives up on a CV after app.cv-extraction.max-failures, so one broken file cannot hold up the rest.
+ALTER TABLE public.cv ADD COLUMN extraction_failures integer NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- Lease on a deferred analysis being replayed, kept apart from next_attempt_at so that
+-- bringing waiting entries forward never cancels a replay that is still running
+ALTER TABLE public.deferred_analysis ADD COLUMN leased_until timestamp(6) with time zone;
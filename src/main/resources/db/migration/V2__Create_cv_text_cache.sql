@@ -0,0 +1,12 @@
+-- SHA-256 of the stored CV bytes, used to address extracted text
+ALTER TABLE public.cv ADD COLUMN content_hash character varying(64);
+
+CREATE INDEX idx_cv_content_hash ON public.cv (content_hash);
+
+-- Extracted CV text keyed by content hash, shared by identical uploads
+CREATE TABLE public.cv_text_cache (
+    content_hash character varying(64) NOT NULL,
+    extracted_text text NOT NULL,
+    created_at timestamp(6) without time zone NOT NULL,
+    CONSTRAINT cv_text_cache_pkey PRIMARY KEY (content_hash)
+);
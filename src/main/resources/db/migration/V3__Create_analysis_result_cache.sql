@@ -0,0 +1,10 @@
+-- Persisted tier of the AI analysis result cache
+CREATE TABLE public.analysis_result_cache (
+    cache_key character varying(64) NOT NULL,
+    response_json text NOT NULL,
+    created_at timestamp(6) with time zone NOT NULL,
+    expires_at timestamp(6) with time zone NOT NULL,
+    CONSTRAINT analysis_result_cache_pkey PRIMARY KEY (cache_key)
+);
+
+CREATE INDEX idx_analysis_result_cache_expires_at ON public.analysis_result_cache (expires_at);
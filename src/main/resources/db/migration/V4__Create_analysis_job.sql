@@ -0,0 +1,21 @@
+-- Durable queue of asynchronous AI analysis jobs, claimed with FOR UPDATE SKIP LOCKED
+CREATE TABLE public.analysis_job (
+    id uuid NOT NULL,
+    user_id uuid NOT NULL,
+    profile_id uuid NOT NULL,
+    job_description text NOT NULL,
+    status character varying(20) NOT NULL,
+    attempts integer DEFAULT 0 NOT NULL,
+    result_json text,
+    error_message text,
+    created_at timestamp(6) with time zone NOT NULL,
+    started_at timestamp(6) with time zone,
+    completed_at timestamp(6) with time zone,
+    CONSTRAINT analysis_job_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_analysis_job_user FOREIGN KEY (user_id) REFERENCES public.users(id) ON DELETE CASCADE,
+    CONSTRAINT fk_analysis_job_profile FOREIGN KEY (profile_id) REFERENCES public.profile(id) ON DELETE CASCADE,
+    CONSTRAINT analysis_job_status_check CHECK (((status)::text = ANY ((ARRAY['PENDING'::character varying, 'RUNNING'::character varying, 'COMPLETED'::character varying, 'FAILED'::character varying])::text[])))
+);
+
+CREATE INDEX idx_analysis_job_pending ON public.analysis_job (created_at) WHERE status = 'PENDING';
+CREATE INDEX idx_analysis_job_user ON public.analysis_job (user_id);
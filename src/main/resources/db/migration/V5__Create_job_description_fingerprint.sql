@@ -0,0 +1,19 @@
+-- MinHash signatures of analysed job descriptions, used to find near-duplicate postings.
+-- bands holds the LSH band keys of the signature; near-duplicate postings share at least one.
+CREATE TABLE public.job_description_fingerprint (
+    id uuid NOT NULL,
+    signature bytea NOT NULL,
+    bands bigint[] NOT NULL,
+    user_id uuid NOT NULL,
+    cv_hash character varying(64),
+    profile_title character varying(255),
+    job_details_json text,
+    response_json text NOT NULL,
+    created_at timestamp(6) with time zone NOT NULL,
+    CONSTRAINT job_description_fingerprint_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_job_description_fingerprint_user FOREIGN KEY (user_id) REFERENCES public.users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_jd_fingerprint_bands ON public.job_description_fingerprint USING gin (bands);
+CREATE INDEX idx_jd_fingerprint_user ON public.job_description_fingerprint (user_id);
+CREATE INDEX idx_jd_fingerprint_created_at ON public.job_description_fingerprint (created_at);
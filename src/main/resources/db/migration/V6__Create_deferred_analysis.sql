@@ -0,0 +1,28 @@
+-- Dead-letter queue of analyses that failed because the AI service was unavailable.
+-- They are replayed once it recovers and the user is notified of the result.
+CREATE TABLE public.deferred_analysis (
+    id uuid NOT NULL,
+    user_id uuid NOT NULL,
+    profile_id uuid NOT NULL,
+    job_description text NOT NULL,
+    job_description_hash character varying(64) NOT NULL,
+    status character varying(20) NOT NULL,
+    attempts integer DEFAULT 0 NOT NULL,
+    failure_reason text,
+    result_json text,
+    created_at timestamp(6) with time zone NOT NULL,
+    next_attempt_at timestamp(6) with time zone NOT NULL,
+    completed_at timestamp(6) with time zone,
+    CONSTRAINT deferred_analysis_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_deferred_analysis_user FOREIGN KEY (user_id) REFERENCES public.users(id) ON DELETE CASCADE,
+    CONSTRAINT fk_deferred_analysis_profile FOREIGN KEY (profile_id) REFERENCES public.profile(id) ON DELETE CASCADE,
+    CONSTRAINT deferred_analysis_status_check CHECK (((status)::text = ANY ((ARRAY['PENDING'::character varying, 'COMPLETED'::character varying, 'ABANDONED'::character varying])::text[])))
+);
+
+-- A request that keeps failing is only parked once
+CREATE UNIQUE INDEX uq_deferred_analysis_pending
+    ON public.deferred_analysis (user_id, profile_id, job_description_hash) WHERE status = 'PENDING';
+CREATE INDEX idx_deferred_analysis_due ON public.deferred_analysis (next_attempt_at) WHERE status = 'PENDING';
+
+ALTER TABLE public.notification DROP CONSTRAINT notification_type_check;
+ALTER TABLE public.notification ADD CONSTRAINT notification_type_check CHECK (((type)::text = ANY ((ARRAY['STATUS_UPDATE'::character varying, 'ADMIN_RESPONSE'::character varying, 'SUBSCRIBED_UPDATE'::character varying, 'FEATURE_ANNOUNCEMENT'::character varying, 'SYSTEM_ANNOUNCEMENT'::character varying, 'ANALYSIS_READY'::character varying])::text[])));
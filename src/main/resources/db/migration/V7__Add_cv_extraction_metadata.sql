@@ -0,0 +1,6 @@
+-- Metadata filled in when a CV is extracted at upload time.
+-- extraction_version records the extractor that produced the row; rows from an older
+-- version are re-extracted. Text cached before this migration counts as version 1.
+ALTER TABLE public.cv_text_cache ADD COLUMN page_count integer;
+ALTER TABLE public.cv_text_cache ADD COLUMN skills text[];
+ALTER TABLE public.cv_text_cache ADD COLUMN extraction_version integer NOT NULL DEFAULT 1;
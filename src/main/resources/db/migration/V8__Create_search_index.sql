@@ -0,0 +1,13 @@
+-- Job descriptions kept with what was analysed or applied for, so they can be searched
+ALTER TABLE public.job_application ADD COLUMN job_description text;
+ALTER TABLE public.job_description_fingerprint ADD COLUMN job_description text;
+
+-- Serialized per-user BM25 index (see Bm25Index), rebuilt from the tables above when missing
+CREATE TABLE public.search_index (
+    user_id uuid NOT NULL,
+    data bytea NOT NULL,
+    document_count integer NOT NULL,
+    updated_at timestamp(6) with time zone NOT NULL,
+    CONSTRAINT search_index_pkey PRIMARY KEY (user_id),
+    CONSTRAINT fk_search_index_user FOREIGN KEY (user_id) REFERENCES public.users(id) ON DELETE CASCADE
+);
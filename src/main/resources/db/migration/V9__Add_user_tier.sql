@@ -0,0 +1,3 @@
+-- Service tier of a user; the model router starts premium users on the most capable model.
+ALTER TABLE public.users ADD COLUMN tier character varying(32) NOT NULL DEFAULT 'FREE';
+ALTER TABLE public.users ADD CONSTRAINT users_tier_check CHECK (((tier)::text = ANY (ARRAY['FREE'::text, 'PREMIUM'::text])));
@@ -0,0 +1,57 @@
+package com.paladin.common.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AIResponseParserTest {
+
+    private final AIResponseParser parser = new AIResponseParser(new ObjectMapper().findAndRegisterModules());
+
+    @Test
+    void parse_ToleratesPreambleAndMarkdownFence() {
+        String aiResponse = """
+                Here is the analysis:
+                ```json
+                {"jobDetails": {"company": "Acme", "position": "Engineer"},
+                 "coverLetter": "Dear Hiring Manager,\\nHello",
+                 "matchAnalysis": {"overallMatchPercentage": 80, "confidenceLevel": "High"}}
+                ```
+                """;
+
+        AIResponseParser.Result result = parser.parse(aiResponse);
+
+        assertThat(result.isComplete()).isTrue();
+        assertThat(result.response().getJobDetails().getCompany()).isEqualTo("Acme");
+        assertThat(result.response().getCoverLetter()).isEqualTo("Dear Hiring Manager,\nHello");
+        assertThat(result.response().getMatchAnalysis().getOverallMatchPercentage()).isEqualTo(80);
+    }
+
+    @Test
+    void parse_SalvagesCompleteSectionsOfTruncatedResponse() {
+        String aiResponse = """
+                {"jobDetails": {"company": "Acme", "position": "Engineer"},
+                 "coverLetter": "Dear Hiring Manager",
+                 "matchAnalysis": {"overallMatchPercentage": 80, "matchingSkills": ["Ja""";
+
+        AIResponseParser.Result result = parser.parse(aiResponse);
+
+        assertThat(result.missingSections()).containsExactly(AIResponseParser.MATCH_ANALYSIS);
+        assertThat(result.response().getJobDetails().getPosition()).isEqualTo("Engineer");
+        assertThat(result.response().getCoverLetter()).isEqualTo("Dear Hiring Manager");
+    }
+
+    @Test
+    void mergeSection_FillsSectionFromReAskedResponse() {
+        AIResponseParser.Result result = parser.parse("""
+                {"jobDetails": {"company": "Acme"}, "coverLetter": "Hi", "matchAnalysis": {"overallMatchPercentage": "eighty"}}""");
+        assertThat(result.missingSections()).containsExactly(AIResponseParser.MATCH_ANALYSIS);
+
+        boolean merged = parser.mergeSection(result.response(), AIResponseParser.MATCH_ANALYSIS,
+                "{\"matchAnalysis\": {\"overallMatchPercentage\": 65, \"confidenceLevel\": \"Medium\"}}");
+
+        assertThat(merged).isTrue();
+        assertThat(result.response().getMatchAnalysis().getOverallMatchPercentage()).isEqualTo(65);
+    }
+}
@@ -0,0 +1,106 @@
+package com.paladin.common.utils;
+
+import com.paladin.common.exceptions.AICapacityExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, int maxQueue, Duration queueTimeout) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, 1, 20, maxQueue, queueTimeout,
+                Duration.ofSeconds(2), clock::get);
+    }
+
+    @Test
+    void throttled_CutsLimitOncePerCooldown() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 0, Duration.ZERO);
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(limiter, 3);
+
+        permits.get(0).throttled();
+        permits.get(1).throttled();
+        assertThat(limiter.getLimit()).isEqualTo(7);
+
+        clock.addAndGet(Duration.ofSeconds(3).toNanos());
+        permits.get(2).throttled();
+        assertThat(limiter.getLimit()).isEqualTo(4);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void success_GrowsLimitOnlyWhenItIsUsed() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 0, Duration.ZERO);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.acquire().success(10);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        for (int round = 0; round < 5; round++) {
+            acquire(limiter, limiter.getLimit()).forEach(permit -> permit.success(10));
+        }
+        assertThat(limiter.getLimit()).isGreaterThan(4);
+    }
+
+    @Test
+    void success_LatencyFarAboveBaselineCutsLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 0, Duration.ZERO);
+        limiter.acquire().success(10);
+
+        limiter.acquire().success(50);
+
+        assertThat(limiter.getLimit()).isEqualTo(7);
+    }
+
+    @Test
+    void acquire_RejectsAtOnceWhenQueueIsFull() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 0, Duration.ofMinutes(1));
+        limiter.acquire();
+
+        assertThatThrownBy(limiter::acquire).isInstanceOf(AICapacityExceededException.class);
+        assertThat(limiter.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void acquire_WaitsForReleasedSlotUntilDeadline() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 5, Duration.ofMillis(100));
+        AdaptiveConcurrencyLimiter.Permit held = limiter.acquire();
+
+        assertThatThrownBy(limiter::acquire).isInstanceOf(AICapacityExceededException.class);
+
+        Thread releaser = new Thread(() -> {
+            sleep(50);
+            held.ignore();
+        });
+        releaser.start();
+        AdaptiveConcurrencyLimiter.Permit next = limiter.acquire();
+        releaser.join();
+
+        assertThat(next).isNotNull();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    private static List<AdaptiveConcurrencyLimiter.Permit> acquire(AdaptiveConcurrencyLimiter limiter, int count) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            permits.add(limiter.acquire());
+        }
+        return permits;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
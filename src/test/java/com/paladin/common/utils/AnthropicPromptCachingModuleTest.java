@@ -0,0 +1,73 @@
+package com.paladin.common.utils;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.anthropic.api.AnthropicApi;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnthropicPromptCachingModuleTest {
+
+    private final List<String> cacheUsage = new ArrayList<>();
+
+    private ObjectMapper mapper(boolean cacheSystemPrompt) {
+        // Like Spring Boot's and Spring AI's mappers, ignore fields the records do not declare
+        return new ObjectMapper()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .registerModule(new AnthropicPromptCachingModule(cacheSystemPrompt, (model, readTokens, writeTokens) ->
+                        cacheUsage.add(model + ":" + readTokens + ":" + writeTokens)));
+    }
+
+    private AnthropicApi.ChatCompletionRequest request(String system) {
+        return new AnthropicApi.ChatCompletionRequest("claude-test",
+                List.of(new AnthropicApi.AnthropicMessage(
+                        List.of(new AnthropicApi.ContentBlock("JOB DESCRIPTION: ...")), AnthropicApi.Role.USER)),
+                system, 1000, 0.7, false);
+    }
+
+    @Test
+    void serialize_SendsSystemPromptAsCachedBlock() throws Exception {
+        JsonNode json = mapper(true).readTree(mapper(true).writeValueAsString(request("Instructions and CV")));
+
+        JsonNode system = json.get("system");
+        assertThat(system.isArray()).isTrue();
+        assertThat(system.get(0).get("type").asText()).isEqualTo("text");
+        assertThat(system.get(0).get("text").asText()).isEqualTo("Instructions and CV");
+        assertThat(system.get(0).get("cache_control").get("type").asText()).isEqualTo("ephemeral");
+        assertThat(json.get("messages").get(0).get("content").get(0).get("text").asText())
+                .isEqualTo("JOB DESCRIPTION: ...");
+        assertThat(json.get("max_tokens").asInt()).isEqualTo(1000);
+    }
+
+    @Test
+    void serialize_LeavesRequestAloneWithoutSystemPromptOrWhenDisabled() throws Exception {
+        JsonNode noSystem = new ObjectMapper().readTree(mapper(true).writeValueAsString(request(null)));
+        JsonNode disabled = new ObjectMapper().readTree(mapper(false).writeValueAsString(request("Instructions")));
+
+        assertThat(noSystem.has("system")).isFalse();
+        assertThat(disabled.get("system").asText()).isEqualTo("Instructions");
+    }
+
+    @Test
+    void deserialize_ReportsCacheTokensAndKeepsTheResponse() throws Exception {
+        String json = """
+                {"id":"msg_1","type":"message","role":"assistant","model":"claude-actual",
+                 "content":[{"type":"text","text":"{}"}],"stop_reason":"end_turn",
+                 "usage":{"input_tokens":310,"output_tokens":900,
+                          "cache_creation_input_tokens":0,"cache_read_input_tokens":2400}}
+                """;
+
+        AnthropicApi.ChatCompletionResponse response = mapper(true)
+                .readValue(json, AnthropicApi.ChatCompletionResponse.class);
+
+        assertThat(cacheUsage).containsExactly("claude-actual:2400:0");
+        assertThat(response.model()).isEqualTo("claude-actual");
+        assertThat(response.usage().inputTokens()).isEqualTo(310);
+        assertThat(response.content().get(0).text()).isEqualTo("{}");
+    }
+}
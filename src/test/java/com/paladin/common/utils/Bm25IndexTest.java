@@ -0,0 +1,73 @@
+package com.paladin.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Bm25IndexTest {
+
+    @Test
+    void search_RanksRarerAndMoreFrequentTermsHigher() {
+        Bm25Index index = new Bm25Index();
+        index.put("JOB_APPLICATION:1", "Platform Engineer at Acme", "Kubernetes, Kubernetes operators and Terraform");
+        index.put("JOB_APPLICATION:2", "Backend Engineer at Globex", "Java and Spring Boot, some Kubernetes");
+        index.put("JOB_APPLICATION:3", "Data Engineer at Initech", "Python, Spark and Airflow");
+
+        List<Bm25Index.Hit> hits = index.search("kubernetes", null, 10);
+
+        assertThat(hits).extracting(Bm25Index.Hit::key).containsExactly("JOB_APPLICATION:1", "JOB_APPLICATION:2");
+        assertThat(hits.get(0).title()).isEqualTo("Platform Engineer at Acme");
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+    }
+
+    @Test
+    void search_FiltersByKeyPrefixAndLimit() {
+        Bm25Index index = new Bm25Index();
+        index.put("PROFILE:1", "Java Developer", "Java Spring Boot microservices");
+        index.put("JOB_DESCRIPTION:1", "Senior Java role", "Java developer needed");
+        index.put("PROFILE:2", "Java Architect", "Java architecture");
+
+        assertThat(index.search("java", "PROFILE:", 10))
+                .extracting(Bm25Index.Hit::key)
+                .containsExactlyInAnyOrder("PROFILE:1", "PROFILE:2");
+        assertThat(index.search("java", null, 1)).hasSize(1);
+    }
+
+    @Test
+    void putAndRemove_ReplaceDocumentsByKey() {
+        Bm25Index index = new Bm25Index();
+        index.put("PROFILE:1", "Developer", "Java developer");
+        index.put("PROFILE:1", "Developer", "Go developer");
+
+        assertThat(index.search("java", null, 10)).isEmpty();
+        assertThat(index.search("go", null, 10)).hasSize(1);
+
+        assertThat(index.remove("PROFILE:1")).isTrue();
+        assertThat(index.size()).isZero();
+        assertThat(index.search("go", null, 10)).isEmpty();
+    }
+
+    @Test
+    void toBytes_RoundTripsAfterCompaction() {
+        Bm25Index index = new Bm25Index();
+        for (int i = 0; i < 100; i++) {
+            index.put("JOB_DESCRIPTION:" + i, "Posting " + i, "Engineer role " + i + (i % 10 == 0 ? " kubernetes" : ""));
+        }
+        for (int i = 0; i < 50; i++) {
+            index.remove("JOB_DESCRIPTION:" + i);
+        }
+
+        Bm25Index restored = Bm25Index.fromBytes(index.toBytes());
+
+        assertThat(restored.size()).isEqualTo(50);
+        assertThat(restored.search("kubernetes", null, 10))
+                .extracting(Bm25Index.Hit::key)
+                .containsExactlyInAnyOrder("JOB_DESCRIPTION:50", "JOB_DESCRIPTION:60", "JOB_DESCRIPTION:70",
+                        "JOB_DESCRIPTION:80", "JOB_DESCRIPTION:90");
+        assertThat(restored.search("kubernetes", null, 10))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(index.search("kubernetes", null, 10));
+    }
+}
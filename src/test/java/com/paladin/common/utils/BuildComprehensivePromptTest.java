@@ -0,0 +1,24 @@
+package com.paladin.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BuildComprehensivePromptTest {
+
+    @Test
+    void prompts_ShareAPrefixThatOnlyDependsOnTheProfile() {
+        CacheablePrompt first = BuildComprehensivePrompt.prompt("Backend Engineer", "CV text", "Acme posting");
+        CacheablePrompt second = BuildComprehensivePrompt.prompt("Backend Engineer", "CV text", "Globex posting");
+        CacheablePrompt sections = BuildComprehensivePrompt.sectionsPrompt(
+                List.of("coverLetter", "matchAnalysis"), "Backend Engineer", "CV text", "Initech posting");
+
+        assertThat(second.prefix()).isEqualTo(first.prefix());
+        assertThat(sections.prefix()).isEqualTo(first.prefix());
+        assertThat(first.prefix()).contains("CV text").doesNotContain("Acme posting");
+        assertThat(first.suffix()).contains("Acme posting");
+        assertThat(sections.suffix()).contains("\"coverLetter\", \"matchAnalysis\"");
+    }
+}
@@ -0,0 +1,95 @@
+package com.paladin.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CVTextNormalizerTest {
+
+    private final CVTextNormalizer normalizer = new CVTextNormalizer(250, 1500, 400, 300, 600, 400, 2500);
+
+    @Test
+    void normalize_RemovesPageFurnitureAndGroupsSections() {
+        String raw = """
+                Jane Doe | jane@example.com
+                Work Experience
+                Senior  Engineer   at Acme\t2019 - 2023
+                Built the billing platform
+                Page 1 of 3
+                \f
+                Jane Doe | jane@example.com
+                Led a team of five
+                Page 2 of 3
+                \f
+                Jane Doe | jane@example.com
+                SKILLS:
+                Java, Spring, Postgres
+                3 / 3
+                """;
+
+        String normalized = normalizer.normalize(raw);
+
+        assertThat(normalized).isEqualTo("""
+                OTHER:
+                Jane Doe | jane@example.com
+
+                EXPERIENCE:
+                Senior Engineer at Acme 2019 - 2023
+                Built the billing platform
+                Led a team of five
+
+                SKILLS:
+                Java, Spring, Postgres""");
+    }
+
+    @Test
+    void normalize_KeepsRolesThatShareATitle() {
+        String raw = """
+                Jane Doe | jane@example.com
+                Experience
+                Software Engineer
+                Acme 2021 - Present
+                Built the billing platform
+                Software Engineer
+                Globex 2018 - 2021
+                Built the search service
+                Jane Doe | jane@example.com
+                Software Engineer
+                Initech 2016 - 2018
+                Built the payroll exports
+                Page 2 of 2
+                """;
+
+        String normalized = normalizer.normalize(raw);
+
+        assertThat(normalized).isEqualTo("""
+                OTHER:
+                Jane Doe | jane@example.com
+
+                EXPERIENCE:
+                Software Engineer
+                Acme 2021 - Present
+                Built the billing platform
+                Software Engineer
+                Globex 2018 - 2021
+                Built the search service
+                Software Engineer
+                Initech 2016 - 2018
+                Built the payroll exports""");
+    }
+
+    @Test
+    void normalize_TruncatesSectionsToTheirBudget() {
+        CVTextNormalizer tight = new CVTextNormalizer(250, 10, 400, 300, 600, 400, 2500);
+        StringBuilder raw = new StringBuilder("Experience\n");
+        for (int i = 0; i < 20; i++) {
+            raw.append("Shipped feature number ").append(i).append('\n');
+        }
+
+        String normalized = tight.normalize(raw.toString());
+
+        assertThat(normalized).startsWith("EXPERIENCE:\nShipped feature number 0");
+        assertThat(normalized).endsWith("[...]");
+        assertThat(normalized.length()).isLessThan(10 * CVTextNormalizer.CHARS_PER_TOKEN + 20);
+    }
+}
@@ -0,0 +1,154 @@
+package com.paladin.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DocTextExtractorTest {
+
+    private static final int SECTOR = 512;
+    private static final int END_OF_CHAIN = -2;
+    private static final int FREE = -1;
+
+    @Test
+    void getText_ReadsCompressedAndUnicodePiecesAndDropsFieldCodes() {
+        String first = "Jane Doe\r";
+        String second = "Résumé \u0013 HYPERLINK \"https://example.com\" \u0014link\u0015\r";
+
+        byte[] doc = wordFile(first, second);
+        String text = new DocTextExtractor(10_000).getText(new ByteArrayInputStream(doc));
+
+        assertThat(text).isEqualTo("Jane Doe\nRésumé link\n");
+    }
+
+    @Test
+    void getText_StopsAtCharacterLimit() {
+        byte[] doc = wordFile("Jane Doe\r", "Java Developer\r");
+
+        String text = new DocTextExtractor(4).getText(new ByteArrayInputStream(doc));
+
+        assertThat(text).isEqualTo("Jane");
+    }
+
+    @Test
+    void getText_RejectsOversizedPieceTableBeforeReadingIt() {
+        byte[] doc = wordFile("Jane Doe\r", "Java Developer\r", Integer.MAX_VALUE - 8, Integer.MAX_VALUE - 8);
+
+        assertThatThrownBy(() -> new DocTextExtractor(10_000).getText(new ByteArrayInputStream(doc)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("too large");
+    }
+
+    @Test
+    void getText_ReadsNoMoreThanTheStreamsSectorsHold() {
+        // The table stream claims ~2GB and the piece table nearly 1MB; only its 4KB of sectors exist
+        byte[] doc = wordFile("Jane Doe\r", "Java Developer\r", 1_000_000, Integer.MAX_VALUE - 8);
+
+        String text = new DocTextExtractor(10_000).getText(new ByteArrayInputStream(doc));
+
+        assertThat(text).isEqualTo("Jane Doe\nJava Developer\n");
+    }
+
+    private static byte[] wordFile(String compressedPiece, String unicodePiece) {
+        return wordFile(compressedPiece, unicodePiece, 33, 4096);
+    }
+
+    /**
+     * Builds a minimal Word 97 file: a compound file with a WordDocument stream holding the
+     * FIB and two text pieces (the first stored as cp1252, the second as UTF-16) and a
+     * 0Table stream holding the piece table.
+     */
+    private static byte[] wordFile(String compressedPiece, String unicodePiece, int lcbClx, int declaredTableSize) {
+        int compressedAt = 1024;
+        int unicodeAt = 2048;
+        ByteBuffer word = buffer(4096);
+        word.putShort(0, (short) 0xA5EC);
+        word.putShort(32, (short) 14);                  // csw
+        word.putShort(62, (short) 22);                  // cslw
+        word.putInt(64 + 3 * 4, compressedPiece.length() + unicodePiece.length());  // ccpText
+        word.putShort(152, (short) 93);                 // cbRgFcLcb
+        word.putInt(154 + 33 * 8, 0);                   // fcClx
+        word.putInt(154 + 33 * 8 + 4, lcbClx);          // lcbClx
+        word.put(compressedAt, compressedPiece.getBytes(Charset.forName("windows-1252")));
+        word.put(unicodeAt, unicodePiece.getBytes(StandardCharsets.UTF_16LE));
+
+        ByteBuffer table = buffer(4096);
+        table.put(0, (byte) 0x02);
+        table.putInt(1, 28);
+        table.putInt(5, 0);
+        table.putInt(9, compressedPiece.length());
+        table.putInt(13, compressedPiece.length() + unicodePiece.length());
+        table.putInt(17 + 2, (compressedAt * 2) | 0x40000000);
+        table.putInt(25 + 2, unicodeAt);
+
+        return compoundFile(word.array(), table.array(), declaredTableSize);
+    }
+
+    // Sector 0 is the FAT, sector 1 the directory, then WordDocument and 0Table
+    private static byte[] compoundFile(byte[] wordDocument, byte[] table, int declaredTableSize) {
+        int wordSectors = wordDocument.length / SECTOR;
+        int tableSectors = table.length / SECTOR;
+        int sectors = 2 + wordSectors + tableSectors;
+        ByteBuffer file = buffer(SECTOR * (1 + sectors));
+
+        file.put(0, new byte[]{(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1});
+        file.putShort(0x18, (short) 0x3E);
+        file.putShort(0x1A, (short) 3);
+        file.putShort(0x1C, (short) 0xFFFE);
+        file.putShort(0x1E, (short) 9);
+        file.putShort(0x20, (short) 6);
+        file.putInt(0x2C, 1);
+        file.putInt(0x30, 1);
+        file.putInt(0x38, 4096);
+        file.putInt(0x3C, END_OF_CHAIN);
+        file.putInt(0x44, END_OF_CHAIN);
+        file.putInt(0x4C, 0);
+        for (int i = 1; i < 109; i++) {
+            file.putInt(0x4C + i * 4, FREE);
+        }
+
+        int fat = SECTOR;
+        for (int i = 0; i < SECTOR / 4; i++) {
+            file.putInt(fat + i * 4, FREE);
+        }
+        file.putInt(fat, -3);
+        file.putInt(fat + 4, END_OF_CHAIN);
+        chain(file, fat, 2, wordSectors);
+        chain(file, fat, 2 + wordSectors, tableSectors);
+
+        int directory = SECTOR * 2;
+        entry(file, directory, "Root Entry", 5, END_OF_CHAIN, 0);
+        entry(file, directory + 128, "WordDocument", 2, 2, wordDocument.length);
+        entry(file, directory + 256, "0Table", 2, 2 + wordSectors, declaredTableSize);
+
+        file.put(SECTOR * 3, wordDocument);
+        file.put(SECTOR * (3 + wordSectors), table);
+        return file.array();
+    }
+
+    private static void chain(ByteBuffer file, int fat, int first, int count) {
+        for (int i = 0; i < count; i++) {
+            file.putInt(fat + (first + i) * 4, i == count - 1 ? END_OF_CHAIN : first + i + 1);
+        }
+    }
+
+    private static void entry(ByteBuffer file, int offset, String name, int type, int start, int size) {
+        byte[] encoded = name.getBytes(StandardCharsets.UTF_16LE);
+        file.put(offset, encoded);
+        file.putShort(offset + 64, (short) (encoded.length + 2));
+        file.put(offset + 66, (byte) type);
+        file.putInt(offset + 116, start);
+        file.putInt(offset + 120, size);
+    }
+
+    private static ByteBuffer buffer(int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -0,0 +1,101 @@
+package com.paladin.common.utils;
+
+import com.paladin.common.exceptions.InvalidFileException;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DocxTextExtractorTest {
+
+    private static final String DOCUMENT_XML = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <w:document xmlns:w="http://schemas.openxmlformats.org/wordprocessingml/2006/main">
+              <w:body>
+                <w:p><w:r><w:t>Jane</w:t></w:r><w:r><w:t xml:space="preserve"> Doe</w:t></w:r></w:p>
+                <w:p><w:r><w:t>Skills:</w:t><w:tab/><w:t>Java &amp; Spring</w:t></w:r></w:p>
+                <w:tbl><w:tr>
+                  <w:tc><w:p><w:r><w:t>2019</w:t></w:r></w:p></w:tc>
+                  <w:tc><w:p><w:r><w:t>Acme</w:t></w:r></w:p></w:tc>
+                </w:tr></w:tbl>
+              </w:body>
+            </w:document>
+            """;
+
+    @Test
+    void getText_ReadsParagraphsTabsAndTables() throws IOException {
+        DocxTextExtractor extractor = new DocxTextExtractor(10_000, DataSize.ofMegabytes(32));
+
+        String text = extractor.getText(new ByteArrayInputStream(docx(DOCUMENT_XML)));
+
+        assertThat(text).startsWith("Jane Doe\nSkills:\tJava & Spring\n");
+        assertThat(text).contains("2019\n\tAcme\n\t");
+    }
+
+    @Test
+    void getText_StopsAtCharacterLimit() throws IOException {
+        DocxTextExtractor extractor = new DocxTextExtractor(6, DataSize.ofMegabytes(32));
+
+        String text = extractor.getText(new ByteArrayInputStream(docx(DOCUMENT_XML)));
+
+        assertThat(text).isEqualTo("Jane D");
+    }
+
+    @Test
+    void getText_StopsAtInflatedSizeLimit() throws IOException {
+        DocxTextExtractor extractor = new DocxTextExtractor(10_000, DataSize.ofKilobytes(64));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            // A small entry that inflates well past the limit, ahead of the document
+            zip.putNextEntry(new ZipEntry("word/media/padding.bin"));
+            zip.write(new byte[1024 * 1024]);
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("word/document.xml"));
+            zip.write(DOCUMENT_XML.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        assertThatThrownBy(() -> extractor.getText(new ByteArrayInputStream(out.toByteArray())))
+                .isInstanceOf(InvalidFileException.class)
+                .hasMessageContaining("once decompressed");
+    }
+
+    @Test
+    void getText_StopsAtInflatedSizeLimitInMarkupWithoutText() {
+        DocxTextExtractor extractor = new DocxTextExtractor(10_000, DataSize.ofKilobytes(64));
+        String markup = "<w:p/>".repeat(100_000);
+        String documentXml = DOCUMENT_XML.replace("<w:body>", "<w:body>" + markup);
+
+        assertThatThrownBy(() -> extractor.getText(new ByteArrayInputStream(docx(documentXml))))
+                .isInstanceOf(InvalidFileException.class);
+    }
+
+    @Test
+    void matches_RecognisesZipSignature() {
+        DocxTextExtractor extractor = new DocxTextExtractor(10_000, DataSize.ofMegabytes(32));
+
+        assertThat(extractor.matches(new byte[]{'P', 'K', 3, 4, 0, 0})).isTrue();
+        assertThat(extractor.matches("%PDF-1.7".getBytes(StandardCharsets.US_ASCII))).isFalse();
+    }
+
+    private static byte[] docx(String documentXml) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("[Content_Types].xml"));
+            zip.write("<Types/>".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("word/document.xml"));
+            zip.write(documentXml.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        return out.toByteArray();
+    }
+}
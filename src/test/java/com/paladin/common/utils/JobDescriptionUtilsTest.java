@@ -0,0 +1,43 @@
+package com.paladin.common.utils;
+
+import com.paladin.common.dto.JobDetailsDTO;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobDescriptionUtilsTest {
+
+    @Test
+    void extractJobDetails_ReadsTitleLineAndContactDetails() {
+        JobDetailsDTO details = JobDescriptionUtils.extractJobDetails("""
+                Senior Backend Engineer - Acme Payments
+                We need someone with 5+ years of Java experience.
+                Send your CV to jobs@acme.io.
+                """);
+
+        assertThat(details.getPosition()).isEqualTo("Senior Backend Engineer");
+        assertThat(details.getCompany()).isEqualTo("Acme Payments");
+        assertThat(details.getEmail()).isEqualTo("jobs@acme.io");
+        assertThat(details.getExperienceLevel()).isEqualTo("5+ years");
+    }
+
+    @Test
+    void extractJobDetails_FallsBackToProsePhrases() {
+        JobDetailsDTO details = JobDescriptionUtils.extractJobDetails("""
+                About the role
+                Globex is hiring a Data Engineer to own our pipelines.
+                """);
+
+        assertThat(details.getPosition()).isEqualTo("Data Engineer");
+        assertThat(details.getCompany()).isEqualTo("Globex");
+        assertThat(details.getEmail()).isNull();
+    }
+
+    @Test
+    void extractJobDetails_LeavesUnknownFieldsNull() {
+        JobDetailsDTO details = JobDescriptionUtils.extractJobDetails("we build things. you will help.");
+
+        assertThat(details.getPosition()).isNull();
+        assertThat(details.getCompany()).isNull();
+    }
+}
@@ -0,0 +1,70 @@
+package com.paladin.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonSectionScannerTest {
+
+    private static final String RESPONSE = """
+            Here is the analysis:
+            ```json
+            {
+              "jobDetails": {"company": "Acme", "keySkills": ["Java", "SQL"]},
+              "coverLetter": "Dear Hiring Manager,\\n\\nI am \\"excited\\" \\u2013 truly.",
+              "matchAnalysis": {"overallMatchPercentage": 80, "note": "braces } inside"},
+              "score": 42
+            }
+            ```
+            """;
+
+    @Test
+    void shouldReportSectionsAndStringDeltasAcrossChunks() {
+        Map<String, String> sections = new LinkedHashMap<>();
+        StringBuilder coverLetter = new StringBuilder();
+
+        JsonSectionScanner scanner = new JsonSectionScanner(new JsonSectionScanner.Listener() {
+            @Override
+            public void onSection(String key, String rawJson) {
+                sections.put(key, rawJson);
+            }
+
+            @Override
+            public void onStringDelta(String key, String text) {
+                coverLetter.append(text);
+            }
+        });
+
+        for (int i = 0; i < RESPONSE.length(); i += 3) {
+            scanner.feed(RESPONSE.substring(i, Math.min(RESPONSE.length(), i + 3)));
+        }
+
+        assertThat(scanner.isFinished()).isTrue();
+        assertThat(sections).containsOnlyKeys("jobDetails", "coverLetter", "matchAnalysis", "score");
+        assertThat(sections.get("jobDetails"))
+                .isEqualTo("{\"company\": \"Acme\", \"keySkills\": [\"Java\", \"SQL\"]}");
+        assertThat(sections.get("matchAnalysis")).endsWith("\"braces } inside\"}");
+        assertThat(sections.get("score")).isEqualTo("42");
+        assertThat(coverLetter.toString())
+                .isEqualTo("Dear Hiring Manager,\n\nI am \"excited\" – truly.");
+    }
+
+    @Test
+    void shouldReportOnlyCompleteSectionsOfTruncatedOutput() {
+        Map<String, String> sections = new LinkedHashMap<>();
+        JsonSectionScanner scanner = new JsonSectionScanner(new JsonSectionScanner.Listener() {
+            @Override
+            public void onSection(String key, String rawJson) {
+                sections.put(key, rawJson);
+            }
+        });
+
+        scanner.feed("{\"jobDetails\": {\"company\": \"Acme\"}, \"coverLetter\": \"Dear Hiring Manager, I am wri");
+
+        assertThat(scanner.isFinished()).isFalse();
+        assertThat(sections).containsOnlyKeys("jobDetails");
+    }
+}
@@ -0,0 +1,52 @@
+package com.paladin.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MinHashTest {
+
+    private static final String POSTING = """
+            Acme is hiring a Senior Backend Engineer to join our payments team in London.
+            You will design and build scalable Java and Spring Boot services, own our Postgres
+            data model, and work closely with product to ship features used by millions of customers.
+            Requirements: 5+ years of Java experience, strong knowledge of distributed systems,
+            experience with AWS, Docker and Kubernetes, and excellent communication skills.
+            Nice to have: Kafka, Terraform and experience in fintech. We offer a competitive salary,
+            equity, hybrid working and a generous learning budget.
+            """;
+
+    @Test
+    void signature_NearDuplicatesAreSimilarAndShareABand() {
+        String copied = "Senior Backend Engineer - Acme (via LinkedIn)\n\n"
+                + POSTING.replace("millions of customers", "millions of happy customers")
+                .toUpperCase();
+
+        int[] original = MinHash.signature(POSTING);
+        int[] copy = MinHash.signature(copied);
+
+        assertThat(MinHash.similarity(original, copy)).isGreaterThanOrEqualTo(0.7);
+        assertThat(Arrays.stream(MinHash.bands(original)).boxed().toList())
+                .containsAnyElementsOf(Arrays.stream(MinHash.bands(copy)).boxed().toList());
+    }
+
+    @Test
+    void signature_DifferentPostingsAreDissimilar() {
+        String other = """
+                Globex is looking for a Junior Data Analyst in Berlin. You will build dashboards in
+                Tableau, write SQL against our warehouse and present insights to the marketing team.
+                A degree in statistics or economics is preferred and Python is a plus.
+                """;
+
+        assertThat(MinHash.similarity(MinHash.signature(POSTING), MinHash.signature(other))).isLessThan(0.3);
+    }
+
+    @Test
+    void toBytes_RoundTrips() {
+        int[] signature = MinHash.signature(POSTING);
+
+        assertThat(MinHash.fromBytes(MinHash.toBytes(signature))).containsExactly(signature);
+    }
+}
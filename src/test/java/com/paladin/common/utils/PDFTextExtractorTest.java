@@ -0,0 +1,70 @@
+package com.paladin.common.utils;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PDFTextExtractorTest {
+
+    private final PDFTextExtractor extractor = new PDFTextExtractor(2, 2, DataSize.ofKilobytes(64));
+
+    @AfterEach
+    void tearDown() {
+        extractor.shutdown();
+    }
+
+    @Test
+    void getText_ParallelExtractionMatchesSingleThreadedAndKeepsPageOrder() throws IOException {
+        byte[] pdf = pdfWithPages(9);
+
+        String text = extractor.getText(new ByteArrayInputStream(pdf));
+
+        try (PDDocument document = PDDocument.load(pdf)) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setPageEnd("\f");
+            assertThat(text).isEqualTo(stripper.getText(document));
+        }
+        // Every page ends in a form feed, for the CV normalizer to find page headers and footers
+        assertThat(text.chars().filter(c -> c == '\f').count()).isEqualTo(9);
+        for (int page = 1; page < 9; page++) {
+            assertThat(text.indexOf("Page " + page + " ")).isLessThan(text.indexOf("Page " + (page + 1) + " "));
+        }
+    }
+
+    @Test
+    void getText_ShortDocumentIsExtractedDirectly() throws IOException {
+        String text = extractor.getText(pdfWithPages(1));
+
+        assertThat(text).contains("Page 1 of the CV");
+    }
+
+    private static byte[] pdfWithPages(int pages) throws IOException {
+        try (PDDocument document = new PDDocument();
+             ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (int i = 1; i <= pages; i++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 12);
+                    content.newLineAtOffset(72, 700);
+                    content.showText("Page " + i + " of the CV");
+                    content.endText();
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.paladin.common.utils;
+
+import com.paladin.common.exceptions.InvalidFileException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SizeLimitedInputStreamTest {
+
+    @Test
+    void read_CountsBytesUpToTheLimit() throws IOException {
+        SizeLimitedInputStream stream = new SizeLimitedInputStream(
+                new ByteArrayInputStream(new byte[10]), 10, "too big");
+
+        assertThat(stream.readAllBytes()).hasSize(10);
+        assertThat(stream.getCount()).isEqualTo(10);
+    }
+
+    @Test
+    void read_FailsOncePastTheLimit() {
+        SizeLimitedInputStream stream = new SizeLimitedInputStream(
+                new ByteArrayInputStream(new byte[11]), 10, "too big");
+
+        assertThatThrownBy(stream::readAllBytes)
+                .isInstanceOf(InvalidFileException.class)
+                .hasMessage("too big");
+    }
+}
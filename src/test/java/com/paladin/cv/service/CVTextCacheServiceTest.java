@@ -0,0 +1,188 @@
+package com.paladin.cv.service;
+
+import com.paladin.common.dto.CVDTO;
+import com.paladin.common.utils.HashUtils;
+import com.paladin.common.utils.DocumentTextExtractor;
+import com.paladin.common.utils.ExtractedText;
+import com.paladin.cv.CV;
+import com.paladin.cv.CVTextCache;
+import com.paladin.cv.repository.CVTextCacheRepository;
+import com.paladin.cv.service.impl.CVServiceImpl;
+import com.paladin.jobApplication.service.LocalMatchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CVTextCacheServiceTest {
+
+    @Mock
+    private CVServiceImpl cvService;
+
+    @Mock
+    private DocumentTextExtractor documentTextExtractor;
+
+    @Mock
+    private CVTextCacheRepository cvTextCacheRepository;
+
+    @Mock
+    private LocalMatchService localMatchService;
+
+    @Mock
+    private ThreadPoolTaskExecutor cvExtractionExecutor;
+
+    private CVTextCacheService cvTextCacheService;
+
+    private UUID userId;
+    private CVDTO cv;
+    private byte[] cvBytes;
+
+    @BeforeEach
+    void setUp() {
+        cvTextCacheService = new CVTextCacheService(
+                cvService, documentTextExtractor, cvTextCacheRepository, localMatchService, cvExtractionExecutor,
+                1_000_000, 100, 3);
+        userId = UUID.randomUUID();
+        cvBytes = "PDF content".getBytes();
+
+        cv = new CVDTO();
+        cv.setId(UUID.randomUUID());
+        cv.setFileName("resume.pdf");
+        cv.setContentHash(HashUtils.sha256Hex(cvBytes));
+    }
+
+    @Test
+    void shouldExtractOnceAndServeRepeatsFromMemory() {
+        when(cvTextCacheRepository.findById(cv.getContentHash()))
+                .thenReturn(Optional.empty());
+        when(cvService.openCV(cv.getId(), userId)).thenReturn(new ByteArrayInputStream(cvBytes));
+        extractedTextIs("Jane Doe - Java Developer");
+
+        String first = cvTextCacheService.getText(cv, userId);
+        String second = cvTextCacheService.getText(cv, userId);
+
+        assertThat(first).isEqualTo("Jane Doe - Java Developer");
+        assertThat(second).isEqualTo(first);
+        verify(cvService, times(1)).openCV(cv.getId(), userId);
+        verify(documentTextExtractor, times(1)).extract(any(), any(InputStream.class));
+        verify(cvTextCacheRepository, times(1)).save(any(CVTextCache.class));
+    }
+
+    @Test
+    void shouldServePersistedTextWithoutDownloading() {
+        when(cvTextCacheRepository.findById(cv.getContentHash()))
+                .thenReturn(Optional.of(stored("persisted text", CVTextCacheService.EXTRACTION_VERSION)));
+
+        String text = cvTextCacheService.getText(cv, userId);
+
+        assertThat(text).isEqualTo("persisted text");
+        verify(cvService, never()).openCV(any(), any());
+        verify(documentTextExtractor, never()).extract(any(), any(InputStream.class));
+    }
+
+    @Test
+    void shouldReextractTextFromOlderExtractionVersion() {
+        when(cvTextCacheRepository.findById(cv.getContentHash()))
+                .thenReturn(Optional.of(stored("old text", CVTextCacheService.EXTRACTION_VERSION - 1)));
+        when(cvService.openCV(cv.getId(), userId)).thenReturn(new ByteArrayInputStream(cvBytes));
+        extractedTextIs("new text");
+
+        String text = cvTextCacheService.getText(cv, userId);
+
+        assertThat(text).isEqualTo("new text");
+    }
+
+    @Test
+    void shouldPrecomputeTextWithPagesAndSkills() {
+        CV entity = CV.builder().id(cv.getId()).contentType("application/pdf").contentHash(cv.getContentHash()).build();
+        when(cvService.getCVByIdAsEntity(cv.getId())).thenReturn(entity);
+        when(cvTextCacheRepository.findById(cv.getContentHash())).thenReturn(Optional.empty());
+        when(cvService.openStoredCV(entity)).thenReturn(new ByteArrayInputStream(cvBytes));
+        when(localMatchService.detectSkills("Java and profiling")).thenReturn(Set.of("Java"));
+        extractedTextIs("Java and pro\uFB01ling");
+
+        cvTextCacheService.precompute(cv.getId());
+
+        ArgumentCaptor<CVTextCache> saved = ArgumentCaptor.forClass(CVTextCache.class);
+        verify(cvTextCacheRepository).save(saved.capture());
+        assertThat(saved.getValue().getExtractedText()).isEqualTo("Java and profiling");
+        assertThat(saved.getValue().getPageCount()).isEqualTo(2);
+        assertThat(saved.getValue().getExtractionVersion()).isEqualTo(CVTextCacheService.EXTRACTION_VERSION);
+        verify(cvService, never()).recordContentHash(any(), any());
+
+        // Served from memory from now on
+        assertThat(cvTextCacheService.getText(cv, userId)).isEqualTo("Java and profiling");
+        verify(cvService, never()).openCV(any(), any());
+    }
+
+    @Test
+    void shouldBackfillHashForLegacyCV() {
+        cv.setContentHash(null);
+        when(cvService.openCV(cv.getId(), userId)).thenReturn(new ByteArrayInputStream(cvBytes));
+        extractedTextIs("legacy text");
+
+        String text = cvTextCacheService.getText(cv, userId);
+
+        assertThat(text).isEqualTo("legacy text");
+        verify(cvService).recordContentHash(cv.getId(), HashUtils.sha256Hex(cvBytes));
+    }
+
+    @Test
+    void shouldReextractOnTheExtractionPoolAndCountFailures() {
+        UUID broken = UUID.randomUUID();
+        when(cvTextCacheRepository.findCvIdsWithOutdatedText(CVTextCacheService.EXTRACTION_VERSION, 3, 100))
+                .thenReturn(List.of(broken));
+        List<Runnable> submitted = new ArrayList<>();
+        doAnswer(invocation -> submitted.add(invocation.getArgument(0)))
+                .when(cvExtractionExecutor).execute(any(Runnable.class));
+        when(cvService.getCVByIdAsEntity(broken)).thenThrow(new RuntimeException("S3 unavailable"));
+
+        cvTextCacheService.reextractOutdated();
+
+        // Nothing runs on the scheduler thread
+        verify(cvService, never()).getCVByIdAsEntity(any());
+        assertThat(submitted.size()).isEqualTo(1);
+
+        submitted.get(0).run();
+        verify(cvService).recordExtractionFailure(broken);
+    }
+
+    // Sniffs the signature like DocumentTextExtractor and, like the DOCX extractor, stops reading early;
+    // the service must still hash every byte exactly once
+    private void extractedTextIs(String text) {
+        when(documentTextExtractor.extract(any(), any(InputStream.class))).thenAnswer(invocation -> {
+            InputStream document = invocation.getArgument(1);
+            document.mark(8);
+            document.readNBytes(8);
+            document.reset();
+            document.readNBytes(3);
+            return new ExtractedText(text, 2);
+        });
+    }
+
+    private CVTextCache stored(String text, int extractionVersion) {
+        return CVTextCache.builder()
+                .contentHash(cv.getContentHash())
+                .extractedText(text)
+                .extractionVersion(extractionVersion)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
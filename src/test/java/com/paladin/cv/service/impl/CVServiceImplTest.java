@@ -1,9 +1,14 @@
 package com.paladin.cv.service.impl;
 
 import com.paladin.common.dto.CVDTO;
+import com.paladin.common.exceptions.CVNotFoundException;
 import com.paladin.common.exceptions.InvalidFileException;
+import com.paladin.common.exceptions.UnauthorizedAccessException;
 import com.paladin.common.mappers.CVMapper;
+import com.paladin.common.utils.DocumentTextExtractor;
+import com.paladin.common.utils.HashUtils;
 import com.paladin.cv.CV;
+import com.paladin.cv.CVUploadedEvent;
 import com.paladin.cv.repository.CVRepository;
 import com.paladin.profile.Profile;
 import com.paladin.profile.repository.ProfileRepository;
@@ -12,12 +17,17 @@ import com.paladin.user.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -40,6 +50,12 @@ class CVServiceImplTest {
     @Mock
     private CVMapper cvMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private DocumentTextExtractor documentTextExtractor;
+
     @Mock
     private MultipartFile mockFile;
 
@@ -65,13 +81,18 @@ class CVServiceImplTest {
         when(mockFile.getOriginalFilename()).thenReturn("resume.pdf");
         when(mockFile.getContentType()).thenReturn("application/pdf");
         when(mockFile.getSize()).thenReturn(1024L);
+        when(mockFile.getInputStream())
+                .thenReturn(new ByteArrayInputStream("%PDF-1.7 content".getBytes()));
 
         when(profileRepository.findById(profileId))
                 .thenReturn(Optional.of(testProfile));
 
         String fakeS3Url = "https://bucket.s3.amazonaws.com/cv-123.pdf";
-        when(s3CVStorageService.uploadFile(any(MultipartFile.class), anyString()))
-                .thenReturn(fakeS3Url);
+        when(s3CVStorageService.uploadStream(any(InputStream.class), eq(1024L), eq("application/pdf"), anyString()))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(0, InputStream.class).readAllBytes();
+                    return fakeS3Url;
+                });
 
         CV savedCV = new CV();
         savedCV.setId(cvId);
@@ -96,10 +117,13 @@ class CVServiceImplTest {
         assertThat(result.getFileName()).isEqualTo("resume.pdf");
         assertThat(result.getUrl()).isEqualTo(fakeS3Url);
 
-        verify(s3CVStorageService, times(1))
-                .uploadFile(any(MultipartFile.class), anyString());
-
-        verify(cvRepository, times(1)).save(any(CV.class));
+        verify(documentTextExtractor).checkSignature(eq("application/pdf"), any(InputStream.class));
+        ArgumentCaptor<CV> saved = ArgumentCaptor.forClass(CV.class);
+        verify(cvRepository, times(1)).save(saved.capture());
+        assertThat(saved.getValue().getSize()).isEqualTo(16L);
+        assertThat(saved.getValue().getContentHash())
+                .isEqualTo(HashUtils.sha256Hex("%PDF-1.7 content"));
+        verify(eventPublisher).publishEvent(new CVUploadedEvent(cvId));
     }
 
     @Test
@@ -108,12 +132,9 @@ class CVServiceImplTest {
         cv.setId(cvId);
         cv.setUrl("https://bucket.s3.amazonaws.com/cv-123.pdf");
 
-        when(cvRepository.findById(cvId))
+        when(cvRepository.findOwnedById(cvId, userId))
                 .thenReturn(Optional.of(cv));
 
-        when(profileRepository.findByCvId(cvId))
-                .thenReturn(Optional.of(testProfile));
-
         byte[] fakeBytes = "PDF content".getBytes();
         when(s3CVStorageService.downloadFile(anyString()))
                 .thenReturn(fakeBytes);
@@ -127,6 +148,30 @@ class CVServiceImplTest {
                 .downloadFile(anyString());
     }
 
+    @Test
+    void shouldTellUnauthorizedFromMissingCV() {
+        when(cvRepository.findOwnedById(cvId, userId))
+                .thenReturn(Optional.empty());
+        when(profileRepository.findByCvId(cvId))
+                .thenReturn(Optional.of(testProfile))
+                .thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> cvService.getOwnedCV(cvId, userId))
+                .isInstanceOf(UnauthorizedAccessException.class);
+        assertThatThrownBy(() -> cvService.getOwnedCV(cvId, userId))
+                .isInstanceOf(CVNotFoundException.class);
+    }
+
+    @Test
+    void shouldOpenOnlyTheRequestedRange() {
+        CV cv = new CV();
+        cv.setUrl("https://bucket.s3.amazonaws.com/cvs/cv-123.pdf");
+
+        cvService.openCVRange(cv, 0, 1023);
+
+        verify(s3CVStorageService).openFile("cvs/cv-123.pdf", "bytes=0-1023");
+    }
+
 
     @Test
     void shouldThrowExceptionWhenFileTooBig() {
@@ -140,7 +185,56 @@ class CVServiceImplTest {
                 .hasMessageContaining("File size exceeds");
 
 
-        verify(s3CVStorageService, never()).uploadFile(any(), any());
+        verify(s3CVStorageService, never()).uploadStream(any(), anyLong(), any(), any());
+    }
+
+    @Test
+    void shouldStopStreamedUploadOnceItPassesTheSizeLimit() {
+        when(profileRepository.findById(profileId))
+                .thenReturn(Optional.of(testProfile));
+        // The client understates the size, so only the count of bytes read catches it
+        when(s3CVStorageService.uploadStream(any(InputStream.class), eq(1024L), anyString(), anyString()))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(0, InputStream.class).transferTo(OutputStream.nullOutputStream());
+                    return "https://bucket.s3.amazonaws.com/cvs/resume.pdf";
+                });
+        byte[] content = new byte[6 * 1024 * 1024];
+
+        assertThatThrownBy(() -> cvService.uploadCV(new ByteArrayInputStream(content), 1024,
+                "resume.pdf", "application/pdf", profileId, userId))
+                .isInstanceOf(InvalidFileException.class)
+                .hasMessageContaining("File size exceeds");
+
+        verify(cvRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldRejectStreamedUploadOfUnknownSize() {
+        assertThatThrownBy(() -> cvService.uploadCV(new ByteArrayInputStream("%PDF-1.7".getBytes()), -1,
+                "resume.pdf", "application/pdf", profileId, userId))
+                .isInstanceOf(InvalidFileException.class)
+                .hasMessageContaining("Content-Length");
+
+        verify(s3CVStorageService, never()).uploadStream(any(), anyLong(), any(), any());
+    }
+
+    @Test
+    void shouldKeepOldCVWhenContentDoesNotMatchItsType() {
+        CV oldCV = new CV();
+        oldCV.setUrl("https://bucket.s3.amazonaws.com/cvs/old.pdf");
+        testProfile.setCv(oldCV);
+        when(profileRepository.findById(profileId))
+                .thenReturn(Optional.of(testProfile));
+        doThrow(new InvalidFileException("File content does not match its declared type"))
+                .when(documentTextExtractor).checkSignature(eq("application/pdf"), any(InputStream.class));
+
+        assertThatThrownBy(() -> cvService.uploadCV(new ByteArrayInputStream("MZ".getBytes()), 2,
+                "resume.pdf", "application/pdf", profileId, userId))
+                .isInstanceOf(InvalidFileException.class);
+
+        verify(s3CVStorageService, never()).uploadStream(any(), anyLong(), any(), any());
+        verify(s3CVStorageService, never()).deleteFile(any());
+        verify(cvRepository, never()).delete(any());
     }
 
 
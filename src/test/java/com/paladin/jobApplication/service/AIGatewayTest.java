@@ -0,0 +1,248 @@
+package com.paladin.jobApplication.service;
+
+import com.paladin.common.exceptions.AICapacityExceededException;
+import com.paladin.common.utils.CacheablePrompt;
+import com.paladin.user.repository.UserRepository;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AIGatewayTest {
+
+    private static final CacheablePrompt PROMPT = new CacheablePrompt("instructions", "posting");
+
+    private final ChatModel chatModel = mock(ChatModel.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private SimpleMeterRegistry meterRegistry;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    private AIGateway gateway(int maxAttempts, int maxConcurrentCalls, Duration timeout) {
+        AIMetrics aiMetrics = new AIMetrics(meterRegistry, circuitBreakerRegistry);
+        ReflectionTestUtils.setField(aiMetrics, "configuredModel", "claude-test");
+        ModelRouter router = new ModelRouter(userRepository, circuitBreakerRegistry, meterRegistry,
+                "claude-test", 100, 1000, Duration.ofSeconds(20), 20, Duration.ofMinutes(5), 1500, 700);
+        return new AIGateway(ChatClient.builder(chatModel).build(), router, aiMetrics,
+                RateLimiterRegistry.ofDefaults(),
+                BulkheadRegistry.of(BulkheadConfig.custom()
+                        .maxConcurrentCalls(maxConcurrentCalls)
+                        .maxWaitDuration(Duration.ZERO)
+                        .build()),
+                circuitBreakerRegistry,
+                RetryRegistry.of(RetryConfig.custom()
+                        .maxAttempts(maxAttempts)
+                        .waitDuration(Duration.ofMillis(1))
+                        .ignoreExceptions(InterruptedException.class)
+                        .build()),
+                TimeLimiterRegistry.of(TimeLimiterConfig.custom().timeoutDuration(timeout).build()),
+                executor);
+    }
+
+    private static ChatResponse answer(String text) {
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(text))));
+    }
+
+    private double rejections(String policy) {
+        return meterRegistry.counter("paladin.ai.rejections", "model", "claude-test", "policy", policy).count();
+    }
+
+    @Test
+    void call_RetriesFailedAttempts() {
+        when(chatModel.call(any(Prompt.class)))
+                .thenThrow(new IllegalStateException("overloaded"))
+                .thenThrow(new IllegalStateException("overloaded"))
+                .thenReturn(answer("{}"));
+
+        UUID userId = UUID.randomUUID();
+
+        assertThat(gateway(3, 10, Duration.ofSeconds(5)).call("analysis", PROMPT, userId)).isEqualTo("{}");
+
+        verify(chatModel, times(3)).call(any(Prompt.class));
+        assertThat(meterRegistry.get("paladin.ai.retries").counter().count()).isEqualTo(2);
+        // The user's tier is looked up once per call, not per attempt
+        verify(userRepository, times(1)).findTierById(userId);
+    }
+
+    @Test
+    void call_FailsFastOnceTheCircuitOpens() {
+        when(chatModel.call(any(Prompt.class))).thenThrow(new IllegalStateException("down"));
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .build());
+        AIGateway gateway = gateway(1, 10, Duration.ofSeconds(5));
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> gateway.call("analysis", PROMPT, null)).isInstanceOf(RuntimeException.class);
+        }
+        assertThat(circuitBreakerRegistry.circuitBreaker(AIGateway.INSTANCE).getState())
+                .isEqualTo(CircuitBreaker.State.OPEN);
+
+        assertThatThrownBy(() -> gateway.call("analysis", PROMPT, null))
+                .isInstanceOf(AICapacityExceededException.class);
+        verify(chatModel, times(2)).call(any(Prompt.class));
+        assertThat(rejections("circuit_breaker")).isEqualTo(1);
+    }
+
+    @Test
+    void stream_TakesNoPermissionUntilSubscribed() {
+        AIGateway gateway = gateway(1, 10, Duration.ofSeconds(5));
+        circuitBreakerRegistry.circuitBreaker(AIGateway.INSTANCE).transitionToOpenState();
+
+        Flux<ChatResponse> stream = gateway.stream("stream", PROMPT, UUID.randomUUID());
+
+        verify(userRepository, never()).findTierById(any());
+        assertThatThrownBy(stream::blockLast).isInstanceOf(CallNotPermittedException.class);
+    }
+
+    @Test
+    void call_RoutingRejectionsDoNotTripTheServiceCircuit() {
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .ignoreExceptions(CallNotPermittedException.class)
+                .build());
+        AIGateway gateway = gateway(1, 10, Duration.ofSeconds(5));
+        circuitBreakerRegistry.circuitBreaker(AIGateway.INSTANCE + ":claude-test").transitionToOpenState();
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> gateway.call("analysis", PROMPT, null))
+                    .isInstanceOf(AICapacityExceededException.class);
+        }
+
+        CircuitBreaker service = circuitBreakerRegistry.circuitBreaker(AIGateway.INSTANCE);
+        assertThat(service.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(service.getMetrics().getNumberOfFailedCalls()).isZero();
+        verify(chatModel, never()).call(any(Prompt.class));
+    }
+
+    @Test
+    void call_RejectsCallsOverTheBulkhead() throws Exception {
+        CountDownLatch inCall = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(chatModel.call(any(Prompt.class))).thenAnswer(invocation -> {
+            inCall.countDown();
+            release.await();
+            return answer("{}");
+        });
+        AIGateway gateway = gateway(1, 1, Duration.ofSeconds(5));
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(
+                () -> gateway.call("analysis", PROMPT, null), executor);
+        assertThat(inCall.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> gateway.call("analysis", PROMPT, null))
+                .isInstanceOf(AICapacityExceededException.class);
+        assertThat(rejections("bulkhead")).isEqualTo(1);
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("{}");
+    }
+
+    @Test
+    void call_StopsWithoutRetryWhenTheCallerIsInterrupted() throws Exception {
+        CountDownLatch inCall = new CountDownLatch(1);
+        CountDownLatch modelCallStopped = new CountDownLatch(1);
+        when(chatModel.call(any(Prompt.class))).thenAnswer(invocation -> {
+            inCall.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                modelCallStopped.countDown();
+                throw e;
+            }
+            return answer("{}");
+        });
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .ignoreExceptions(InterruptedException.class)
+                .build());
+        AIGateway gateway = gateway(3, 10, Duration.ofSeconds(30));
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        Thread caller = Thread.ofVirtual().start(() -> {
+            try {
+                gateway.call("analysis", PROMPT, null);
+            } catch (RuntimeException e) {
+                failure.set(e);
+            }
+        });
+        assertThat(inCall.await(5, TimeUnit.SECONDS)).isTrue();
+        caller.interrupt();
+        caller.join(5_000);
+
+        assertThat(failure.get()).hasCauseInstanceOf(InterruptedException.class);
+        assertThat(modelCallStopped.await(5, TimeUnit.SECONDS)).isTrue();
+        verify(chatModel, times(1)).call(any(Prompt.class));
+        assertThat(circuitBreakerRegistry.circuitBreaker(AIGateway.INSTANCE + ":claude-test")
+                .getMetrics().getNumberOfBufferedCalls()).isZero();
+        assertThat(circuitBreakerRegistry.circuitBreaker(AIGateway.INSTANCE)
+                .getMetrics().getNumberOfBufferedCalls()).isZero();
+    }
+
+    @Test
+    void call_GivesUpOnAnAttemptThatTakesTooLong() {
+        when(chatModel.call(any(Prompt.class))).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return answer("{}");
+        });
+        AIGateway gateway = gateway(1, 10, Duration.ofMillis(100));
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> gateway.call("analysis", PROMPT, null))
+                .hasCauseInstanceOf(TimeoutException.class);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        assertThat(rejections("time_limiter")).isEqualTo(1);
+    }
+}
@@ -0,0 +1,85 @@
+package com.paladin.jobApplication.service;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AIMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private AIMetrics aiMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        aiMetrics = new AIMetrics(meterRegistry, circuitBreakerRegistry);
+        ReflectionTestUtils.setField(aiMetrics, "configuredModel", "claude-test");
+        aiMetrics.watchCircuitBreakers();
+    }
+
+    @Test
+    void recordCall_RecordsLatencyAndTokensByModel() {
+        ChatResponse response = new ChatResponse(
+                List.of(new Generation(new AssistantMessage("{}"))),
+                ChatResponseMetadata.builder()
+                        .model("claude-actual")
+                        .usage(new DefaultUsage(1200, 300))
+                        .build());
+
+        aiMetrics.recordCall("analysis", Duration.ofMillis(800), response);
+
+        assertThat(meterRegistry.get("paladin.ai.call.duration")
+                .tags("model", "claude-actual", "operation", "analysis", "outcome", "success")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("paladin.ai.tokens").tags("model", "claude-actual", "direction", "input")
+                .counter().count()).isEqualTo(1200);
+        assertThat(meterRegistry.get("paladin.ai.tokens").tags("model", "claude-actual", "direction", "output")
+                .counter().count()).isEqualTo(300);
+    }
+
+    @Test
+    void recordCacheTokens_CountsReadsAndWritesFallingBackToConfiguredModel() {
+        aiMetrics.recordCacheTokens("claude-actual", 2400, 0);
+        aiMetrics.recordCacheTokens(null, 0, 2600);
+
+        assertThat(meterRegistry.get("paladin.ai.tokens").tags("model", "claude-actual", "direction", "cache_read")
+                .counter().count()).isEqualTo(2400);
+        assertThat(meterRegistry.get("paladin.ai.tokens").tags("model", "claude-test", "direction", "cache_write")
+                .counter().count()).isEqualTo(2600);
+    }
+
+    @Test
+    void recordCall_FailedCallIsTaggedAsErrorWithConfiguredModel() {
+        aiMetrics.recordCall("section", Duration.ofMillis(50), null);
+
+        assertThat(meterRegistry.get("paladin.ai.call.duration")
+                .tags("model", "claude-test", "operation", "section", "outcome", "error")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void circuitBreakerTransitions_AreCountedForBreakersCreatedLater() {
+        CircuitBreaker breaker = circuitBreakerRegistry.circuitBreaker("claudeAIService");
+
+        breaker.transitionToOpenState();
+
+        assertThat(meterRegistry.get("paladin.circuitbreaker.transitions")
+                .tags("name", "claudeAIService", "from", "CLOSED", "to", "OPEN")
+                .counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,152 @@
+package com.paladin.jobApplication.service;
+
+import com.paladin.common.dto.AIJobAnalysisResponse;
+import com.paladin.common.dto.BatchAnalysisRequest;
+import com.paladin.common.dto.BatchAnalysisResultDTO;
+import com.paladin.common.dto.CVDTO;
+import com.paladin.common.dto.JobMatchAnalysisDTO;
+import com.paladin.common.dto.ProfileResponseDTO;
+import com.paladin.cv.service.CVTextCacheService;
+import com.paladin.jobApplication.service.impl.AIJobAnalysisServiceImpl;
+import com.paladin.profile.service.ProfileService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnalysisBatchServiceTest {
+
+    @Mock
+    private ProfileService profileService;
+
+    @Mock
+    private CVTextCacheService cvTextCacheService;
+
+    @Mock
+    private AIJobAnalysisServiceImpl aiJobAnalysisService;
+
+    @Mock
+    private LocalMatchService localMatchService;
+
+    @Mock
+    private ThreadPoolTaskExecutor executor;
+
+    private AnalysisBatchService analysisBatchService;
+    private RecordingEmitter emitter;
+    private ProfileResponseDTO profile;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        analysisBatchService = new AnalysisBatchService(profileService, cvTextCacheService, aiJobAnalysisService,
+                localMatchService, executor, Duration.ofMinutes(5));
+        emitter = new RecordingEmitter();
+        userId = UUID.randomUUID();
+        profile = ProfileResponseDTO.builder()
+                .id(UUID.randomUUID())
+                .title("Java Developer")
+                .cv(new CVDTO())
+                .build();
+        when(profileService.getProfileById(profile.getId(), userId)).thenReturn(profile);
+        when(cvTextCacheService.getText(profile.getCv(), userId)).thenReturn("CV text");
+        when(localMatchService.preScore(eq(profile), eq("CV text"), any()))
+                .thenReturn(JobMatchAnalysisDTO.builder().overallMatchPercentage(50).build());
+    }
+
+    @Test
+    void analyseBatch_ReportsFailedItemsInsteadOfRankingTemplateAnswers() {
+        runItemsInline();
+        when(aiJobAnalysisService.analyseWithoutFallback(profile, "CV text", "JD 1")).thenReturn(analysis(80));
+        when(aiJobAnalysisService.analyseWithoutFallback(profile, "CV text", "JD 2"))
+                .thenThrow(new RuntimeException("AI service is temporarily unavailable"));
+
+        analysisBatchService.analyseBatch(request("JD 1", "JD 2"), userId, emitter);
+
+        List<BatchAnalysisResultDTO> ranked = emitter.ranked();
+        assertThat(ranked).extracting(BatchAnalysisResultDTO::getIndex).containsExactly(0, 1);
+        assertThat(ranked.get(0).getAnalysis().getMatchAnalysis().getOverallMatchPercentage()).isEqualTo(80);
+        assertThat(ranked.get(1).getAnalysis()).isNull();
+        assertThat(ranked.get(1).getError()).isNotNull();
+        assertThat(emitter.results).hasSize(2);
+        verify(aiJobAnalysisService, never()).analyseWithCvText(any(), any(), any());
+    }
+
+    @Test
+    void analyseBatch_ReportsItemsTheFullPoolRejects() {
+        when(executor.submit(any(Runnable.class)))
+                .thenAnswer(invocation -> {
+                    invocation.<Runnable>getArgument(0).run();
+                    return CompletableFuture.completedFuture(null);
+                })
+                .thenThrow(new TaskRejectedException("Executor queue is full"));
+        when(aiJobAnalysisService.analyseWithoutFallback(profile, "CV text", "JD 1")).thenReturn(analysis(80));
+
+        analysisBatchService.analyseBatch(request("JD 1", "JD 2"), userId, emitter);
+
+        List<BatchAnalysisResultDTO> ranked = emitter.ranked();
+        assertThat(ranked).hasSize(2);
+        assertThat(ranked.get(1).getIndex()).isEqualTo(1);
+        assertThat(ranked.get(1).getError()).contains("Too many analyses");
+        verify(aiJobAnalysisService, never()).analyseWithoutFallback(profile, "CV text", "JD 2");
+    }
+
+    private void runItemsInline() {
+        when(executor.submit(any(Runnable.class))).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    private BatchAnalysisRequest request(String... jobDescriptions) {
+        BatchAnalysisRequest request = new BatchAnalysisRequest();
+        request.setProfileId(profile.getId());
+        request.setJobDescriptions(List.of(jobDescriptions));
+        return request;
+    }
+
+    private static AIJobAnalysisResponse analysis(int matchPercentage) {
+        return AIJobAnalysisResponse.builder()
+                .matchAnalysis(JobMatchAnalysisDTO.builder().overallMatchPercentage(matchPercentage).build())
+                .build();
+    }
+
+    // Keeps the data of every event sent, since an emitter without a response buffers it out of reach
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<BatchAnalysisResultDTO> results = new ArrayList<>();
+        private final List<List<BatchAnalysisResultDTO>> completions = new ArrayList<>();
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void send(SseEventBuilder builder) {
+            builder.build().forEach(part -> {
+                if (part.getData() instanceof BatchAnalysisResultDTO result) {
+                    results.add(result);
+                } else if (part.getData() instanceof List<?> ranked) {
+                    completions.add((List<BatchAnalysisResultDTO>) ranked);
+                }
+            });
+        }
+
+        List<BatchAnalysisResultDTO> ranked() {
+            assertThat(completions).hasSize(1);
+            return completions.get(0);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.paladin.jobApplication.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paladin.common.dto.AIJobAnalysisResponse;
+import com.paladin.common.enums.AnalysisJobStatus;
+import com.paladin.jobApplication.AnalysisJob;
+import com.paladin.jobApplication.repository.AnalysisJobQueue;
+import com.paladin.jobApplication.repository.AnalysisJobRepository;
+import com.paladin.jobApplication.service.impl.AIJobAnalysisServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnalysisJobWorkerTest {
+
+    @Mock
+    private AnalysisJobQueue analysisJobQueue;
+
+    @Mock
+    private AnalysisJobRepository analysisJobRepository;
+
+    @Mock
+    private AIJobAnalysisServiceImpl aiJobAnalysisService;
+
+    @Mock
+    private DeferredAnalysisService deferredAnalysisService;
+
+    @Mock
+    private ThreadPoolTaskExecutor executor;
+
+    private AnalysisJobWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new AnalysisJobWorker(analysisJobQueue, analysisJobRepository, aiJobAnalysisService,
+                deferredAnalysisService, new ObjectMapper().findAndRegisterModules(), executor);
+        ReflectionTestUtils.setField(worker, "workers", 3);
+        ReflectionTestUtils.setField(worker, "maxAttempts", 3);
+        ReflectionTestUtils.setField(worker, "backoff", Duration.ofSeconds(30));
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+    }
+
+    @Test
+    void poll_RetriesWithBackoffWhenTheModelIsUnavailable() {
+        AnalysisJob job = claimed(2);
+        when(aiJobAnalysisService.replayAnalysis(job.getProfileId(), job.getUserId(), "JD"))
+                .thenThrow(new RuntimeException("AI service is temporarily unavailable"));
+
+        worker.poll();
+
+        assertThat(job.getStatus()).isEqualTo(AnalysisJobStatus.PENDING);
+        assertThat(job.getResultJson()).isNull();
+        assertThat(job.getNextAttemptAt()).isAfter(Instant.now().plus(Duration.ofSeconds(50)));
+        verify(aiJobAnalysisService, never()).analyseJobApplication(any(), any());
+        verify(deferredAnalysisService, never()).defer(any(), any(), any(), any());
+        verify(analysisJobRepository).save(job);
+    }
+
+    @Test
+    void poll_FailsAndDefersJobOutOfAttempts() {
+        AnalysisJob job = claimed(3);
+        RuntimeException failure = new RuntimeException("AI service is temporarily unavailable");
+        when(aiJobAnalysisService.replayAnalysis(job.getProfileId(), job.getUserId(), "JD")).thenThrow(failure);
+
+        worker.poll();
+
+        assertThat(job.getStatus()).isEqualTo(AnalysisJobStatus.FAILED);
+        verify(deferredAnalysisService).defer(job.getUserId(), job.getProfileId(), "JD", failure);
+    }
+
+    @Test
+    void poll_StoresTheModelAnswer() {
+        AnalysisJob job = claimed(1);
+        when(aiJobAnalysisService.replayAnalysis(job.getProfileId(), job.getUserId(), "JD"))
+                .thenReturn(AIJobAnalysisResponse.builder().coverLetter("Dear Hiring Manager").build());
+
+        worker.poll();
+
+        assertThat(job.getStatus()).isEqualTo(AnalysisJobStatus.COMPLETED);
+        assertThat(job.getResultJson()).contains("Dear Hiring Manager");
+    }
+
+    @Test
+    void maintain_FailsAndDefersStaleJobOutOfAttemptsInsteadOfRequeueingIt() {
+        AnalysisJob job = AnalysisJob.builder()
+                .id(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .profileId(UUID.randomUUID())
+                .jobDescription("JD")
+                .status(AnalysisJobStatus.FAILED)
+                .attempts(3)
+                .build();
+        ReflectionTestUtils.setField(worker, "staleAfter", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(worker, "retention", Duration.ofDays(7));
+        when(analysisJobQueue.failStale(any(), eq(3), any())).thenReturn(List.of(job.getId()));
+        when(analysisJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+
+        worker.maintain();
+
+        verify(deferredAnalysisService).defer(eq(job.getUserId()), eq(job.getProfileId()), eq("JD"), any());
+        verify(analysisJobQueue).requeueStale(any());
+        verifyNoInteractions(aiJobAnalysisService);
+    }
+
+    private AnalysisJob claimed(int attempts) {
+        AnalysisJob job = AnalysisJob.builder()
+                .id(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .profileId(UUID.randomUUID())
+                .jobDescription("JD")
+                .status(AnalysisJobStatus.RUNNING)
+                .attempts(attempts)
+                .createdAt(Instant.now())
+                .build();
+        when(analysisJobQueue.claimPending(3)).thenReturn(List.of(job.getId()));
+        when(analysisJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        return job;
+    }
+}
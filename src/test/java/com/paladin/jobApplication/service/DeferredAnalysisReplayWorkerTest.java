@@ -0,0 +1,140 @@
+package com.paladin.jobApplication.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paladin.common.dto.AIJobAnalysisResponse;
+import com.paladin.common.enums.DeferredAnalysisStatus;
+import com.paladin.common.enums.NotificationType;
+import com.paladin.jobApplication.DeferredAnalysis;
+import com.paladin.jobApplication.repository.DeferredAnalysisQueue;
+import com.paladin.jobApplication.repository.DeferredAnalysisRepository;
+import com.paladin.jobApplication.service.impl.AIJobAnalysisServiceImpl;
+import com.paladin.notification.service.NotificationService;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeferredAnalysisReplayWorkerTest {
+
+    @Mock
+    private DeferredAnalysisQueue deferredAnalysisQueue;
+
+    @Mock
+    private DeferredAnalysisRepository deferredAnalysisRepository;
+
+    @Mock
+    private AIJobAnalysisServiceImpl aiJobAnalysisService;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private ThreadPoolTaskExecutor executor;
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+
+    private DeferredAnalysisReplayWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new DeferredAnalysisReplayWorker(deferredAnalysisQueue, deferredAnalysisRepository,
+                aiJobAnalysisService, notificationService, new ObjectMapper().findAndRegisterModules(),
+                circuitBreakerRegistry, executor);
+        ReflectionTestUtils.setField(worker, "batchSize", 10);
+        ReflectionTestUtils.setField(worker, "lease", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(worker, "maxAttempts", 3);
+        ReflectionTestUtils.setField(worker, "backoff", Duration.ofMinutes(5));
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+    }
+
+    @Test
+    void poll_StoresResultAndNotifiesUser() {
+        DeferredAnalysis deferred = pending(1);
+        when(deferredAnalysisQueue.claimDue(eq(10), any())).thenReturn(List.of(deferred.getId()));
+        when(deferredAnalysisRepository.findById(deferred.getId())).thenReturn(Optional.of(deferred));
+        when(aiJobAnalysisService.replayAnalysis(deferred.getProfileId(), deferred.getUserId(), "JD"))
+                .thenReturn(AIJobAnalysisResponse.builder().coverLetter("Dear Hiring Manager").build());
+
+        worker.poll();
+
+        assertThat(deferred.getStatus()).isEqualTo(DeferredAnalysisStatus.COMPLETED);
+        assertThat(deferred.getResultJson()).contains("Dear Hiring Manager");
+        verify(notificationService).notifyUser(eq(deferred.getUserId()), eq(NotificationType.ANALYSIS_READY),
+                any(), any(), eq(deferred.getId()), any());
+    }
+
+    @Test
+    void poll_StillFailingBacksOffAndStopsTheBatch() {
+        DeferredAnalysis first = pending(1);
+        DeferredAnalysis second = pending(1);
+        when(deferredAnalysisQueue.claimDue(eq(10), any())).thenReturn(List.of(first.getId(), second.getId()));
+        when(deferredAnalysisRepository.findById(first.getId())).thenReturn(Optional.of(first));
+        when(aiJobAnalysisService.replayAnalysis(any(), any(), any())).thenThrow(new RuntimeException("529"));
+
+        worker.poll();
+
+        assertThat(first.getStatus()).isEqualTo(DeferredAnalysisStatus.PENDING);
+        assertThat(first.getNextAttemptAt()).isAfter(Instant.now().plus(Duration.ofMinutes(4)));
+        verify(deferredAnalysisRepository, never()).findById(second.getId());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void circuitClosing_BringsEntriesForwardOnTheReplayExecutor() {
+        worker.watchCircuitBreaker();
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker("claudeAIService");
+        circuitBreaker.transitionToOpenState();
+        circuitBreaker.transitionToHalfOpenState();
+        verifyNoInteractions(deferredAnalysisQueue);
+
+        circuitBreaker.transitionToClosedState();
+
+        // once to bring entries forward, once to replay them
+        verify(executor, times(2)).execute(any(Runnable.class));
+        verify(deferredAnalysisQueue).makeAllDue();
+        verify(deferredAnalysisQueue).claimDue(eq(10), any());
+    }
+
+    @Test
+    void poll_DoesNothingWhileCircuitIsOpen() {
+        circuitBreakerRegistry.circuitBreaker("claudeAIService").transitionToOpenState();
+
+        worker.poll();
+
+        verify(deferredAnalysisQueue, never()).claimDue(anyInt(), any());
+    }
+
+    private static DeferredAnalysis pending(int attempts) {
+        return DeferredAnalysis.builder()
+                .id(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .profileId(UUID.randomUUID())
+                .jobDescription("JD")
+                .status(DeferredAnalysisStatus.PENDING)
+                .attempts(attempts)
+                .createdAt(Instant.now())
+                .nextAttemptAt(Instant.now())
+                .build();
+    }
+}
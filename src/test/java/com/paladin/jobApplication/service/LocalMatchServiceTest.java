@@ -0,0 +1,44 @@
+package com.paladin.jobApplication.service;
+
+import com.paladin.common.dto.JobMatchAnalysisDTO;
+import com.paladin.common.dto.ProfileResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalMatchServiceTest {
+
+    private final LocalMatchService localMatchService = new LocalMatchService();
+
+    private static final String JOB_DESCRIPTION = """
+            We are looking for a backend engineer with Java, Spring Boot and PostgreSQL experience.
+            Knowledge of Kubernetes and AWS is required. Experience with JavaScript is a plus.
+            """;
+
+    @Test
+    void preScore_SplitsRequiredSkillsIntoMatchingAndMissing() {
+        ProfileResponseDTO profile = ProfileResponseDTO.builder().skills(List.of("k8s")).build();
+        String cvText = "Backend engineer. Built Spring Boot services in Java backed by Postgres.";
+
+        JobMatchAnalysisDTO result = localMatchService.preScore(profile, cvText, JOB_DESCRIPTION);
+
+        assertThat(result.getMatchingSkills())
+                .containsExactlyInAnyOrder("Java", "Spring Boot", "PostgreSQL", "Kubernetes");
+        assertThat(result.getMissingSkills()).containsExactlyInAnyOrder("AWS", "JavaScript");
+        assertThat(result.getOverallMatchPercentage()).isBetween(40, 100);
+        assertThat(result.getConfidenceLevel()).isEqualTo(LocalMatchService.CONFIDENCE_LEVEL);
+    }
+
+    @Test
+    void preScore_UnrelatedCvScoresLow() {
+        ProfileResponseDTO profile = ProfileResponseDTO.builder().build();
+        String cvText = "Pastry chef with ten years of experience running a bakery kitchen.";
+
+        JobMatchAnalysisDTO result = localMatchService.preScore(profile, cvText, JOB_DESCRIPTION);
+
+        assertThat(result.getMatchingSkills()).isEmpty();
+        assertThat(result.getOverallMatchPercentage()).isLessThan(20);
+    }
+}
@@ -0,0 +1,94 @@
+package com.paladin.jobApplication.service;
+
+import com.paladin.common.enums.UserTier;
+import com.paladin.common.utils.CacheablePrompt;
+import com.paladin.user.repository.UserRepository;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ModelRouterTest {
+
+    private static final String CAPABLE = "claude-capable";
+    private static final String CHEAP = "claude-cheap";
+
+    private final UUID userId = UUID.randomUUID();
+    private UserRepository userRepository;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private ModelRouter router;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findTierById(userId)).thenReturn(Optional.of(UserTier.FREE));
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        router = new ModelRouter(userRepository, circuitBreakerRegistry, new SimpleMeterRegistry(),
+                CAPABLE + ", " + CHEAP, 100, 1000, Duration.ofSeconds(5), 20, Duration.ofMillis(200), 1500, 700);
+    }
+
+    private CacheablePrompt prompt(int chars) {
+        return new CacheablePrompt("x".repeat(chars / 2), "y".repeat(chars - chars / 2));
+    }
+
+    @Test
+    void route_PicksModelAndBudgetFromPromptSizeTierAndOperation() {
+        assertThat(router.route("analysis", prompt(50), router.tier(userId))).isEqualTo(new ModelRouter.Route(CHEAP, 1500));
+        assertThat(router.route("analysis", prompt(5000), router.tier(userId))).isEqualTo(new ModelRouter.Route(CAPABLE, 1500));
+        assertThat(router.route(ModelRouter.SECTION, prompt(500), router.tier(userId)))
+                .isEqualTo(new ModelRouter.Route(CHEAP, 700));
+
+        when(userRepository.findTierById(userId)).thenReturn(Optional.of(UserTier.PREMIUM));
+        assertThat(router.route("analysis", prompt(500), router.tier(userId)).model()).isEqualTo(CAPABLE);
+    }
+
+    @Test
+    void route_DowngradesWhenCircuitIsOpenAndFailsWhenAllAre() {
+        circuitBreakerRegistry.circuitBreaker("claudeAIService:" + CAPABLE).transitionToOpenState();
+
+        assertThat(router.route("analysis", prompt(5000), router.tier(userId)).model()).isEqualTo(CHEAP);
+
+        circuitBreakerRegistry.circuitBreaker("claudeAIService:" + CHEAP).transitionToOpenState();
+
+        assertThatThrownBy(() -> router.route("analysis", prompt(5000), router.tier(userId)))
+                .isInstanceOf(CallNotPermittedException.class);
+    }
+
+    @Test
+    void route_SkipsModelWhoseRecentP95IsOverTheSlo() {
+        ModelRouter.Route capable = new ModelRouter.Route(CAPABLE, 1500);
+        for (int i = 0; i < 9; i++) {
+            router.onSuccess(capable, Duration.ofSeconds(2));
+        }
+        assertThat(router.route("analysis", prompt(5000), router.tier(userId)).model()).isEqualTo(CAPABLE);
+
+        for (int i = 0; i < 3; i++) {
+            router.onSuccess(capable, Duration.ofSeconds(9));
+        }
+        assertThat(router.route("analysis", prompt(5000), router.tier(userId)).model()).isEqualTo(CHEAP);
+    }
+
+    @Test
+    void route_TriesSlowModelAgainOnceItsSamplesAgeOut() throws InterruptedException {
+        ModelRouter.Route capable = new ModelRouter.Route(CAPABLE, 1500);
+        for (int i = 0; i < 10; i++) {
+            router.onSuccess(capable, Duration.ofSeconds(9));
+        }
+        assertThat(router.route("analysis", prompt(5000), router.tier(userId)).model()).isEqualTo(CHEAP);
+
+        // Skipped, so it gets no new samples; the old ones expire instead
+        Thread.sleep(300);
+
+        assertThat(router.route("analysis", prompt(5000), router.tier(userId)).model()).isEqualTo(CAPABLE);
+    }
+}
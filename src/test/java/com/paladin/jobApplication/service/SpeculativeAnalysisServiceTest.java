@@ -0,0 +1,74 @@
+package com.paladin.jobApplication.service;
+
+import com.paladin.common.dto.AIJobAnalysisResponse;
+import com.paladin.common.dto.ProfileResponseDTO;
+import com.paladin.coverLetter.service.CoverletterService;
+import com.paladin.user.User;
+import com.paladin.user.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class SpeculativeAnalysisServiceTest {
+
+    private final CoverletterService coverletterService = mock(CoverletterService.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    private final ProfileResponseDTO profile = ProfileResponseDTO.builder()
+            .id(UUID.randomUUID())
+            .userId(UUID.randomUUID())
+            .title("Backend Engineer")
+            .skills(List.of("Java"))
+            .build();
+
+    private SpeculativeAnalysisService service(boolean enabled) {
+        return new SpeculativeAnalysisService(coverletterService, new LocalMatchService(), userRepository,
+                enabled, "professional");
+    }
+
+    @Test
+    void speculate_FillsTemplateFromPostingAndCv() {
+        User user = new User();
+        user.setFirstName("Ada");
+        user.setLastName("Lovelace");
+        when(userRepository.findById(profile.getUserId())).thenReturn(Optional.of(user));
+        when(coverletterService.generate(eq("professional"), anyMap())).thenReturn("Dear Acme");
+
+        Optional<AIJobAnalysisResponse> response = service(true).speculate(profile,
+                "Engineer with 7 years of Java, Spring Boot and PostgreSQL.",
+                "Acme is hiring a Platform Engineer. You know Java, Spring Boot and PostgreSQL.");
+
+        assertThat(response).isPresent();
+        assertThat(response.get().getCoverLetter()).isEqualTo("Dear Acme");
+        assertThat(response.get().getCoverLetterVersion()).isEqualTo(AIJobAnalysisResponse.TEMPLATE_VERSION);
+        assertThat(response.get().getJobDetails().getCompany()).isEqualTo("Acme");
+        assertThat(response.get().getMatchAnalysis().getMatchingSkills()).contains("Java");
+        verify(coverletterService).generate("professional", Map.of(
+                "company", "Acme",
+                "position", "Platform Engineer",
+                "candidateName", "Ada Lovelace",
+                "topSkills", "Java, Spring Boot and PostgreSQL",
+                "experience", "7+ years"));
+    }
+
+    @Test
+    void speculate_IsEmptyWhenDisabledOrTheTemplateFails() {
+        assertThat(service(false).speculate(profile, "cv", "posting")).isEmpty();
+        verifyNoInteractions(coverletterService);
+
+        when(coverletterService.generate(any(), anyMap())).thenThrow(new IllegalStateException("no templates"));
+        assertThat(service(true).speculate(profile, "cv", "posting")).isEmpty();
+    }
+}
@@ -20,6 +20,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
@@ -51,6 +52,9 @@ class JobApplicationServiceImplTest {
     @Mock
     private EmailProviderService emailProviderService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private JobApplicationServiceImpl jobApplicationService;
 
@@ -0,0 +1,59 @@
+package com.paladin.s3_CV_Storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ServiceClientConfiguration;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.io.ByteArrayInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class S3CVStorageServiceTest {
+
+    @Mock
+    private S3Client s3Client;
+
+    private S3CVStorageService s3CVStorageService;
+
+    @BeforeEach
+    void setUp() {
+        s3CVStorageService = new S3CVStorageService(s3Client);
+        ReflectionTestUtils.setField(s3CVStorageService, "bucketName", "cvs");
+    }
+
+    @Test
+    void shouldPutFileInOneRequestStraightFromTheStream() {
+        when(s3Client.serviceClientConfiguration()).thenReturn(
+                S3ServiceClientConfiguration.builder().region(Region.EU_WEST_1).build());
+
+        String url = s3CVStorageService.uploadStream(
+                new ByteArrayInputStream("abcd".getBytes()), 4, "application/pdf", "cvs/resume.pdf");
+
+        assertThat(url).isEqualTo("https://cvs.s3.eu-west-1.amazonaws.com/cvs/resume.pdf");
+        ArgumentCaptor<PutObjectRequest> put = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3Client).putObject(put.capture(), any(RequestBody.class));
+        assertThat(put.getValue().contentLength()).isEqualTo(4L);
+    }
+
+    @Test
+    void shouldRejectFileOfUnknownLength() {
+        assertThatThrownBy(() -> s3CVStorageService.uploadStream(
+                new ByteArrayInputStream("abcd".getBytes()), -1, "application/pdf", "cvs/resume.pdf"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(s3Client);
+    }
+}